@@ -0,0 +1,63 @@
+#!/bin/bash
+# =====================================================
+# So sánh hai file kết quả JMH (-rf json), ví dụ giữa hai commit:
+#   git checkout <base>  && ./mvnw -Pbenchmark test-compile exec:exec -Djmh.result-file=/tmp/base.json
+#   git checkout <head>  && ./mvnw -Pbenchmark test-compile exec:exec -Djmh.result-file=/tmp/head.json
+#   ./scripts/jmh-compare.sh /tmp/base.json /tmp/head.json [ngưỡng % chậm đi, mặc định 10]
+#
+# Mỗi dòng là một benchmark (kèm @Param): score hai lần chạy, % thay đổi theo hướng "tốt hơn"
+# (throughput tăng / thời gian giảm là dương) và byte cấp phát mỗi op (gc.alloc.rate.norm) nếu có.
+# Trả về exit code 1 nếu có benchmark chậm đi quá ngưỡng.
+# Cần jq.
+# =====================================================
+
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "Usage: $0 <base.json> <current.json> [ngưỡng %]" >&2
+    exit 2
+fi
+
+BASE="$1"
+CURRENT="$2"
+THRESHOLD="${3:-10}"
+
+jq -r -n --slurpfile base "${BASE}" --slurpfile current "${CURRENT}" --argjson threshold "${THRESHOLD}" '
+    def key: .benchmark + (if .params then " " + ([.params | to_entries[] | "\(.key)=\(.value)"] | join(",")) else "" end);
+    def alloc: .secondaryMetrics["gc.alloc.rate.norm"].score // null;
+    def fmt: if . == null then "-" else (. * 100 | round / 100 | tostring) end;
+
+    ($base[0] | map({key: key, value: .}) | from_entries) as $baseByKey
+    | ["benchmark", "mode", "base", "current", "unit", "change %", "alloc base (B/op)", "alloc current (B/op)"],
+      ($current[0][] | key as $k | $baseByKey[$k] as $b
+        | select($b != null)
+        | ((.primaryMetric.score - $b.primaryMetric.score) / $b.primaryMetric.score * 100
+            * (if .mode == "thrpt" then 1 else -1 end)) as $change
+        | [$k, .mode, ($b.primaryMetric.score | fmt), (.primaryMetric.score | fmt), .primaryMetric.scoreUnit,
+           (($change | fmt) + (if $change < -$threshold then " REGRESSION" else "" end)),
+           ($b | alloc | fmt), (alloc | fmt)])
+    | @tsv
+' | awk -F '\t' '
+    { rows[NR] = $0; for (i = 1; i <= NF; i++) if (length($i) > width[i]) width[i] = length($i) }
+    END {
+        for (r = 1; r <= NR; r++) {
+            n = split(rows[r], fields, "\t")
+            line = ""
+            for (i = 1; i <= n; i++) line = line sprintf("%-" (width[i] + 2) "s", fields[i])
+            print line
+        }
+    }'
+
+REGRESSIONS=$(jq -n --slurpfile base "${BASE}" --slurpfile current "${CURRENT}" --argjson threshold "${THRESHOLD}" '
+    def key: .benchmark + (if .params then " " + ([.params | to_entries[] | "\(.key)=\(.value)"] | join(",")) else "" end);
+    ($base[0] | map({key: key, value: .}) | from_entries) as $baseByKey
+    | [$current[0][] | key as $k | $baseByKey[$k] as $b | select($b != null)
+        | select(((.primaryMetric.score - $b.primaryMetric.score) / $b.primaryMetric.score * 100
+            * (if .mode == "thrpt" then 1 else -1 end)) < -$threshold)]
+    | length')
+
+if [ "${REGRESSIONS}" -gt 0 ]; then
+    echo
+    echo "${REGRESSIONS} benchmark chậm đi hơn ${THRESHOLD}%" >&2
+    exit 1
+fi
@@ -0,0 +1,170 @@
+#!/bin/bash
+# =====================================================
+# Startup Benchmark - Portfolio API
+# So sánh thời gian tới request đầu tiên và RSS của 3 cách chạy:
+#   plain   : jar thường (đã giải nén)
+#   aot     : jar build với -Paot, chạy -Dspring.aot.enabled=true
+#   aot-cds : như aot + AppCDS archive (giống Dockerfile.aot)
+#   native  : binary GraalVM build với -Pnative (chỉ khi có --native, cần GraalVM làm JAVA_HOME)
+#
+# Cần database thật (ví dụ: docker compose up -d postgres) và các biến môi trường
+# như khi chạy profile prod: DB_HOST, DB_PORT, DB_NAME, DB_USERNAME, DB_PASSWORD, BREVO_*...
+# JVM trên PATH được dùng cho cả training run lẫn lúc đo (CDS archive chỉ dùng được với đúng JVM đó).
+#
+# Usage: ./scripts/startup-benchmark.sh [--native] [số lần chạy mỗi cách, mặc định 5]
+# Kết quả trung bình ghi ra ${WORK_DIR}/startup-report.md
+# =====================================================
+
+set -euo pipefail
+
+WITH_NATIVE=false
+if [ "${1:-}" = "--native" ]; then
+    WITH_NATIVE=true
+    shift
+fi
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8080}"
+HEALTH_URL="http://localhost:${PORT}/api/v1/health"
+TIMEOUT_SECONDS=120
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+# Ngoài target/ vì mỗi lần build đều chạy mvn clean
+WORK_DIR="${STARTUP_BENCHMARK_DIR:-${TMPDIR:-/tmp}/portfolio-startup-benchmark}"
+
+export SPRING_PROFILES_ACTIVE=prod
+export SERVER_PORT="${PORT}"
+
+# Đảm bảo không có process nào của lượt đo còn sống khi script dừng giữa chừng
+APP_PID=""
+cleanup() {
+    if [ -n "${APP_PID}" ] && kill -0 "${APP_PID}" 2>/dev/null; then
+        kill "${APP_PID}" 2>/dev/null || true
+        wait "${APP_PID}" 2>/dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+# Build jar bằng Maven (tham số: thư mục đích, các tham số Maven thêm) rồi giải nén
+build_variant() {
+    local target_dir="$1"
+    shift
+    echo "Building ${target_dir##*/} ($*)..."
+    (cd "${ROOT_DIR}" && ./mvnw -q clean package -DskipTests "$@")
+    rm -rf "${target_dir}"
+    mkdir -p "${target_dir}"
+    cp "$(ls "${ROOT_DIR}"/target/*.jar | head -n 1)" "${target_dir}/app.jar"
+    java -Djarmode=tools -jar "${target_dir}/app.jar" extract --destination "${target_dir}/application" > /dev/null
+}
+
+# Build native image, binary chép sang thư mục đích
+build_native() {
+    local target_dir="$1"
+    echo "Building native (-Pnative native:compile)..."
+    (cd "${ROOT_DIR}" && ./mvnw -q clean -Pnative -DskipTests package native:compile)
+    rm -rf "${target_dir}"
+    mkdir -p "${target_dir}"
+    cp "${ROOT_DIR}/target/portfolio-api" "${target_dir}/portfolio-api"
+}
+
+# Đọc RSS (KB) của process
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/VmRSS/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+# Khởi động một lần (tham số: lệnh và tham số), kết quả ghi vào FIRST_REQUEST_MS và RSS_KB
+# (không chạy trong subshell để trap cleanup luôn thấy APP_PID)
+measure() {
+    local start_ms now_ms
+    start_ms=$(date +%s%3N)
+    "$@" > "${WORK_DIR}/last-run.log" 2>&1 &
+    APP_PID=$!
+
+    until curl -sf -o /dev/null "${HEALTH_URL}"; do
+        if ! kill -0 "${APP_PID}" 2>/dev/null; then
+            echo "Ứng dụng đã dừng khi khởi động, xem ${WORK_DIR}/last-run.log" >&2
+            exit 1
+        fi
+        now_ms=$(date +%s%3N)
+        if [ $((now_ms - start_ms)) -gt $((TIMEOUT_SECONDS * 1000)) ]; then
+            echo "Quá ${TIMEOUT_SECONDS}s chưa nhận được response, xem ${WORK_DIR}/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    now_ms=$(date +%s%3N)
+
+    FIRST_REQUEST_MS=$((now_ms - start_ms))
+    RSS_KB=$(rss_kb "${APP_PID}")
+    kill "${APP_PID}"
+    wait "${APP_PID}" 2>/dev/null || true
+    APP_PID=""
+}
+
+# Chạy RUNS lần, in kết quả từng lần và trung bình
+run_variant() {
+    local name="$1"
+    shift
+    local results=()
+    for i in $(seq 1 "${RUNS}"); do
+        measure "$@"
+        echo "  ${name} #${i}: ${FIRST_REQUEST_MS} ms, RSS $((RSS_KB / 1024)) MB"
+        results+=("${FIRST_REQUEST_MS} ${RSS_KB}")
+    done
+    printf '%s\n' "${results[@]}" \
+        | awk -v name="${name}" '{ ms += $1; rss += $2 } END { printf "%-8s %10.0f %10.0f\n", name, ms / NR, rss / NR / 1024 }' \
+        >> "${WORK_DIR}/summary.txt"
+}
+
+mkdir -p "${WORK_DIR}"
+: > "${WORK_DIR}/summary.txt"
+
+build_variant "${WORK_DIR}/plain"
+build_variant "${WORK_DIR}/aot" -Paot
+
+# Training run giống lúc đo aot-cds: cùng jar, cùng -Dspring.aot.enabled=true
+echo "Tạo AppCDS archive (training run)..."
+java -XX:ArchiveClassesAtExit="${WORK_DIR}/aot/application/application.jsa" \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=prod,cds-training \
+    -jar "${WORK_DIR}/aot/application/app.jar" > "${WORK_DIR}/training-run.log" 2>&1
+
+if [ "${WITH_NATIVE}" = true ]; then
+    build_native "${WORK_DIR}/native"
+fi
+
+echo "Đo ${RUNS} lần mỗi cách chạy (${HEALTH_URL})..."
+run_variant plain java -jar "${WORK_DIR}/plain/application/app.jar"
+run_variant aot java -Dspring.aot.enabled=true -jar "${WORK_DIR}/aot/application/app.jar"
+run_variant aot-cds java -XX:SharedArchiveFile="${WORK_DIR}/aot/application/application.jsa" \
+    -Dspring.aot.enabled=true -jar "${WORK_DIR}/aot/application/app.jar"
+if [ "${WITH_NATIVE}" = true ]; then
+    run_variant native "${WORK_DIR}/native/portfolio-api"
+fi
+
+echo
+echo "Trung bình (${RUNS} lần, $(java -version 2>&1 | head -n 1)):"
+printf '%-8s %10s %10s\n' "variant" "first-req" "rss"
+printf '%-8s %10s %10s\n' "" "(ms)" "(MB)"
+cat "${WORK_DIR}/summary.txt"
+
+# Báo cáo markdown, so sánh từng cách chạy với jar thường
+{
+    echo "# Startup benchmark - Portfolio API"
+    echo
+    echo "- Ngày chạy: $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+    echo "- Commit: $(git -C "${ROOT_DIR}" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+    echo "- JVM: $(java -version 2>&1 | head -n 1)"
+    echo "- Số lần chạy mỗi cách: ${RUNS}, đo tới response đầu tiên của GET /api/v1/health"
+    echo
+    echo "| Cách chạy | Tới request đầu tiên (ms) | RSS (MB) | So với plain (thời gian) | So với plain (RSS) |"
+    echo "|---|---:|---:|---:|---:|"
+    awk 'NR == 1 { base_ms = $2; base_rss = $3 }
+         { printf "| %s | %.0f | %.0f | %.0f%% | %.0f%% |\n", $1, $2, $3, $2 * 100 / base_ms, $3 * 100 / base_rss }' \
+        "${WORK_DIR}/summary.txt"
+} > "${WORK_DIR}/startup-report.md"
+echo
+echo "Báo cáo: ${WORK_DIR}/startup-report.md"
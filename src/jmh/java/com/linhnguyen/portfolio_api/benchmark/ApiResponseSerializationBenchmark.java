@@ -0,0 +1,72 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí serialize ApiResponse&lt;List&lt;ProjectResponseDTO&gt;&gt; (body của GET /v1/projects) ra JSON.
+ * Phần này chạy ở mọi request, kể cả khi danh sách đã có trong cache.
+ *
+ * - toBytes: ghi thẳng ra byte[] UTF-8 (giống message converter ghi vào output stream)
+ * - toJsonString: ghi ra String rồi mới encode, để so sánh
+ *
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát cho mỗi response).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    /** Số project trong response */
+    @Param({"10", "50"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<ProjectResponseDTO>> response;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writer();
+
+        ProjectMapper projectMapper = Mappers.getMapper(ProjectMapper.class);
+        List<ProjectResponseDTO> projects = BenchmarkData.projects(size).stream()
+                .map(projectMapper::toResponseDTO)
+                .toList();
+        response = ApiResponse.success("Lấy danh sách project thành công", projects);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public String toJsonString() throws Exception {
+        return writer.writeValueAsString(response);
+    }
+}
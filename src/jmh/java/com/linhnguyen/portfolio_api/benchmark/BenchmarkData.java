@@ -0,0 +1,100 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.entity.Skill;
+import com.linhnguyen.portfolio_api.entity.SkillCategory;
+import com.linhnguyen.portfolio_api.entity.SkillLevel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dữ liệu mẫu có kích thước giống dữ liệu thật của portfolio (mô tả jsonb, gallery, technologies),
+ * dùng chung cho các benchmark mapper, serialize và cache.
+ */
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {"web", "mobile", "backend", "tool"};
+    private static final String[] TECHNOLOGIES = {
+            "Java", "Spring Boot", "PostgreSQL", "React", "TypeScript", "Docker", "AWS", "Redis", "Flutter", "Kotlin"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<Project> projects(int count) {
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Project project = Project.builder()
+                    .id((long) i)
+                    .title("Dự án portfolio số " + i)
+                    .shortDescription("Ứng dụng quản lý CV và dự án cá nhân, hỗ trợ tìm kiếm và lọc theo công nghệ " + i)
+                    .fullDescription(fullDescription(i))
+                    .imageUrl("https://cdn.example.com/projects/" + i + "/cover.webp")
+                    .demoUrl("https://demo.example.com/" + i)
+                    .githubUrl("https://github.com/example/project-" + i)
+                    .gallery(List.of(
+                            "https://cdn.example.com/projects/" + i + "/1.webp",
+                            "https://cdn.example.com/projects/" + i + "/2.webp",
+                            "https://cdn.example.com/projects/" + i + "/3.webp"))
+                    .technologies(List.of(
+                            TECHNOLOGIES[i % TECHNOLOGIES.length],
+                            TECHNOLOGIES[(i + 3) % TECHNOLOGIES.length],
+                            TECHNOLOGIES[(i + 5) % TECHNOLOGIES.length],
+                            TECHNOLOGIES[(i + 7) % TECHNOLOGIES.length]))
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .isFeatured(i % 4 == 0)
+                    .displayOrder(i)
+                    .status("completed")
+                    .projectDate(LocalDate.of(2024, 1 + i % 12, 1 + i % 28))
+                    .build();
+            project.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(i));
+            project.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i));
+            project.setCreatedBy("admin@example.com");
+            project.setUpdatedBy("admin@example.com");
+            project.setVersion((long) i);
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    static List<Skill> skills(int count) {
+        SkillCategory[] categories = SkillCategory.values();
+        SkillLevel[] levels = SkillLevel.values();
+        List<Skill> skills = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Skill skill = Skill.builder()
+                    .id((long) i)
+                    .name(TECHNOLOGIES[i % TECHNOLOGIES.length] + " " + i)
+                    .category(categories[i % categories.length])
+                    .level(levels[i % levels.length])
+                    .priority(i)
+                    .build();
+            skill.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(i));
+            skill.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i));
+            skill.setVersion((long) i);
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    private static Map<String, Object> fullDescription(int index) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("overview", "Hệ thống được xây dựng để giải quyết bài toán quản lý hồ sơ năng lực. ".repeat(4));
+        description.put("role", "Backend developer");
+        description.put("teamSize", 1 + index % 5);
+        description.put("features", List.of(
+                "Xác thực JWT cho trang quản trị",
+                "Tìm kiếm full-text tiếng Việt",
+                "Gửi email thông báo qua Brevo",
+                "Cache Caffeine cho các API đọc"));
+        description.put("challenges", List.of(
+                Map.of("title", "Tối ưu truy vấn", "solution", "Dùng index GIN cho cột jsonb"),
+                Map.of("title", "Giảm độ trễ", "solution", "Cache kết quả đọc và nén response")));
+        return description;
+    }
+}
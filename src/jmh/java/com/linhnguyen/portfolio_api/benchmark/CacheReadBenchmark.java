@@ -0,0 +1,128 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.config.CacheConfig;
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Đường đọc khi cache hit (GET /v1/projects, /v1/projects/{id}) dưới nhiều thread đồng thời:
+ * proxy @Cacheable của Spring + CaffeineCacheManager cấu hình như CacheConfig.
+ *
+ * Service thật cần database nên dùng {@link CachedProjectReads} có cùng tên cache và key như ProjectService;
+ * sau lần gọi đầu, mọi lần gọi đều là cache hit nên phần service phía sau không được đo.
+ * So sánh 1 thread với 8 thread để thấy chi phí tranh chấp (cùng một key 'all' và nhiều key theo id).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheReadBenchmark {
+
+    private static final int PROJECT_COUNT = 50;
+
+    private AnnotationConfigApplicationContext context;
+    private CachedProjectReads reads;
+
+    @Setup
+    public void setup() {
+        context = new AnnotationConfigApplicationContext(CacheConfig.class, ReadsConfig.class);
+        reads = context.getBean(CachedProjectReads.class);
+        // Nạp sẵn cache
+        reads.getAllProjects();
+        for (long id = 1; id <= PROJECT_COUNT; id++) {
+            reads.getProjectById(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<ProjectResponseDTO> allProjectsSingleThread() {
+        return reads.getAllProjects();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<ProjectResponseDTO> allProjectsContended() {
+        return reads.getAllProjects();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ProjectResponseDTO projectByIdSingleThread() {
+        return reads.getProjectById(ThreadLocalRandom.current().nextLong(1, PROJECT_COUNT + 1));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ProjectResponseDTO projectByIdContended() {
+        return reads.getProjectById(ThreadLocalRandom.current().nextLong(1, PROJECT_COUNT + 1));
+    }
+
+    @Configuration
+    static class ReadsConfig {
+
+        @Bean
+        CachedProjectReads cachedProjectReads() {
+            return new CachedProjectReads();
+        }
+    }
+
+    /**
+     * Cùng cache / key với ProjectService.getAllProjects và getProjectById, dữ liệu lấy từ bộ nhớ.
+     */
+    static class CachedProjectReads {
+
+        private final List<ProjectResponseDTO> projects;
+        private final Map<Long, ProjectResponseDTO> projectsById;
+
+        CachedProjectReads() {
+            ProjectMapper projectMapper = Mappers.getMapper(ProjectMapper.class);
+            projects = BenchmarkData.projects(PROJECT_COUNT).stream()
+                    .map(projectMapper::toResponseDTO)
+                    .toList();
+            projectsById = projects.stream()
+                    .collect(Collectors.toMap(ProjectResponseDTO::getId, Function.identity()));
+        }
+
+        @Cacheable(value = "projects", key = "#id", unless = "#result == null")
+        public ProjectResponseDTO getProjectById(Long id) {
+            return projectsById.get(id);
+        }
+
+        @Cacheable(value = "projects", key = "'all'")
+        public List<ProjectResponseDTO> getAllProjects() {
+            return projects;
+        }
+    }
+}
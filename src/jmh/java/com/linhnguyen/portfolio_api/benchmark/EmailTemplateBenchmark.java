@@ -0,0 +1,127 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.service.BrevoEmailService;
+import com.linhnguyen.portfolio_api.util.HtmlTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh render email thông báo liên hệ:
+ * - legacy: 4 lần String.replace nối tiếp + escape bằng replace (cách cũ của BrevoEmailService)
+ * - compiled: HtmlTemplate biên dịch sẵn, render một lượt vào buffer
+ * - digest: email tổng hợp của BrevoEmailService (template contact-digest.html + {@value #DIGEST_SIZE} tin nhắn)
+ *
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát cho mỗi lần render).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE_PATH = "/templates/email/contact-notification.html";
+    private static final String DIGEST_TEMPLATE_PATH = "/templates/email/contact-digest.html";
+
+    /** Số tin nhắn trong một email tổng hợp */
+    private static final int DIGEST_SIZE = 20;
+
+    /** Độ dài nội dung tin nhắn (ký tự) */
+    @Param({"200", "2000"})
+    private int messageLength;
+
+    private String templateSource;
+    private HtmlTemplate compiledTemplate;
+    private HtmlTemplate digestTemplate;
+    private HtmlTemplate digestItemTemplate;
+
+    private String senderName;
+    private String senderEmail;
+    private String subject;
+    private String message;
+
+    @Setup
+    public void setup() throws IOException {
+        templateSource = loadTemplate(TEMPLATE_PATH);
+        compiledTemplate = HtmlTemplate.compile(templateSource, "senderName", "senderEmail", "subject", "message");
+        digestTemplate = HtmlTemplate.compile(loadTemplate(DIGEST_TEMPLATE_PATH), "count", "items");
+        digestItemTemplate = HtmlTemplate.compile(BrevoEmailService.DIGEST_ITEM_TEMPLATE,
+                "senderName", "senderEmail", "subject", "createdAt", "message");
+
+        senderName = "Nguyễn Văn A";
+        senderEmail = "nguyenvana@example.com";
+        subject = "Hợp tác dự án \"Portfolio\" <Spring Boot>";
+
+        // Tin nhắn có xuống dòng và ký tự cần escape, giống dữ liệu thực tế
+        String line = "Xin chào, tôi muốn trao đổi về dự án & cơ hội hợp tác. Liên hệ <tôi> nhé!\n";
+        StringBuilder builder = new StringBuilder(messageLength + line.length());
+        while (builder.length() < messageLength) {
+            builder.append(line);
+        }
+        message = builder.substring(0, messageLength);
+
+        // Cách cũ thay placeholder theo tên: nếu template đổi mà không thay hết, so sánh không còn công bằng
+        if (legacyChainedReplace().contains("{{")) {
+            throw new IllegalStateException("legacyChainedReplace còn placeholder chưa thay trong " + TEMPLATE_PATH);
+        }
+    }
+
+    @Benchmark
+    public String legacyChainedReplace() {
+        return templateSource
+                .replace("{{senderName}}", escapeHtml(senderName))
+                .replace("{{senderEmail}}", escapeHtml(senderEmail))
+                .replace("{{subject}}", escapeHtml(subject))
+                .replace("{{message|nl2br}}", escapeHtml(message).replace("\n", "<br>"));
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return compiledTemplate.render(senderName, senderEmail, subject, message);
+    }
+
+    @Benchmark
+    public String digest() {
+        // Giống BrevoEmailService.buildDigestHtmlContent: nội dung mỗi tin nhắn cắt còn 500 ký tự
+        String excerpt = message.length() > 500 ? message.substring(0, 500) + "..." : message;
+        StringBuilder items = new StringBuilder(DIGEST_SIZE * (500 + 512));
+        for (int i = 0; i < DIGEST_SIZE; i++) {
+            digestItemTemplate.renderTo(items, senderName, senderEmail, subject, "2025-01-01T09:00", excerpt);
+        }
+        return digestTemplate.render(String.valueOf(DIGEST_SIZE), items.toString());
+    }
+
+    private static String loadTemplate(String path) throws IOException {
+        try (InputStream input = EmailTemplateBenchmark.class.getResourceAsStream(path)) {
+            if (input == null) {
+                throw new IllegalStateException("Không tìm thấy template: " + path);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String escapeHtml(String text) {
+        if (text == null) return "";
+        return text
+                .replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&#39;");
+    }
+}
@@ -0,0 +1,86 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.security.JwtTokenProvider;
+import com.linhnguyen.portfolio_api.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh chi phí xác thực JWT cho mỗi request đã đăng nhập:
+ * - legacy: validateToken (parse 2 lần) + extractUsername (parse lần 3), mỗi lần parse
+ *   đều decode secret, tạo SecretKey và build parser mới (cách cũ của JwtTokenProvider)
+ * - singleParse: JwtTokenProvider.verify với key và parser tạo sẵn, parse đúng một lần
+ * - generate: JwtTokenProvider.generateToken (mỗi lần đăng nhập)
+ *
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát cho mỗi request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "portfolio-api-secret-key-for-jwt-must-be-at-least-256-bits-long-for-security";
+    private static final long EXPIRATION_MS = 86_400_000L;
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        provider = new JwtTokenProvider(SECRET, EXPIRATION_MS);
+        token = provider.generateToken("admin@example.com");
+    }
+
+    @Benchmark
+    public String legacy() {
+        if (extractAllClaims(token) == null || extractAllClaims(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        return extractAllClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return provider.verify(token).orElse(null);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken("admin@example.com");
+    }
+
+    private static Claims extractAllClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(legacySigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static SecretKey legacySigningKey() {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        } catch (Exception e) {
+            return Keys.hmacShaKeyFor(SECRET.getBytes());
+        }
+    }
+}
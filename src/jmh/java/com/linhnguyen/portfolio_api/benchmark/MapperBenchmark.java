@@ -0,0 +1,65 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.SkillResponseDTO;
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.entity.Skill;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import com.linhnguyen.portfolio_api.mapper.SkillMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí map entity sang DTO cho một response danh sách (cache miss của GET /v1/projects, /v1/skills).
+ * Dùng implementation do MapStruct sinh ra (giống bean được inject trong ứng dụng).
+ *
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát cho mỗi danh sách).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    /** Số phần tử trong danh sách */
+    @Param({"20", "100"})
+    private int size;
+
+    private ProjectMapper projectMapper;
+    private SkillMapper skillMapper;
+    private List<Project> projects;
+    private List<Skill> skills;
+
+    @Setup
+    public void setup() {
+        projectMapper = Mappers.getMapper(ProjectMapper.class);
+        skillMapper = Mappers.getMapper(SkillMapper.class);
+        projects = BenchmarkData.projects(size);
+        skills = BenchmarkData.skills(size);
+    }
+
+    @Benchmark
+    public List<ProjectResponseDTO> projectsToResponse() {
+        return projects.stream().map(projectMapper::toResponseDTO).toList();
+    }
+
+    @Benchmark
+    public List<SkillResponseDTO> skillsToResponse() {
+        return skills.stream().map(skillMapper::toResponseDTO).toList();
+    }
+}
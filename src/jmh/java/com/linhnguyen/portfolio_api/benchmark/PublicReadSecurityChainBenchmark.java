@@ -0,0 +1,193 @@
+package com.linhnguyen.portfolio_api.benchmark;
+
+import com.linhnguyen.portfolio_api.config.JwtCacheProperties;
+import com.linhnguyen.portfolio_api.config.SecurityConfig;
+import com.linhnguyen.portfolio_api.security.JwtAuthenticationEntryPoint;
+import com.linhnguyen.portfolio_api.security.JwtAuthenticationFilter;
+import com.linhnguyen.portfolio_api.security.JwtTokenProvider;
+import com.linhnguyen.portfolio_api.security.TokenDenylist;
+import com.linhnguyen.portfolio_api.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh chi phí Spring Security cho một GET công khai ẩn danh (GET /v1/projects/42):
+ * - legacy: một chain duy nhất như trước (CORS lặp lại trong chain, SecurityContext, JWT filter,
+ *   anonymous, authorization matchers...)
+ * - publicChain: SecurityConfig hiện tại, request được PublicReadRoutes chọn vào chain rỗng
+ * - baseline: chỉ tạo request / response mock và gọi servlet cuối, để trừ khỏi hai kết quả trên
+ *
+ * CorsFilter ở mức servlet (CorsConfig) chạy như nhau trong cả hai trường hợp nên không được đo.
+ * Chạy với -prof gc để xem gc.alloc.rate.norm (byte cấp phát cho mỗi request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicReadSecurityChainBenchmark {
+
+    private static final String ORIGIN = "https://portfolio-f2abd.web.app";
+
+    private AnnotationConfigWebApplicationContext legacyContext;
+    private AnnotationConfigWebApplicationContext currentContext;
+    private Filter legacyProxy;
+    private Filter currentProxy;
+
+    @Setup
+    public void setup() {
+        legacyContext = createContext(LegacySecurityConfig.class);
+        currentContext = createContext(SecurityConfig.class);
+        legacyProxy = legacyContext.getBean("springSecurityFilterChain", Filter.class);
+        currentProxy = currentContext.getBean("springSecurityFilterChain", Filter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        legacyContext.close();
+        currentContext.close();
+    }
+
+    @Benchmark
+    public int baseline() throws Exception {
+        MockHttpServletRequest request = publicReadRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain().doFilter(request, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int legacy() throws Exception {
+        return dispatch(legacyProxy);
+    }
+
+    @Benchmark
+    public int publicChain() throws Exception {
+        return dispatch(currentProxy);
+    }
+
+    private static int dispatch(Filter proxy) throws Exception {
+        MockHttpServletRequest request = publicReadRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        proxy.doFilter(request, response, chain);
+        if (chain.getRequest() == null) {
+            throw new IllegalStateException("Request bị chặn bởi security chain: " + response.getStatus());
+        }
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest publicReadRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/projects/42");
+        request.setContextPath("/api");
+        request.setServletPath("/v1/projects/42");
+        request.addHeader("Origin", ORIGIN);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private static AnnotationConfigWebApplicationContext createContext(Class<?> securityConfig) {
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(SecurityBeans.class, securityConfig);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Các bean mà cấu hình security cần (thay cho component scan của ứng dụng).
+     */
+    @Configuration
+    static class SecurityBeans {
+
+        @Bean
+        JwtAuthenticationFilter jwtAuthenticationFilter() {
+            JwtCacheProperties properties = new JwtCacheProperties();
+            JwtTokenProvider provider = new JwtTokenProvider(
+                    "portfolio-api-secret-key-for-jwt-must-be-at-least-256-bits-long-for-security", 86_400_000L);
+            // Request ẩn danh không có token nên denylist không bao giờ tra database
+            return new JwtAuthenticationFilter(
+                    new VerifiedTokenCache(provider, properties, new SimpleMeterRegistry()), new TokenDenylist(null, properties));
+        }
+
+        @Bean
+        JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint() {
+            return new JwtAuthenticationEntryPoint();
+        }
+
+        @Bean
+        CorsConfigurationSource corsConfigurationSource() {
+            CorsConfiguration configuration = new CorsConfiguration();
+            configuration.setAllowedOrigins(List.of(ORIGIN));
+            configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+            configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
+            configuration.setAllowCredentials(true);
+            UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+            source.registerCorsConfiguration("/**", configuration);
+            return source;
+        }
+    }
+
+    /**
+     * Cấu hình security trước khi tách chain đọc công khai.
+     */
+    @Configuration
+    @EnableWebSecurity
+    static class LegacySecurityConfig {
+
+        @Bean
+        SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                JwtAuthenticationFilter jwtAuthenticationFilter,
+                                                JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+                                                CorsConfigurationSource corsConfigurationSource) throws Exception {
+            http
+                    .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                    .csrf(AbstractHttpConfigurer::disable)
+                    .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .authorizeHttpRequests(auth -> auth
+                            .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                            .requestMatchers("/v1/auth/login", "/v1/health/**", "/swagger-ui/**", "/swagger-ui.html",
+                                    "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
+                            .requestMatchers(HttpMethod.GET, "/v1/profile/**", "/v1/projects/**",
+                                    "/v1/skills/**", "/v1/suggest/**").permitAll()
+                            .requestMatchers(HttpMethod.POST, "/v1/contact").permitAll()
+                            .requestMatchers("/v1/admin/**").hasRole("ADMIN")
+                            .anyRequest().authenticated())
+                    .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            return http.build();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.linhnguyen.portfolio_api.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ghi độ trễ (nano giây) và kết quả của từng request cho một worker.
+ * Mỗi thread có recorder riêng nên không cần đồng bộ; hết lượt đo mới gộp lại bằng {@link #summarize}.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[8192];
+    private int count;
+    private long rejected;
+    private long errors;
+
+    /**
+     * @param latencyNanos Thời gian từ lúc gửi tới lúc đọc xong response
+     * @param outcome      Kết quả đã phân loại của request
+     */
+    void record(long latencyNanos, Outcome outcome) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (outcome == Outcome.REJECTED) {
+            rejected++;
+        } else if (outcome == Outcome.ERROR) {
+            errors++;
+        }
+    }
+
+    /**
+     * Gộp recorder của các worker cùng nhóm thành một kết quả.
+     *
+     * @param name           Tên nhóm (cũng là prefix của key ngưỡng)
+     * @param recorders      Recorder của các worker
+     * @param measuredNanos  Thời gian đo thực tế (không tính warmup)
+     */
+    static LatencySummary summarize(String name, List<LatencyRecorder> recorders, long measuredNanos) {
+        int total = recorders.stream().mapToInt(r -> r.count).sum();
+        long[] merged = new long[total];
+        int offset = 0;
+        long rejected = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+            rejected += recorder.rejected;
+            errors += recorder.errors;
+        }
+        Arrays.sort(merged);
+
+        double seconds = measuredNanos / 1e9;
+        return new LatencySummary(
+                name,
+                total,
+                total / seconds,
+                percentileMillis(merged, 0.50),
+                percentileMillis(merged, 0.99),
+                percentileMillis(merged, 0.999),
+                total == 0 ? 0 : merged[total - 1] / 1e6,
+                total == 0 ? 0 : (double) errors / total,
+                total == 0 ? 0 : (double) rejected / total);
+    }
+
+    /**
+     * Percentile theo nearest-rank trên mảng đã sắp xếp, đơn vị mili giây.
+     */
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    /**
+     * Phân loại response: REJECTED là bị chặn có chủ đích (429 rate limit, 503 load shedding),
+     * ERROR là mọi thứ khác ngoài mong đợi (5xx, 4xx lạ, timeout, lỗi kết nối).
+     */
+    enum Outcome {
+        OK, REJECTED, ERROR;
+
+        static Outcome of(int status) {
+            if (status >= 200 && status < 300 || status == 304) {
+                return OK;
+            }
+            if (status == 429 || status == 503) {
+                return REJECTED;
+            }
+            return ERROR;
+        }
+    }
+
+    /**
+     * Kết quả của một nhóm request trong lượt đo.
+     */
+    record LatencySummary(String name,
+                          long requests,
+                          double throughput,
+                          double p50Millis,
+                          double p99Millis,
+                          double p999Millis,
+                          double maxMillis,
+                          double errorRate,
+                          double rejectedRate) {
+    }
+}
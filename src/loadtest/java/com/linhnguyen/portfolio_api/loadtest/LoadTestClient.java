@@ -0,0 +1,91 @@
+package com.linhnguyen.portfolio_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client dùng chung cho mọi worker của harness (java.net.http, HTTP/1.1 keep-alive như trình duyệt).
+ */
+final class LoadTestClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private volatile String accessToken;
+
+    LoadTestClient(String baseUrl, int maxConnections) {
+        this.baseUrl = baseUrl;
+        // Mỗi worker gửi đồng bộ trên thread của nó, executor chỉ dùng cho phần việc nội bộ của HttpClient
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, maxConnections / 4)))
+                .build();
+    }
+
+    /**
+     * Đăng nhập admin, các request {@link #admin} sau đó gửi kèm token này.
+     */
+    void login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", "/v1/auth/login",
+                Map.of("email", email, "password", password), null, false);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Đăng nhập admin thất bại: " + response.statusCode() + " " + response.body());
+        }
+        accessToken = json(response).path("data").path("accessToken").asText();
+    }
+
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null, null, false);
+    }
+
+    /**
+     * Request công khai có body JSON, headers thêm theo cặp tên / giá trị (ví dụ X-Forwarded-For).
+     */
+    HttpResponse<String> post(String path, Object body, String... headers) throws IOException, InterruptedException {
+        return send("POST", path, body, headers, false);
+    }
+
+    /**
+     * Request tới /v1/admin/** kèm Bearer token.
+     */
+    HttpResponse<String> admin(String method, String path, Object body, String... headers)
+            throws IOException, InterruptedException {
+        return send(method, path, body, headers, true);
+    }
+
+    JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body, String[] headers, boolean authenticated)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (headers != null && headers.length > 0) {
+            builder.headers(headers);
+        }
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
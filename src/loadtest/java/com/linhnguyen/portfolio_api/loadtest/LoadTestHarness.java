@@ -0,0 +1,298 @@
+package com.linhnguyen.portfolio_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.linhnguyen.portfolio_api.PortfolioApiApplication;
+import com.linhnguyen.portfolio_api.loadtest.LatencyRecorder.LatencySummary;
+import com.linhnguyen.portfolio_api.loadtest.ScenarioRunner.WorkerGroup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test chạy offline: khởi động PostgreSQL nhúng (binary zonky, không cần Docker / mạng),
+ * boot ứng dụng với profile prod + loadtest trên port ngẫu nhiên, seed dữ liệu rồi chạy lần lượt các kịch bản:
+ * - public-read: các GET công khai trộn theo tỷ lệ truy cập thực tế
+ * - contact-burst: từng đợt gửi form liên hệ dồn dập, mỗi đợt từ một IP (đi qua rate limit và load shedding thật)
+ * - admin-mixed: admin sửa skill / project (If-Match theo ETag vừa nhận) xen kẽ với người đọc, đo riêng hai nhóm
+ *
+ * Trước khi đo, mỗi loại request được gửi thử một lần; 4xx ở bước này dừng harness ngay.
+ * In throughput và p50 / p99 / p999 của từng nhóm, ghi báo cáo JSON,
+ * thoát với mã 1 nếu vượt ngưỡng trong file thresholds.
+ *
+ * Chạy: mvn -Ploadtest test-compile exec:exec (tham số xem profile loadtest trong pom.xml).
+ */
+public final class LoadTestHarness {
+
+    private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+    private static final String ADMIN_PASSWORD = "loadtest-password";
+
+    private static final int PROJECT_COUNT = 40;
+    private static final int SKILL_COUNT = 30;
+    private static final int CONTACT_WORKERS = 8;
+    /** Không vượt ip-max-requests của app.rate-limit.contact, nên đợt bình thường không bị 429 */
+    private static final int CONTACT_BURST_SIZE = 4;
+    private static final Duration CONTACT_BURST_PAUSE = Duration.ofMillis(500);
+    private static final int ADMIN_EDITORS = 2;
+    private static final Duration ADMIN_EDIT_PAUSE = Duration.ofMillis(100);
+
+    private static final List<String> TECHNOLOGIES = List.of(
+            "Java", "Spring Boot", "PostgreSQL", "React", "Docker", "Redis", "Kotlin", "TypeScript");
+    private static final List<String> CATEGORIES = List.of("Web", "Mobile", "Backend", "Fullstack");
+    private static final List<String> STATUSES = List.of("completed", "in_progress", "archived");
+    private static final List<String> SKILL_CATEGORIES = List.of("FRONTEND", "BACKEND", "DATABASE", "DEVOPS", "TOOLS");
+    private static final List<String> SKILL_LEVELS = List.of("LOW", "MEDIUM", "HIGH");
+
+    private final LoadTestClient client;
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> skillIds = new ArrayList<>();
+    private final AtomicLong contactSequence = new AtomicLong();
+
+    private LoadTestHarness(LoadTestClient client) {
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+        int readers = Integer.getInteger("loadtest.readers", 32);
+        Thresholds thresholds = Thresholds.load(Path.of(System.getProperty(
+                "loadtest.thresholds", "src/loadtest/resources/loadtest-thresholds.properties")));
+        Path reportFile = Path.of(System.getProperty("loadtest.report-file", "target/loadtest-report.json"));
+
+        List<LatencySummary> results = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext application = new SpringApplicationBuilder(PortfolioApiApplication.class)
+                    .run("--spring.profiles.active=prod,loadtest",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=postgres",
+                            "--server.port=0");
+            try {
+                int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                LoadTestHarness harness = new LoadTestHarness(
+                        new LoadTestClient("http://localhost:" + port + "/api", readers + CONTACT_WORKERS + ADMIN_EDITORS));
+                harness.seed(new JdbcTemplate(postgres.getPostgresDatabase()));
+                harness.sanityCheck();
+
+                ScenarioRunner runner = new ScenarioRunner(warmup, duration);
+                System.out.printf("Mỗi kịch bản: warmup %ds, đo %ds%n", warmup.toSeconds(), duration.toSeconds());
+                results.addAll(runner.run(harness.publicReadScenario(readers)));
+                results.addAll(runner.run(harness.contactBurstScenario()));
+                results.addAll(runner.run(harness.adminMixedScenario(readers / 2)));
+            } finally {
+                application.close();
+            }
+        }
+
+        List<String> violations = thresholds.check(results);
+        printSummary(results, violations);
+        writeReport(reportFile, warmup, duration, readers, results, violations);
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Admin và profile ghi thẳng vào database (không có API tạo), project / skill tạo qua API admin
+     * để index lọc / gợi ý được cập nhật như khi dùng thật.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) throws Exception {
+        jdbcTemplate.update("INSERT INTO admin_credentials (email, password, role, is_active) VALUES (?, ?, 'ADMIN', TRUE)",
+                ADMIN_EMAIL, new BCryptPasswordEncoder().encode(ADMIN_PASSWORD));
+        jdbcTemplate.update("INSERT INTO profile (full_name, title, bio, email) VALUES (?, ?, ?, ?)",
+                "Load Test", "Backend Developer", "Hồ sơ dùng cho load test.", "loadtest@example.com");
+        client.login(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            Map<String, Object> project = new LinkedHashMap<>();
+            project.put("title", String.format("Load Test Project %02d", i));
+            project.put("shortDescription", "Dự án mẫu số " + i + " cho load test");
+            project.put("fullDescription", Map.of("overview", "Mô tả chi tiết của dự án mẫu " + i,
+                    "highlights", List.of("Hiệu năng", "Bảo mật", "Khả năng mở rộng")));
+            project.put("technologies", List.of(TECHNOLOGIES.get(i % TECHNOLOGIES.size()),
+                    TECHNOLOGIES.get((i * 3 + 1) % TECHNOLOGIES.size())));
+            project.put("category", CATEGORIES.get(i % CATEGORIES.size()));
+            project.put("status", STATUSES.get(i % STATUSES.size()));
+            project.put("isFeatured", i % 5 == 0);
+            project.put("displayOrder", i);
+            projectIds.add(createdId(client.admin("POST", "/v1/admin/projects", project)));
+        }
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            Map<String, Object> skill = Map.of(
+                    "name", "Load Test Skill " + i,
+                    "category", SKILL_CATEGORIES.get(i % SKILL_CATEGORIES.size()),
+                    "level", SKILL_LEVELS.get(i % SKILL_LEVELS.size()),
+                    "priority", i);
+            skillIds.add(createdId(client.admin("POST", "/v1/admin/skills", skill)));
+        }
+        System.out.printf("Đã seed %d project, %d skill%n", projectIds.size(), skillIds.size());
+    }
+
+    private long createdId(HttpResponse<String> response) throws Exception {
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Seed thất bại: " + response.statusCode() + " " + response.body());
+        }
+        return client.json(response).path("data").path("id").asLong();
+    }
+
+    private List<WorkerGroup> publicReadScenario(int readers) {
+        return List.of(WorkerGroup.closedLoop("public-read", readers, (worker, iteration) -> publicRead()));
+    }
+
+    private List<WorkerGroup> contactBurstScenario() {
+        return List.of(WorkerGroup.bursts("contact-burst", CONTACT_WORKERS, CONTACT_BURST_SIZE, CONTACT_BURST_PAUSE,
+                this::submitContact));
+    }
+
+    /**
+     * Mỗi editor sở hữu một skill và một project riêng nên If-Match luôn khớp:
+     * 412 ở đây nghĩa là version / ETag trả về sai và được tính là lỗi.
+     */
+    private List<WorkerGroup> adminMixedScenario(int readers) {
+        long[] skillVersions = new long[ADMIN_EDITORS];
+        long[] projectVersions = new long[ADMIN_EDITORS];
+        return List.of(
+                WorkerGroup.closedLoop("admin-mixed.read", readers, (worker, iteration) -> publicRead()),
+                WorkerGroup.bursts("admin-mixed.edit", ADMIN_EDITORS, 1, ADMIN_EDIT_PAUSE, (worker, iteration) ->
+                        iteration % 2 == 0
+                                ? edit("/v1/admin/skills/" + skillIds.get(worker), skillVersions, worker,
+                                        Map.of("priority", (int) (iteration % 100)))
+                                : edit("/v1/admin/projects/" + projectIds.get(worker), projectVersions, worker,
+                                        Map.of("shortDescription", "Cập nhật lần " + iteration))));
+    }
+
+    /** Mỗi giá trị rơi vào một nhánh của {@link #publicReadPath}, để lượt kiểm tra chạm đủ mọi endpoint */
+    private static final int[] PUBLIC_READ_BRANCHES = {0, 30, 55, 70, 80, 88, 95};
+
+    private int publicRead() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return client.get(publicReadPath(random.nextInt(100), random)).statusCode();
+    }
+
+    /**
+     * Tỷ lệ gần với lượt xem trang portfolio: danh sách và chi tiết project chiếm phần lớn.
+     *
+     * @param roll Số ngẫu nhiên 0..99 chọn endpoint
+     */
+    private String publicReadPath(int roll, ThreadLocalRandom random) {
+        if (roll < 30) {
+            return "/v1/projects";
+        } else if (roll < 55) {
+            return "/v1/projects/" + projectIds.get(random.nextInt(projectIds.size()));
+        } else if (roll < 70) {
+            return "/v1/skills";
+        } else if (roll < 80) {
+            return "/v1/profile";
+        } else if (roll < 88) {
+            return "/v1/projects/filter?tech=" + TECHNOLOGIES.get(random.nextInt(TECHNOLOGIES.size()))
+                    .replace(" ", "%20") + "&match=OR";
+        } else if (roll < 95) {
+            return "/v1/projects/featured";
+        }
+        return "/v1/suggest?q=" + TECHNOLOGIES.get(random.nextInt(TECHNOLOGIES.size()))
+                .substring(0, 2).toLowerCase() + "&limit=8";
+    }
+
+    /**
+     * Gửi mỗi loại request của các kịch bản một lần trước khi đo.
+     * Kịch bản sai (tham số không hợp lệ, route đổi tên...) trả 4xx ở mọi lần gọi và làm hỏng số liệu,
+     * nên dừng ngay thay vì để nó hiện ra như một lần hồi quy hiệu năng.
+     */
+    private void sanityCheck() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int roll : PUBLIC_READ_BRANCHES) {
+            String path = publicReadPath(roll, random);
+            expectSuccess("GET " + path, client.get(path));
+        }
+        // IP riêng, không trùng dải 10.<worker>.x.x của contact-burst
+        long sequence = contactSequence.incrementAndGet();
+        expectSuccess("POST /v1/contact", client.post("/v1/contact", Map.of(
+                "name", "Load Test " + sequence,
+                "email", "loadtest-" + sequence + "@example.com",
+                "subject", "Load test " + sequence,
+                "message", "Tin nhắn kiểm tra kịch bản, có thể xóa."), "X-Forwarded-For", "10.255.255.1"));
+        expectSuccess("PUT skill", client.admin("PUT", "/v1/admin/skills/" + skillIds.get(0), Map.of("priority", 0)));
+        expectSuccess("PUT project", client.admin("PUT", "/v1/admin/projects/" + projectIds.get(0),
+                Map.of("shortDescription", "Dự án mẫu số 0 cho load test")));
+        System.out.println("Kiểm tra kịch bản: mọi request đều thành công");
+    }
+
+    private static void expectSuccess(String request, HttpResponse<String> response) {
+        if (response.statusCode() >= 400 && response.statusCode() < 500) {
+            throw new IllegalStateException("Kịch bản lỗi, " + request + " trả về "
+                    + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private int submitContact(int worker, long iteration) throws Exception {
+        long sequence = contactSequence.incrementAndGet();
+        // Cả đợt dùng chung một IP, mỗi tin nhắn một email (giới hạn 1 tin / email).
+        // Harness gửi từ loopback, là proxy tin cậy mặc định của RemoteIpValve, nên đóng vai reverse proxy
+        // và X-Forwarded-For được dùng làm IP client như sau nginx thật
+        long burst = iteration / CONTACT_BURST_SIZE;
+        String ip = "10." + worker + "." + (burst / 250 % 250) + "." + (burst % 250 + 1);
+        Map<String, Object> contact = Map.of(
+                "name", "Load Test " + sequence,
+                "email", "loadtest-" + sequence + "@example.com",
+                "subject", "Load test " + sequence,
+                "message", "Tin nhắn load test số " + sequence + ", có thể xóa.");
+        return client.post("/v1/contact", contact, "X-Forwarded-For", ip).statusCode();
+    }
+
+    private int edit(String path, long[] versions, int worker, Map<String, Object> changes) throws Exception {
+        HttpResponse<String> response = versions[worker] == 0
+                ? client.admin("PUT", path, changes)
+                : client.admin("PUT", path, changes, "If-Match", "\"" + versions[worker] + "\"");
+        if (response.statusCode() == 200) {
+            versions[worker] = client.json(response).path("data").path("version").asLong();
+        }
+        return response.statusCode();
+    }
+
+    private static void printSummary(List<LatencySummary> results, List<String> violations) {
+        System.out.println();
+        System.out.printf("%-18s %9s %10s %9s %9s %9s %9s %8s %8s%n",
+                "group", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "error", "rejected");
+        for (LatencySummary result : results) {
+            System.out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %7.2f%%%n",
+                    result.name(), result.requests(), result.throughput(), result.p50Millis(), result.p99Millis(),
+                    result.p999Millis(), result.maxMillis(), result.errorRate() * 100, result.rejectedRate() * 100);
+        }
+        System.out.println();
+        if (violations.isEmpty()) {
+            System.out.println("Đạt mọi ngưỡng.");
+        } else {
+            System.out.println("Vượt ngưỡng:");
+            violations.forEach(violation -> System.out.println("  - " + violation));
+        }
+    }
+
+    private static void writeReport(Path reportFile, Duration warmup, Duration duration, int readers,
+                                    List<LatencySummary> results, List<String> violations) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("warmupSeconds", warmup.toSeconds());
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("readers", readers);
+        report.put("results", results);
+        report.put("violations", violations);
+        Path parent = reportFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        System.out.println("Báo cáo: " + reportFile.toAbsolutePath());
+    }
+}
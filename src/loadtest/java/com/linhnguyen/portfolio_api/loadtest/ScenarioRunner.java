@@ -0,0 +1,136 @@
+package com.linhnguyen.portfolio_api.loadtest;
+
+import com.linhnguyen.portfolio_api.loadtest.LatencyRecorder.LatencySummary;
+import com.linhnguyen.portfolio_api.loadtest.LatencyRecorder.Outcome;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Chạy một kịch bản: các nhóm worker chạy song song, mỗi worker là một thread gửi request đồng bộ
+ * (closed loop: gửi xong mới gửi tiếp, nên throughput phản ánh độ trễ của server).
+ * Request bắt đầu trong khoảng warmup không được ghi lại (JIT, pool kết nối, cache còn nguội).
+ */
+final class ScenarioRunner {
+
+    private final Duration warmup;
+    private final Duration duration;
+
+    ScenarioRunner(Duration warmup, Duration duration) {
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /**
+     * Một thao tác của worker.
+     */
+    @FunctionalInterface
+    interface Operation {
+
+        /**
+         * @param worker    Số thứ tự worker trong nhóm (0..workers-1)
+         * @param iteration Số request worker này đã gửi trước đó
+         * @return HTTP status của response
+         */
+        int execute(int worker, long iteration) throws Exception;
+    }
+
+    /**
+     * Một nhóm worker cùng thao tác.
+     *
+     * @param name      Tên nhóm trong báo cáo và prefix của key ngưỡng
+     * @param workers   Số worker (thread) đồng thời
+     * @param burstSize Số request gửi liền nhau trước mỗi lần nghỉ
+     * @param pause     Thời gian nghỉ sau mỗi burst, ZERO = gửi liên tục
+     */
+    record WorkerGroup(String name, int workers, int burstSize, Duration pause, Operation operation) {
+
+        static WorkerGroup closedLoop(String name, int workers, Operation operation) {
+            return new WorkerGroup(name, workers, 1, Duration.ZERO, operation);
+        }
+
+        static WorkerGroup bursts(String name, int workers, int burstSize, Duration pause, Operation operation) {
+            return new WorkerGroup(name, workers, burstSize, pause, operation);
+        }
+    }
+
+    /**
+     * Chạy các nhóm song song trong warmup + duration.
+     *
+     * @return Kết quả theo từng nhóm, cùng thứ tự với groups
+     */
+    List<LatencySummary> run(List<WorkerGroup> groups) throws Exception {
+        int totalWorkers = groups.stream().mapToInt(WorkerGroup::workers).sum();
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        Map<WorkerGroup, List<LatencyRecorder>> recorders = new LinkedHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        AtomicReference<Exception> firstFailure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(totalWorkers);
+        try {
+            for (WorkerGroup group : groups) {
+                List<LatencyRecorder> groupRecorders = new ArrayList<>();
+                for (int worker = 0; worker < group.workers(); worker++) {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    groupRecorders.add(recorder);
+                    int workerIndex = worker;
+                    futures.add(executor.submit(
+                            () -> work(group, workerIndex, recorder, measureStart, end, firstFailure)));
+                }
+                recorders.put(group, groupRecorders);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (firstFailure.get() != null) {
+            System.err.println("Một số request lỗi, lỗi đầu tiên: " + firstFailure.get());
+        }
+        long measuredNanos = Math.max(1, Math.min(System.nanoTime(), end) - measureStart);
+        List<LatencySummary> summaries = new ArrayList<>();
+        recorders.forEach((group, groupRecorders) ->
+                summaries.add(LatencyRecorder.summarize(group.name(), groupRecorders, measuredNanos)));
+        return summaries;
+    }
+
+    private static void work(WorkerGroup group, int worker, LatencyRecorder recorder,
+                             long measureStart, long end, AtomicReference<Exception> firstFailure) {
+        long iteration = 0;
+        try {
+            while (System.nanoTime() < end) {
+                for (int i = 0; i < group.burstSize() && System.nanoTime() < end; i++) {
+                    long start = System.nanoTime();
+                    Outcome outcome;
+                    try {
+                        outcome = Outcome.of(group.operation().execute(worker, iteration++));
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Timeout, mất kết nối, response không đọc được: tính là lỗi và đo tiếp
+                        firstFailure.compareAndSet(null, e);
+                        outcome = Outcome.ERROR;
+                    }
+                    if (start >= measureStart) {
+                        recorder.record(System.nanoTime() - start, outcome);
+                    }
+                }
+                if (!group.pause().isZero()) {
+                    Thread.sleep(group.pause().toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
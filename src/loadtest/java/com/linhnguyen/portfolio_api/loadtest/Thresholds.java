@@ -0,0 +1,88 @@
+package com.linhnguyen.portfolio_api.loadtest;
+
+import com.linhnguyen.portfolio_api.loadtest.LatencyRecorder.LatencySummary;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ngưỡng chấp nhận của lượt load test, đọc từ file properties dạng {@code <nhóm>.<chỉ số>=<giá trị>}.
+ * Chỉ số không khai báo thì không kiểm tra.
+ */
+final class Thresholds {
+
+    /** Chỉ số có giới hạn trên: vượt quá là regression */
+    private static final Map<String, ToDoubleFunction<LatencySummary>> MAXIMUMS = Map.of(
+            "p50-ms", LatencySummary::p50Millis,
+            "p99-ms", LatencySummary::p99Millis,
+            "p999-ms", LatencySummary::p999Millis,
+            "max-error-rate", LatencySummary::errorRate,
+            "max-rejected-rate", LatencySummary::rejectedRate);
+
+    /** Chỉ số có giới hạn dưới: thấp hơn là regression */
+    private static final Map<String, ToDoubleFunction<LatencySummary>> MINIMUMS = Map.of(
+            "min-throughput", LatencySummary::throughput);
+
+    private final Properties properties;
+
+    private Thresholds(Properties properties) {
+        this.properties = properties;
+    }
+
+    static Thresholds load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new Thresholds(properties);
+    }
+
+    /**
+     * So kết quả với ngưỡng.
+     *
+     * @return Danh sách vi phạm, rỗng nếu đạt
+     */
+    List<String> check(List<LatencySummary> summaries) {
+        List<String> violations = new ArrayList<>();
+        Set<String> checkedKeys = new TreeSet<>();
+        for (LatencySummary summary : summaries) {
+            MAXIMUMS.keySet().forEach(metric -> checkedKeys.add(summary.name() + "." + metric));
+            MINIMUMS.keySet().forEach(metric -> checkedKeys.add(summary.name() + "." + metric));
+            if (summary.requests() == 0) {
+                violations.add(summary.name() + ": không có request nào hoàn thành trong thời gian đo");
+                continue;
+            }
+            MAXIMUMS.forEach((metric, value) -> {
+                String key = summary.name() + "." + metric;
+                String limit = properties.getProperty(key);
+                if (limit != null && value.applyAsDouble(summary) > Double.parseDouble(limit)) {
+                    violations.add(String.format("%s = %.3f > %s", key, value.applyAsDouble(summary), limit));
+                }
+            });
+            MINIMUMS.forEach((metric, value) -> {
+                String key = summary.name() + "." + metric;
+                String limit = properties.getProperty(key);
+                if (limit != null && value.applyAsDouble(summary) < Double.parseDouble(limit)) {
+                    violations.add(String.format("%s = %.3f < %s", key, value.applyAsDouble(summary), limit));
+                }
+            });
+        }
+        // Key gõ sai hoặc nhóm đã đổi tên thì ngưỡng sẽ âm thầm không được kiểm tra
+        for (String key : properties.stringPropertyNames()) {
+            if (!checkedKeys.contains(key)) {
+                violations.add(key + ": không khớp nhóm / chỉ số nào của lượt chạy");
+            }
+        }
+        return violations;
+    }
+}
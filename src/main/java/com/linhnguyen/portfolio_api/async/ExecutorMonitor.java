@@ -0,0 +1,80 @@
+package com.linhnguyen.portfolio_api.async;
+
+import com.linhnguyen.portfolio_api.dto.response.ExecutorStatsDTO;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Theo dõi các executor được tạo bởi AsyncConfig: kích thước pool, số thread đang chạy,
+ * độ sâu hàng đợi và số task bị từ chối theo từng cách xử lý.
+ */
+@Component
+public class ExecutorMonitor {
+
+    private final Map<String, Registration> executors = new ConcurrentHashMap<>();
+
+    private record Registration(ThreadPoolTaskExecutor executor, SaturationHandler handler, int queueCapacity) {
+    }
+
+    /**
+     * Đăng ký một executor để theo dõi.
+     */
+    public void register(String name, ThreadPoolTaskExecutor executor, SaturationHandler handler, int queueCapacity) {
+        executors.put(name, new Registration(executor, handler, queueCapacity));
+    }
+
+    /**
+     * Danh sách executor đã đăng ký (theo tên).
+     */
+    public Map<String, ThreadPoolTaskExecutor> getExecutors() {
+        Map<String, ThreadPoolTaskExecutor> result = new ConcurrentHashMap<>();
+        executors.forEach((name, registration) -> result.put(name, registration.executor()));
+        return result;
+    }
+
+    /**
+     * Handler xử lý khi đầy của từng executor (theo tên), dùng cho metrics.
+     */
+    public Map<String, SaturationHandler> getSaturationHandlers() {
+        Map<String, SaturationHandler> result = new ConcurrentHashMap<>();
+        executors.forEach((name, registration) -> result.put(name, registration.handler()));
+        return result;
+    }
+
+    /**
+     * Lấy thống kê hiện tại của tất cả executor.
+     */
+    public List<ExecutorStatsDTO> getStats() {
+        return executors.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> toStats(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static ExecutorStatsDTO toStats(String name, Registration registration) {
+        ThreadPoolTaskExecutor executor = registration.executor();
+        SaturationHandler handler = registration.handler();
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+
+        return ExecutorStatsDTO.builder()
+                .name(name)
+                .saturationPolicy(handler.getPolicy().name())
+                .corePoolSize(executor.getCorePoolSize())
+                .maxPoolSize(executor.getMaxPoolSize())
+                .poolSize(executor.getPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueSize(executor.getQueueSize())
+                .queueCapacity(registration.queueCapacity())
+                .completedTasks(pool.getCompletedTaskCount())
+                .rejectedTasks(handler.getRejectedCount())
+                .callerRunsTasks(handler.getCallerRunsCount())
+                .droppedTasks(handler.getDroppedCount())
+                .spilledTasks(handler.getSpilledCount())
+                .build();
+    }
+}
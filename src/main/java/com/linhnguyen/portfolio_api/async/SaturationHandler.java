@@ -0,0 +1,84 @@
+package com.linhnguyen.portfolio_api.async;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RejectedExecutionHandler áp dụng {@link SaturationPolicy} và đếm số task bị từ chối theo từng cách xử lý.
+ */
+@Slf4j
+public class SaturationHandler implements RejectedExecutionHandler {
+
+    private final String executorName;
+
+    @Getter
+    private final SaturationPolicy policy;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+
+    public SaturationHandler(String executorName, SaturationPolicy policy) {
+        this.executorName = executorName;
+        this.policy = policy;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejected.increment();
+
+        // Executor đang shutdown: không chạy trên caller nữa, cố gắng spill để không mất việc
+        SaturationPolicy effective = executor.isShutdown() && policy == SaturationPolicy.CALLER_RUNS
+                ? SaturationPolicy.SPILL
+                : policy;
+
+        switch (effective) {
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                task.run();
+            }
+            case SPILL -> {
+                if (task instanceof SpillableTask spillable) {
+                    spilled.increment();
+                    spillable.spill();
+                } else {
+                    drop(task, executor);
+                }
+            }
+            case DROP -> drop(task, executor);
+            case ABORT -> throw new RejectedExecutionException(
+                    "Executor " + executorName + " đã đầy (queue: " + executor.getQueue().size() + ")");
+        }
+    }
+
+    private void drop(Runnable task, ThreadPoolExecutor executor) {
+        dropped.increment();
+        log.warn("Executor {} đã đầy, bỏ task (queue: {}, active: {})",
+                executorName, executor.getQueue().size(), executor.getActiveCount());
+        if (task instanceof SpillableTask spillable) {
+            spillable.dropped();
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilled.sum();
+    }
+}
@@ -0,0 +1,19 @@
+package com.linhnguyen.portfolio_api.async;
+
+/**
+ * Cách xử lý khi executor đã đầy (hết thread và hàng đợi đã đầy).
+ */
+public enum SaturationPolicy {
+
+    /** Chạy task ngay trên thread gọi execute (tự tạo back-pressure cho nơi gửi task) */
+    CALLER_RUNS,
+
+    /** Bỏ task, chỉ tăng bộ đếm dropped */
+    DROP,
+
+    /** Gọi {@link SpillableTask#spill()} để lưu công việc xuống database xử lý sau; task không hỗ trợ thì DROP */
+    SPILL,
+
+    /** Ném RejectedExecutionException cho nơi gửi task tự xử lý */
+    ABORT
+}
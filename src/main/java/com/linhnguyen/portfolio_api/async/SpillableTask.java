@@ -0,0 +1,20 @@
+package com.linhnguyen.portfolio_api.async;
+
+/**
+ * Task có thể được "xả" xuống nơi lưu trữ bền vững khi executor đầy,
+ * thay vì bị mất hoặc chiếm thread của nơi gửi.
+ */
+public interface SpillableTask extends Runnable {
+
+    /**
+     * Được gọi thay cho run() khi executor đầy và policy là SPILL.
+     * Cần lưu lại công việc (ví dụ trả row outbox về PENDING) để xử lý sau.
+     */
+    void spill();
+
+    /**
+     * Được gọi khi task bị bỏ (policy DROP, hoặc executor đã shutdown).
+     */
+    default void dropped() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Đọc cấu hình archive bản ghi đã xóa mềm từ application.yml (prefix: app.archive).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Bật/tắt job archive trên node này.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Thời gian ân hạn: bản ghi xóa mềm lâu hơn thời gian này mới bị chuyển sang archive.
+     * Trong thời gian ân hạn bản ghi vẫn nằm ở bảng chính và khôi phục được ngay.
+     */
+    private Duration gracePeriod = Duration.ofDays(30);
+
+    /**
+     * Số row tối đa chuyển trong một batch (một transaction).
+     */
+    private int batchSize = 500;
+
+    /**
+     * Lịch chạy job (cron), mặc định 4:00 sáng mỗi ngày.
+     */
+    private String cron = "0 0 4 * * *";
+}
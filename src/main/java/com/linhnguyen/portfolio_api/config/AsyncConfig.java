@@ -1,18 +1,88 @@
 package com.linhnguyen.portfolio_api.config;
 
+import com.linhnguyen.portfolio_api.async.ExecutorMonitor;
+import com.linhnguyen.portfolio_api.async.SaturationHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
 
 /**
  * Cấu hình Async cho Spring Boot.
  * Cho phép chạy các method với @Async annotation bất đồng bộ.
  *
- * Sử dụng cho: Gửi email qua Brevo không block main thread.
+ * Mỗi loại tác vụ nền có executor riêng, được đặt tên và giới hạn (số thread + hàng đợi),
+ * với cách xử lý khi đầy cấu hình được (xem {@link com.linhnguyen.portfolio_api.async.SaturationPolicy}).
+ * Khi shutdown, executor ngừng nhận task mới và chờ các task đang chạy / đang chờ hoàn thành.
  */
+@Slf4j
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-    // Spring Boot sẽ tự động cấu hình ThreadPoolTaskExecutor
-    // Có thể customize nếu cần bằng cách định nghĩa Executor bean
-}
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final AsyncProperties asyncProperties;
+    private final ExecutorMonitor executorMonitor;
+
+    /**
+     * Executor mặc định cho @Async.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor generalExecutor() {
+        return createExecutor("general", asyncProperties.getGeneral());
+    }
+
+    /**
+     * Executor gửi email thông báo từ outbox.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor emailExecutor() {
+        return createExecutor("email", asyncProperties.getEmail());
+    }
+
+    /**
+     * Executor chạy BCrypt (xem {@link com.linhnguyen.portfolio_api.security.PasswordHasher}).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        return createExecutor("password-hash", asyncProperties.getPasswordHash());
+    }
 
+    @Override
+    public Executor getAsyncExecutor() {
+        return generalExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                log.error("Lỗi trong tác vụ async {}: {}", method.getName(), ex.getMessage(), ex);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String name, AsyncProperties.ExecutorSettings settings) {
+        SaturationHandler saturationHandler = new SaturationHandler(name, settings.getSaturationPolicy());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(settings.getCorePoolSize());
+        executor.setMaxPoolSize(settings.getMaxPoolSize());
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) settings.getKeepAlive().toSeconds());
+        executor.setRejectedExecutionHandler(saturationHandler);
+        // Graceful drain: ngừng nhận task mới, chờ task đang chạy và trong hàng đợi hoàn thành
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(settings.getAwaitTermination().toMillis());
+
+        executorMonitor.register(name, executor, saturationHandler, settings.getQueueCapacity());
+        log.info("Executor '{}' - core: {}, max: {}, queue: {}, khi đầy: {}", name,
+                settings.getCorePoolSize(), settings.getMaxPoolSize(), settings.getQueueCapacity(),
+                settings.getSaturationPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,72 @@
+package com.linhnguyen.portfolio_api.config;
+
+import com.linhnguyen.portfolio_api.async.SaturationPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Đọc cấu hình các executor chạy tác vụ nền từ application.yml (prefix: app.async).
+ * Mỗi loại tác vụ có executor riêng, bị giới hạn cả số thread lẫn độ dài hàng đợi.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.async")
+public class AsyncProperties {
+
+    /**
+     * Executor mặc định cho @Async không chỉ định tên.
+     */
+    private ExecutorSettings general = new ExecutorSettings(2, 4, 100, SaturationPolicy.CALLER_RUNS);
+
+    /**
+     * Executor gửi email từ outbox. Khi đầy thì trả email về outbox (SPILL) để lượt sau gửi.
+     */
+    private ExecutorSettings email = new ExecutorSettings(2, 4, 50, SaturationPolicy.SPILL);
+
+    /**
+     * Executor chạy BCrypt cho login / đổi mật khẩu. Số thread là giới hạn cứng CPU dành cho hash,
+     * khi đầy thì từ chối ngay (ABORT) thay vì chạy trên thread gọi.
+     */
+    private ExecutorSettings passwordHash = new ExecutorSettings(2, 2, 16, SaturationPolicy.ABORT);
+
+    /**
+     * Cấu hình một executor.
+     */
+    @Getter
+    @Setter
+    public static class ExecutorSettings {
+
+        /** Số thread luôn giữ */
+        private int corePoolSize;
+
+        /** Số thread tối đa (chỉ tăng khi hàng đợi đã đầy) */
+        private int maxPoolSize;
+
+        /** Sức chứa hàng đợi */
+        private int queueCapacity;
+
+        /** Cách xử lý khi executor đầy */
+        private SaturationPolicy saturationPolicy;
+
+        /** Thời gian thread dư (trên core) được giữ khi rảnh */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /** Thời gian tối đa chờ các task đang chạy / đang chờ hoàn thành khi shutdown */
+        private Duration awaitTermination = Duration.ofSeconds(30);
+
+        public ExecutorSettings() {
+        }
+
+        public ExecutorSettings(int corePoolSize, int maxPoolSize, int queueCapacity, SaturationPolicy saturationPolicy) {
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+            this.saturationPolicy = saturationPolicy;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Cấu hình cho Brevo (Sendinblue) Email Service.
  * Đọc các giá trị từ application.yml với prefix "brevo".
@@ -44,5 +46,74 @@ public class BrevoConfig {
      * Bật/tắt tính năng gửi email
      */
     private boolean enabled = true;
+
+    /**
+     * Endpoint gửi email transactional của Brevo
+     */
+    private String apiUrl = "https://api.brevo.com/v3/smtp/email";
+
+    /**
+     * Timeout thiết lập kết nối (TCP + TLS)
+     */
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    /**
+     * Timeout chờ response. Brevo bình thường trả về dưới 1 giây.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Cấu hình circuit breaker quanh Brevo API
+     */
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    /**
+     * Cấu hình bulkhead (giới hạn số call đồng thời tới Brevo)
+     */
+    private BulkheadSettings bulkhead = new BulkheadSettings();
+
+    /**
+     * Circuit breaker: khi tỉ lệ lỗi / chậm vượt ngưỡng thì ngừng gọi Brevo một thời gian,
+     * request thất bại ngay thay vì chờ timeout.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreakerSettings {
+
+        /** Tỉ lệ lỗi (%) để mở circuit */
+        private float failureRateThreshold = 50;
+
+        /** Call chậm hơn ngưỡng này được tính là call chậm */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+
+        /** Tỉ lệ call chậm (%) để mở circuit */
+        private float slowCallRateThreshold = 80;
+
+        /** Số call gần nhất dùng để tính tỉ lệ */
+        private int slidingWindowSize = 20;
+
+        /** Số call tối thiểu trước khi bắt đầu tính tỉ lệ */
+        private int minimumNumberOfCalls = 5;
+
+        /** Thời gian circuit ở trạng thái OPEN trước khi thử lại */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(60);
+
+        /** Số call thử ở trạng thái HALF_OPEN */
+        private int permittedCallsInHalfOpenState = 2;
+    }
+
+    /**
+     * Bulkhead: giới hạn số call đồng thời tới Brevo để Brevo chậm không chiếm hết thread.
+     */
+    @Getter
+    @Setter
+    public static class BulkheadSettings {
+
+        /** Số call đồng thời tối đa */
+        private int maxConcurrentCalls = 4;
+
+        /** Thời gian tối đa chờ slot trống, 0 = từ chối ngay */
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
 }
 
@@ -0,0 +1,72 @@
+package com.linhnguyen.portfolio_api.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Tạo circuit breaker và bulkhead bảo vệ các call tới Brevo API.
+ * Thông số đọc từ {@link BrevoConfig} (brevo.circuit-breaker.*, brevo.bulkhead.*).
+ */
+@Slf4j
+@Configuration
+public class BrevoResilienceConfig {
+
+    /**
+     * Circuit breaker cho Brevo.
+     * Lỗi 4xx (trừ 429) là lỗi dữ liệu/cấu hình của chính mình, không phản ánh sức khỏe của Brevo
+     * nên không được tính vào tỉ lệ lỗi.
+     *
+     * @param brevoConfig Cấu hình Brevo
+     * @return CircuitBreaker
+     */
+    @Bean
+    public CircuitBreaker brevoCircuitBreaker(BrevoConfig brevoConfig) {
+        return createCircuitBreaker(brevoConfig.getCircuitBreaker());
+    }
+
+    /**
+     * Bulkhead cho Brevo.
+     *
+     * @param brevoConfig Cấu hình Brevo
+     * @return Bulkhead
+     */
+    @Bean
+    public Bulkhead brevoBulkhead(BrevoConfig brevoConfig) {
+        return createBulkhead(brevoConfig.getBulkhead());
+    }
+
+    public static CircuitBreaker createCircuitBreaker(BrevoConfig.CircuitBreakerSettings settings) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .recordException(e -> !(e instanceof HttpClientErrorException clientError)
+                        || clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS))
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("brevo", config);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker Brevo chuyển trạng thái: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    public static Bulkhead createBulkhead(BrevoConfig.BulkheadSettings settings) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWaitDuration())
+                .build();
+        return Bulkhead.of("brevo", config);
+    }
+}
@@ -23,7 +23,7 @@ public class CacheConfig {
      * Cấu hình Caffeine Cache Manager với các thiết lập mặc định:
      * - Tối đa 500 entries trong cache
      * - Tự động hết hạn sau 10 phút kể từ khi ghi
-     * - Ghi lại thống kê để theo dõi hiệu suất cache
+     * - Ghi lại thống kê để theo dõi hiệu suất cache (Actuator xuất ra cache.gets / cache.puts / cache.evictions theo tên cache)
      *
      * @return CacheManager được cấu hình sẵn
      */
@@ -39,6 +39,7 @@ public class CacheConfig {
         cacheManager.setCacheNames(java.util.List.of(
                 "profile",      // Cache cho thông tin profile
                 "projects",   // Cache cho thông tin project
+                "projectSearch", // Cache cho kết quả full-text search project
                 "skills"      // Cache cho thông tin skill
         ));
 
@@ -0,0 +1,52 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đọc cấu hình bảo trì partition của contact_messages từ application.yml (prefix: app.contact-partitions).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.contact-partitions")
+public class ContactPartitionProperties {
+
+    /**
+     * Bật/tắt job bảo trì partition trên node này.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Số tháng tương lai luôn có sẵn partition (ngoài tháng hiện tại).
+     */
+    private int premakeMonths = 3;
+
+    /**
+     * Số tháng giữ lại dữ liệu (tính cả tháng hiện tại). Partition cũ hơn sẽ bị xử lý theo retention-action.
+     * 0 = giữ vĩnh viễn.
+     */
+    private int retentionMonths = 24;
+
+    /**
+     * Cách xử lý partition hết hạn.
+     */
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+
+    /**
+     * Lịch chạy job (cron), mặc định 3:30 sáng mỗi ngày.
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Cách xử lý partition hết hạn.
+     */
+    public enum RetentionAction {
+        /** Tách partition khỏi bảng cha, giữ lại thành bảng độc lập để backup / xóa thủ công */
+        DETACH,
+        /** Xóa hẳn partition */
+        DROP
+    }
+}
@@ -0,0 +1,49 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Đọc cấu hình rate limit cho form liên hệ từ application.yml (prefix: app.rate-limit.contact).
+ * Giới hạn được áp dụng song song theo email người gửi và theo IP client.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit.contact")
+public class ContactRateLimitProperties {
+
+    /**
+     * Bật/tắt rate limit in-memory. Khi tắt chỉ còn kiểm tra spam bằng database.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Số tin nhắn tối đa từ cùng 1 email trong mỗi cửa sổ email-window.
+     */
+    private int emailMaxRequests = 1;
+
+    /**
+     * Độ dài cửa sổ trượt theo email.
+     */
+    private Duration emailWindow = Duration.ofMinutes(5);
+
+    /**
+     * Số tin nhắn tối đa từ cùng 1 IP trong mỗi cửa sổ ip-window.
+     */
+    private int ipMaxRequests = 5;
+
+    /**
+     * Độ dài cửa sổ trượt theo IP.
+     */
+    private Duration ipWindow = Duration.ofMinutes(15);
+
+    /**
+     * Số key (email/IP) tối đa được theo dõi cho mỗi loại, giới hạn bộ nhớ khi bị tấn công.
+     */
+    private long maxTrackedKeys = 100_000;
+}
@@ -0,0 +1,134 @@
+package com.linhnguyen.portfolio_api.config;
+
+import com.linhnguyen.portfolio_api.datasource.PublicDataWriteFence;
+import com.linhnguyen.portfolio_api.datasource.ReadWriteRoutingDataSource;
+import com.linhnguyen.portfolio_api.datasource.ReadYourWritesTracker;
+import com.linhnguyen.portfolio_api.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cấu hình định tuyến read/write: transaction read-only đi replica, còn lại đi primary.
+ * Chỉ bật khi app.datasource.routing.enabled=true; khi tắt, Spring Boot tự tạo datasource như cũ.
+ *
+ * Primary vẫn đọc cấu hình từ spring.datasource.* (kể cả spring.datasource.hikari.*),
+ * mỗi replica có Hikari pool riêng (read-only).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Hikari pool của primary. Các thuộc tính spring.datasource.hikari.* được bind sau khi tạo.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") String url,
+                                              @Value("${spring.datasource.username}") String username,
+                                              @Value("${spring.datasource.password}") String password,
+                                              @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}") String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Tạo pool cho từng replica và theo dõi độ trễ của chúng.
+     * Pool replica không phải bean nên được gắn metrics Hikari (hikaricp.*) trực tiếp;
+     * pool primary là bean và được Spring Boot tự gắn.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceRoutingProperties properties,
+                                               HikariDataSource primaryDataSource,
+                                               MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            if (replica.getName() == null || replica.getName().isBlank()
+                    || ReadWriteRoutingDataSource.PRIMARY.equals(replica.getName())) {
+                throw new IllegalStateException("Tên replica không hợp lệ: " + replica.getName());
+            }
+            replicas.put(replica.getName(), createReplicaDataSource(replica, primaryDataSource, meterRegistry));
+        }
+
+        log.info("Định tuyến read/write đã bật với {} replica: {}", replicas.size(), replicas.keySet());
+        return new ReplicaLagMonitor(replicas, properties.getMaxReplicaLag());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), properties.getWriteFence());
+    }
+
+    /**
+     * Dựng write fence khi project / skill / profile thay đổi (chỉ các thay đổi này mới làm cache public cũ đi).
+     */
+    @Bean
+    public PublicDataWriteFence publicDataWriteFence(ReadYourWritesTracker readYourWritesTracker) {
+        return new PublicDataWriteFence(readYourWritesTracker);
+    }
+
+    /**
+     * DataSource chính của ứng dụng (JPA, Flyway, JdbcTemplate).
+     * Lazy proxy trì hoãn việc lấy connection tới câu lệnh đầu tiên để routing thấy được cờ read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 DataSourceRoutingProperties properties) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        for (DataSourceRoutingProperties.Replica replica : properties.getReplicas()) {
+            targets.put(replica.getName(), replicaLagMonitor.getDataSource(replica.getName()));
+        }
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource createReplicaDataSource(DataSourceRoutingProperties.Replica replica,
+                                                            HikariDataSource primary,
+                                                            MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica-" + replica.getName());
+        config.setJdbcUrl(replica.getUrl());
+        config.setUsername(replica.getUsername() != null ? replica.getUsername() : primary.getUsername());
+        config.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+        config.setDriverClassName(primary.getDriverClassName());
+        config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        config.setMinimumIdle(replica.getMinimumIdle());
+        config.setConnectionTimeout(primary.getConnectionTimeout());
+        config.setIdleTimeout(primary.getIdleTimeout());
+        config.setMaxLifetime(primary.getMaxLifetime());
+        config.setReadOnly(true);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        // Không chặn khởi động khi replica chưa sẵn sàng, lag monitor sẽ loại replica lỗi
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,77 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc cấu hình định tuyến read/write datasource từ application.yml (prefix: app.datasource.routing).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Bật/tắt định tuyến. Khi tắt, mọi truy vấn đi primary (datasource mặc định của Spring Boot).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Độ trễ replication tối đa cho phép. Replica trễ hơn mức này bị loại khỏi định tuyến tới khi bắt kịp.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * Khoảng nghỉ giữa 2 lần đo độ trễ replica (ms).
+     */
+    private long lagCheckIntervalMs = 5000;
+
+    /**
+     * Sau khi một user đã xác thực ghi dữ liệu, mọi read của user đó đi primary trong khoảng này
+     * (read-your-writes cho admin vừa chỉnh sửa).
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(30);
+
+    /**
+     * Sau khi project / skill / profile thay đổi, mọi read (kể cả public) đi primary trong khoảng này.
+     * Tránh cache public (TTL dài) lưu lại dữ liệu cũ đọc từ replica ngay sau khi admin chỉnh sửa.
+     * Ghi của job nền không dựng fence.
+     */
+    private Duration writeFence = Duration.ofSeconds(5);
+
+    /**
+     * Danh sách replica, mỗi replica có Hikari pool riêng.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Cấu hình một replica. username/password bỏ trống thì dùng chung với primary.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /** Tên replica, dùng làm lookup key và tên Hikari pool */
+        private String name;
+
+        /** JDBC URL của replica */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /** Số connection tối đa của pool */
+        private int maximumPoolSize = 10;
+
+        /** Số connection rảnh tối thiểu của pool */
+        private int minimumIdle = 2;
+    }
+}
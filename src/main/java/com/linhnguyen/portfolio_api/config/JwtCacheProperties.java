@@ -0,0 +1,42 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đọc cấu hình cache token đã xác thực và denylist token thu hồi từ application.yml (prefix: app.jwt).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtCacheProperties {
+
+    /**
+     * Số token đã xác thực tối đa giữ trong cache.
+     */
+    private long cacheMaxSize = 10_000;
+
+    /**
+     * Số token bị thu hồi (chưa hết hạn) dự kiến, dùng để định cỡ Bloom filter.
+     * Vượt quá số này vẫn đúng, chỉ tăng tỉ lệ phải tra tập chính xác.
+     */
+    private int denylistExpectedSize = 10_000;
+
+    /**
+     * Tỉ lệ dương tính giả của Bloom filter.
+     */
+    private double denylistFalsePositiveRate = 0.001;
+
+    /**
+     * Chu kỳ đồng bộ denylist từ database (ms), để thu hồi trên node khác có hiệu lực ở node này.
+     */
+    private long denylistSyncIntervalMs = 5000;
+
+    /**
+     * Chu kỳ dọn token thu hồi đã hết hạn (ms).
+     */
+    private long denylistPruneIntervalMs = 600_000;
+}
@@ -0,0 +1,37 @@
+package com.linhnguyen.portfolio_api.config;
+
+import com.linhnguyen.portfolio_api.throttle.ConcurrencyLimitFilter;
+import com.linhnguyen.portfolio_api.throttle.ConcurrencyLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cấu hình load shedding theo nhóm route.
+ * Có thể tắt bằng app.load-shedding.enabled=false.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.load-shedding", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    /**
+     * Đăng ký ConcurrencyLimitFilter ngay sau CorsFilter để response 503 vẫn có CORS headers,
+     * và trước Spring Security để request bị từ chối không tốn công xác thực.
+     *
+     * @return FilterRegistrationBean với ConcurrencyLimitFilter
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistrationBean(
+            ConcurrencyLimiterRegistry registry, LoadSheddingProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> bean = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(registry, properties.getRetryAfterSeconds())
+        );
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        log.info("Concurrency Limit Filter đã được đăng ký");
+        return bean;
+    }
+}
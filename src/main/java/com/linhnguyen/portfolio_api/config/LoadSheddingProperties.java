@@ -0,0 +1,94 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đọc cấu hình giới hạn concurrency thích ứng từ application.yml (prefix: app.load-shedding).
+ * Mỗi nhóm route (public read, contact, login, admin) có limit riêng để quá tải ở nhóm này
+ * không làm nghẽn các nhóm còn lại.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.load-shedding")
+public class LoadSheddingProperties {
+
+    /**
+     * Bật/tắt load shedding.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Giá trị header Retry-After (giây) trả về khi request bị từ chối.
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Hệ số chịu đựng: RTT hiện tại được phép cao hơn RTT nền bao nhiêu lần trước khi giảm limit.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Hệ số làm mượt khi cập nhật limit (0-1), càng nhỏ limit thay đổi càng chậm.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Số mẫu của cửa sổ ngắn (RTT hiện tại).
+     */
+    private int shortWindow = 10;
+
+    /**
+     * Số mẫu của cửa sổ dài (RTT nền khi không tải).
+     */
+    private int longWindow = 600;
+
+    /**
+     * GET công khai (profile, projects, skills, suggest) - phần lớn đọc từ cache.
+     */
+    private Limit publicRead = new Limit(20, 4, 150);
+
+    /**
+     * POST /v1/contact.
+     */
+    private Limit contact = new Limit(5, 1, 20);
+
+    /**
+     * POST /v1/auth/login (BCrypt tốn CPU).
+     */
+    private Limit login = new Limit(4, 1, 10);
+
+    /**
+     * Toàn bộ /v1/admin/**.
+     */
+    private Limit admin = new Limit(5, 2, 20);
+
+    /**
+     * Giới hạn concurrency của một nhóm route.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Limit ban đầu khi khởi động */
+        private int initialLimit;
+
+        /** Limit tối thiểu, luôn cho phép ít nhất chừng này request đồng thời */
+        private int minLimit;
+
+        /** Limit tối đa */
+        private int maxLimit;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
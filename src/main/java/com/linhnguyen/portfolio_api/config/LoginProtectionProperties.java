@@ -0,0 +1,60 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Đọc cấu hình chống dò mật khẩu cho login admin từ application.yml (prefix: app.login-protection).
+ * Lần đăng nhập sai được đếm song song theo email và theo IP client; vượt số lần cho phép thì bị khóa
+ * với thời gian tăng gấp đôi sau mỗi lần sai tiếp theo.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.login-protection")
+public class LoginProtectionProperties {
+
+    /**
+     * Bật/tắt giới hạn đăng nhập sai.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Số lần sai liên tiếp cho phép theo email trước khi bị khóa.
+     */
+    private int emailFreeAttempts = 5;
+
+    /**
+     * Số lần sai liên tiếp cho phép theo IP trước khi bị khóa (cao hơn email vì nhiều người có thể chung IP).
+     */
+    private int ipFreeAttempts = 20;
+
+    /**
+     * Thời gian khóa ở lần vượt đầu tiên, sau đó tăng gấp đôi mỗi lần sai.
+     */
+    private Duration baseLockout = Duration.ofSeconds(30);
+
+    /**
+     * Thời gian khóa tối đa.
+     */
+    private Duration maxLockout = Duration.ofHours(1);
+
+    /**
+     * Không có lần đăng nhập nào trong khoảng này thì bộ đếm sai được xóa.
+     */
+    private Duration forgetAfter = Duration.ofHours(6);
+
+    /**
+     * Số email / IP tối đa được theo dõi đồng thời (mỗi loại).
+     */
+    private long maxTrackedKeys = 100_000;
+
+    /**
+     * Thời gian tối đa chờ executor BCrypt trả kết quả.
+     */
+    private Duration verifyTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,104 @@
+package com.linhnguyen.portfolio_api.config;
+
+import com.linhnguyen.portfolio_api.async.ExecutorMonitor;
+import com.linhnguyen.portfolio_api.async.SaturationHandler;
+import com.linhnguyen.portfolio_api.datasource.ReplicaLagMonitor;
+import com.linhnguyen.portfolio_api.security.TokenDenylist;
+import com.linhnguyen.portfolio_api.service.EmailOutboxService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics riêng của ứng dụng, bổ sung cho những gì Spring Boot Actuator tự đo:
+ * - Tự động: http.server.requests theo route (histogram + percentile, xem management.metrics trong application.yml),
+ *   cache.* của CacheConfig (recordStats), hikaricp.* của pool primary, executor.* của các ThreadPoolTaskExecutor bean.
+ * - Ở đây: số task bị xử lý khi executor đầy, backlog email outbox, circuit breaker / bulkhead Brevo,
+ *   kích thước denylist JWT và độ trễ replica.
+ * - Trong code: brevo.send (BrevoEmailService), jwt.verification và cache jwtVerifiedTokens (VerifiedTokenCache).
+ *
+ * MeterBinder được bind sau khi mọi singleton đã tạo xong, nên executor trong AsyncConfig đã được đăng ký.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Số task bị từ chối / chạy trên caller / bị bỏ / spill theo từng executor
+     * (độ sâu hàng đợi và số thread đã có trong executor.queued, executor.active).
+     */
+    @Bean
+    public MeterBinder executorSaturationMetrics(ExecutorMonitor executorMonitor) {
+        return registry -> executorMonitor.getSaturationHandlers().forEach((name, handler) -> {
+            Map<String, ToDoubleFunction<SaturationHandler>> outcomes = Map.of(
+                    "rejected", SaturationHandler::getRejectedCount,
+                    "caller_runs", SaturationHandler::getCallerRunsCount,
+                    "dropped", SaturationHandler::getDroppedCount,
+                    "spilled", SaturationHandler::getSpilledCount);
+            outcomes.forEach((outcome, count) -> FunctionCounter.builder("app.executor.saturation", handler, count)
+                    .description("Số task gặp executor đầy, theo cách xử lý")
+                    .tags("name", name, "outcome", outcome)
+                    .register(registry));
+        });
+    }
+
+    /**
+     * Số email đang chờ và đã đến hạn gửi (mỗi lần scrape là một câu COUNT trên email_outbox).
+     */
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutboxService emailOutboxService) {
+        return registry -> Gauge.builder("email.outbox.ready", emailOutboxService, EmailOutboxService::countReady)
+                .description("Số email đang chờ gửi đã đến hạn")
+                .register(registry);
+    }
+
+    /**
+     * Trạng thái, số call và thời gian call qua circuit breaker / bulkhead của Brevo (resilience4j.*).
+     */
+    @Bean
+    public MeterBinder brevoCircuitBreakerMetrics(CircuitBreaker brevoCircuitBreaker) {
+        return TaggedCircuitBreakerMetrics.ofIterable(List.of(brevoCircuitBreaker));
+    }
+
+    @Bean
+    public MeterBinder brevoBulkheadMetrics(Bulkhead brevoBulkhead) {
+        return TaggedBulkheadMetrics.ofIterable(List.of(brevoBulkhead));
+    }
+
+    /**
+     * Số token đang bị thu hồi trong denylist in-memory.
+     */
+    @Bean
+    public MeterBinder tokenDenylistMetrics(TokenDenylist tokenDenylist) {
+        return registry -> Gauge.builder("jwt.denylist.size", tokenDenylist, TokenDenylist::size)
+                .description("Số token bị thu hồi chưa hết hạn")
+                .register(registry);
+    }
+
+    /**
+     * Độ trễ replica đo được gần nhất (giây), -1 nếu không kết nối được. Chỉ có khi bật định tuyến read/write.
+     */
+    @Bean
+    public MeterBinder replicaLagMetrics(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        return registry -> replicaLagMonitor.ifAvailable(monitor -> monitor.getLagMillis().keySet().forEach(name ->
+                Gauge.builder("db.replica.lag", monitor, m -> lagSeconds(m, name))
+                        .baseUnit("seconds")
+                        .tags("replica", name)
+                        .register(registry)));
+    }
+
+    private static double lagSeconds(ReplicaLagMonitor monitor, String name) {
+        long lagMillis = monitor.getLagMillis().getOrDefault(name, -1L);
+        return lagMillis < 0 ? -1 : lagMillis / 1000.0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.linhnguyen.portfolio_api.config;
+
+import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.request.ChangePasswordDTO;
+import com.linhnguyen.portfolio_api.dto.request.ContactRequestDTO;
+import com.linhnguyen.portfolio_api.dto.request.LoginRequestDTO;
+import com.linhnguyen.portfolio_api.dto.request.ProfileUpdateDTO;
+import com.linhnguyen.portfolio_api.dto.request.ProjectCreateDTO;
+import com.linhnguyen.portfolio_api.dto.request.ProjectUpdateDTO;
+import com.linhnguyen.portfolio_api.dto.request.SkillCreateDTO;
+import com.linhnguyen.portfolio_api.dto.request.SkillUpdateDTO;
+import com.linhnguyen.portfolio_api.dto.response.AdminStatsDTO;
+import com.linhnguyen.portfolio_api.dto.response.ContactResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ExecutorStatsDTO;
+import com.linhnguyen.portfolio_api.dto.response.LoginResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProfileResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectFilterResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectSearchResultDTO;
+import com.linhnguyen.portfolio_api.dto.response.SkillResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.SuggestionDTO;
+import com.linhnguyen.portfolio_api.exception.ErrorResponse;
+import com.linhnguyen.portfolio_api.mapper.ContactMessageMapper;
+import com.linhnguyen.portfolio_api.mapper.ProfileMapper;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import com.linhnguyen.portfolio_api.mapper.SkillMapper;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Khai báo reachability metadata cho GraalVM native image (mvn -Pnative native:compile).
+ *
+ * Spring AOT tự sinh hint cho bean, entity JPA, repository và các kiểu trong chữ ký controller;
+ * class này bổ sung những gì được nạp qua reflection / tên class mà AOT không thấy được.
+ * Không ảnh hưởng gì khi chạy trên JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.PortfolioRuntimeHints.class)
+public class NativeImageConfig {
+
+    static class PortfolioRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * Class implementation của jjwt được API nạp bằng tên (Jwts.SIG, Jwts.parser(), Keys...),
+         * jjwt-impl chỉ có ở runtime nên khai báo bằng tên.
+         */
+        private static final List<String> JJWT_IMPL_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        /**
+         * Class cache / node do Caffeine sinh sẵn và nạp bằng tên, tên ghép từ các tính năng của cache
+         * (cache: SS key / value mạnh, S recordStats, MS maximumSize, A expireAfterAccess hoặc expireAfter,
+         * W expireAfterWrite; node: PS key / value mạnh, A / W như trên, MS maximumSize).
+         * Gồm các tổ hợp đang dùng: CacheConfig (maximumSize + expireAfterWrite + recordStats),
+         * ReadYourWritesTracker (maximumSize + expireAfterWrite),
+         * SlidingWindowRateLimiter / LoginAttemptService (maximumSize + expireAfterAccess),
+         * VerifiedTokenCache (maximumSize + expireAfter + recordStats).
+         * Thêm cache với tổ hợp mới thì phải bổ sung tên ở đây.
+         */
+        private static final List<String> CAFFEINE_GENERATED_TYPES = List.of(
+                "com.github.benmanes.caffeine.cache.SSSMSW",
+                "com.github.benmanes.caffeine.cache.SSMSW",
+                "com.github.benmanes.caffeine.cache.SSMSA",
+                "com.github.benmanes.caffeine.cache.SSSMSA",
+                "com.github.benmanes.caffeine.cache.PSWMS",
+                "com.github.benmanes.caffeine.cache.PSAMS"
+        );
+
+        /**
+         * Cột jsonb của Project (@JdbcTypeCode(SqlTypes.JSON)) được Hibernate đọc / ghi qua FormatMapper
+         * dựa trên Jackson, FormatMapper được chọn bằng cách kiểm tra class có tồn tại hay không.
+         */
+        private static final List<String> HIBERNATE_JSON_TYPES = List.of(
+                "org.hibernate.type.format.jackson.JacksonJsonFormatMapper",
+                "com.fasterxml.jackson.databind.ObjectMapper"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            JJWT_IMPL_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS));
+            // jjwt tìm Serializer / Deserializer JSON qua ServiceLoader
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            CAFFEINE_GENERATED_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS));
+
+            HIBERNATE_JSON_TYPES.forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+            // MapStruct: implementation được sinh lúc compile và đăng ký như bean, chỉ cần giữ lại interface
+            // và các DTO mà mapper tạo ra / Jackson đọc ghi (kể cả DTO bọc trong ApiResponse<T> generic)
+            for (Class<?> mapper : List.of(ProjectMapper.class, SkillMapper.class,
+                    ProfileMapper.class, ContactMessageMapper.class)) {
+                hints.reflection().registerType(mapper, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    ApiResponse.class, ErrorResponse.class,
+                    LoginRequestDTO.class, ChangePasswordDTO.class, ContactRequestDTO.class,
+                    ProfileUpdateDTO.class, ProjectCreateDTO.class, ProjectUpdateDTO.class,
+                    SkillCreateDTO.class, SkillUpdateDTO.class,
+                    AdminStatsDTO.class, ContactResponseDTO.class, ExecutorStatsDTO.class,
+                    LoginResponseDTO.class, ProfileResponseDTO.class, ProjectFilterResponseDTO.class,
+                    ProjectResponseDTO.class, ProjectSearchResultDTO.class, SkillResponseDTO.class,
+                    SuggestionDTO.class);
+
+            // Email Brevo: template HTML đọc bằng ClassPathResource, payload là Map nên không cần reflection
+            hints.resources().registerPattern("templates/email/*.html");
+
+            // OpenAPI spec sinh lúc build (OpenApiSpecController)
+            hints.resources().registerPattern("openapi/openapi.json");
+        }
+    }
+}
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,8 +19,10 @@ import java.util.List;
  * Swagger UI giúp visualize và tương tác với các API endpoints.
  * Truy cập tại: /api/swagger-ui.html
  * Đã thêm Security Scheme cho JWT Bearer token để hỗ trợ các Admin API.
+ * Chỉ dùng khi springdoc quét controller lúc runtime (profile dev, hoặc lúc sinh spec bằng mvn -Popenapi).
  */
 @Configuration
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", havingValue = "true")
 public class OpenApiConfig {
 
     @Value("${server.port:8080}")
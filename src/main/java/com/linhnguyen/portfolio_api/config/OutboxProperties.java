@@ -0,0 +1,83 @@
+package com.linhnguyen.portfolio_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Đọc cấu hình email outbox từ application.yml (prefix: app.outbox).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Bật/tắt dispatcher trên node này (row vẫn được ghi vào outbox khi tắt).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Khoảng nghỉ giữa 2 lần quét outbox (ms).
+     */
+    private long pollIntervalMs = 2000;
+
+    /**
+     * Số row tối đa claim mỗi batch.
+     */
+    private int batchSize = 20;
+
+    /**
+     * Số lần gửi tối đa trước khi chuyển sang DEAD.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Thời gian chờ trước lần retry đầu tiên, nhân đôi sau mỗi lần thất bại.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Thời gian chờ tối đa giữa 2 lần retry.
+     */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * Row PROCESSING lâu hơn thời gian này được coi là treo (node chết) và được trả về PENDING.
+     */
+    private Duration lockTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Cấu hình gom email (digest) khi tin nhắn đến dồn dập.
+     */
+    private Digest digest = new Digest();
+
+    /**
+     * Digest mode với cửa sổ gom thích ứng.
+     *
+     * Lúc yên tĩnh (chỉ 1 tin nhắn chờ) email được gửi ngay từng cái.
+     * Khi có nhiều tin nhắn chờ cùng lúc, chúng được gộp thành 1 email tổng hợp và mở cửa sổ gom
+     * initial-window; mỗi cửa sổ còn gom được nhiều tin nhắn thì cửa sổ kế tiếp dài gấp đôi
+     * (tối đa max-window), cửa sổ nào gom được không quá 1 tin nhắn thì quay về gửi ngay.
+     */
+    @Getter
+    @Setter
+    public static class Digest {
+
+        /** Bật/tắt digest mode */
+        private boolean enabled = true;
+
+        /** Độ dài cửa sổ gom đầu tiên khi phát hiện burst */
+        private Duration initialWindow = Duration.ofSeconds(30);
+
+        /** Độ dài cửa sổ gom tối đa */
+        private Duration maxWindow = Duration.ofMinutes(15);
+
+        /** Số tin nhắn tối đa trong 1 email tổng hợp; đủ số này thì gửi ngay không chờ hết cửa sổ */
+        private int maxMessages = 50;
+    }
+}
@@ -2,29 +2,37 @@ package com.linhnguyen.portfolio_api.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
  * Cấu hình RestTemplate cho các HTTP calls đến external services (Brevo API).
+ *
+ * Dùng java.net.http.HttpClient: giữ connection pool keep-alive (không bắt tay TCP/TLS lại mỗi request)
+ * và hỗ trợ HTTP/2 (multiplex nhiều request trên một connection khi server hỗ trợ).
  */
 @Configuration
 public class RestTemplateConfig {
 
     /**
-     * Tạo RestTemplate bean với timeout configuration.
+     * Tạo RestTemplate bean với connection pool và timeout lấy từ cấu hình Brevo.
      *
+     * @param brevoConfig Cấu hình Brevo (timeout)
      * @return RestTemplate instance
      */
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        // Timeout 10 giây cho connection
-        factory.setConnectTimeout(10000);
-        // Timeout 30 giây cho read
-        factory.setReadTimeout(30000);
+    public RestTemplate restTemplate(BrevoConfig brevoConfig) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(brevoConfig.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(brevoConfig.getReadTimeout());
 
         return new RestTemplate(factory);
     }
 }
-
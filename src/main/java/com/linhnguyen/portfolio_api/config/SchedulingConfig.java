@@ -0,0 +1,12 @@
+package com.linhnguyen.portfolio_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Bật @Scheduled cho các job nền (email outbox dispatcher, ...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
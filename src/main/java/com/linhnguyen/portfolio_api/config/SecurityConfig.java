@@ -2,9 +2,13 @@ package com.linhnguyen.portfolio_api.config;
 
 import com.linhnguyen.portfolio_api.security.JwtAuthenticationEntryPoint;
 import com.linhnguyen.portfolio_api.security.JwtAuthenticationFilter;
+import com.linhnguyen.portfolio_api.security.PublicReadRoutes;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,19 +17,30 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.HstsHeaderWriter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
+import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter.XFrameOptionsMode;
+
+import java.util.List;
 
 /**
  * Cấu hình Spring Security cho Portfolio API.
  *
  * Phân quyền:
- * - Public endpoints: GET /v1/profile, /v1/projects, /v1/skills (không cần xác thực)
+ * - Public endpoints: GET /v1/profile, /v1/projects, /v1/skills, /v1/suggest (không cần xác thực),
+ *   đi qua chain riêng chỉ có filter ghi security header (xem {@link #publicReadFilterChain()})
  * - Admin endpoints: /v1/admin/** (yêu cầu JWT token)
  * - Auth endpoints: /v1/auth/** (public cho login)
  *
  * Sử dụng Stateless Session vì xác thực bằng JWT.
+ * CORS được xử lý một lần bởi CorsFilter đăng ký ở mức servlet (xem CorsConfig), không lặp lại trong chain.
  */
 @Configuration
 @EnableWebSecurity
@@ -35,7 +50,6 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
-    private final CorsConfigurationSource corsConfigurationSource;
 
     /**
      * Các endpoint hoàn toàn public: không cần xác thực bất kể HTTP method.
@@ -51,16 +65,6 @@ public class SecurityConfig {
             "/webjars/**"
     };
 
-    /**
-     * Các endpoint Portfolio công khai — chỉ cho phép đọc (GET).
-     * Frontend dùng để hiển thị thông tin, không cần đăng nhập.
-     */
-    private static final String[] PUBLIC_GET_ENDPOINTS = {
-            "/v1/profile/**",
-            "/v1/projects/**",
-            "/v1/skills/**"
-    };
-
     /**
      * Các endpoint công khai cho phép POST (không cần xác thực).
      * Contact API cho phép nhà tuyển dụng gửi tin nhắn liên hệ.
@@ -71,13 +75,38 @@ public class SecurityConfig {
 
     /**
      * Các endpoint quản trị — yêu cầu JWT với role ADMIN.
+     * Bao gồm Actuator (Prometheus scrape, health chi tiết).
      */
     private static final String[] ADMIN_ENDPOINTS = {
-            "/v1/admin/**"
+            "/v1/admin/**",
+            "/actuator/**"
     };
 
     /**
-     * Cấu hình SecurityFilterChain.
+     * Chain cho GET công khai (profile, projects, skills, suggest), được chọn trước mọi chain khác.
+     *
+     * Request ẩn danh không cần SecurityContext, JWT, authorization hay CORS lặp lại, nên chain chỉ giữ
+     * HeaderWriterFilter với cùng các header mặc định của {@code http.headers()} ở chain chính
+     * (X-Content-Type-Options, X-XSS-Protection, Cache-Control, HSTS, X-Frame-Options).
+     * Firewall của FilterChainProxy vẫn kiểm tra request trước khi chọn chain.
+     *
+     * @return SecurityFilterChain chỉ ghi security header
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain publicReadFilterChain() {
+        HeaderWriterFilter headerWriterFilter = new HeaderWriterFilter(List.of(
+                new XContentTypeOptionsHeaderWriter(),
+                new XXssProtectionHeaderWriter(),
+                // Không ghi đè Cache-Control do controller tự đặt, và bỏ qua response 304
+                new CacheControlHeadersWriter(),
+                new HstsHeaderWriter(),
+                new XFrameOptionsHeaderWriter(XFrameOptionsMode.DENY)));
+        return new DefaultSecurityFilterChain(PublicReadRoutes.MATCHER, headerWriterFilter);
+    }
+
+    /**
+     * Cấu hình SecurityFilterChain cho các request còn lại.
      * Định nghĩa các quy tắc phân quyền và xác thực cho từng endpoint.
      *
      * @param http HttpSecurity builder
@@ -86,8 +115,9 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
-                // Tích hợp CORS với Spring Security - đảm bảo CORS filter chạy trước các security filter
-                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                // CORS đã được CorsFilter ở mức servlet xử lý trước Spring Security (kể cả preflight),
+                // tắt cấu hình tự động để không chạy CorsFilter lần thứ hai
+                .cors(AbstractHttpConfigurer::disable)
 
                 // Disable CSRF vì sử dụng JWT (stateless)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -111,9 +141,6 @@ public class SecurityConfig {
                         // Các endpoint công khai: auth, health, swagger docs
                         .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
 
-                        // Portfolio public APIs: chỉ cho phép đọc (GET), không cần xác thực
-                        .requestMatchers(HttpMethod.GET, PUBLIC_GET_ENDPOINTS).permitAll()
-
                         // Contact API: cho phép POST để nhà tuyển dụng gửi tin nhắn liên hệ
                         .requestMatchers(HttpMethod.POST, PUBLIC_POST_ENDPOINTS).permitAll()
 
@@ -130,6 +157,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Không đăng ký JwtAuthenticationFilter ở mức servlet (Spring Boot tự đăng ký mọi bean Filter),
+     * filter chỉ chạy bên trong security chain chính.
+     *
+     * @return FilterRegistrationBean đã tắt
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Password Encoder sử dụng BCrypt.
      * BCrypt tự động salt và có strength factor để tăng độ bảo mật.
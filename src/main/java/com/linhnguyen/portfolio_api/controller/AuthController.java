@@ -4,25 +4,31 @@ import com.linhnguyen.portfolio_api.common.ApiResponse;
 import com.linhnguyen.portfolio_api.dto.request.ChangePasswordDTO;
 import com.linhnguyen.portfolio_api.dto.request.LoginRequestDTO;
 import com.linhnguyen.portfolio_api.dto.response.LoginResponseDTO;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
 import com.linhnguyen.portfolio_api.service.AuthService;
+import com.linhnguyen.portfolio_api.util.ClientIp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * REST Controller xử lý Authentication.
  *
- * Chỉ có endpoint login, không có register vì đây là portfolio cá nhân.
+ * Chỉ có endpoint login / logout, không có register vì đây là portfolio cá nhân.
  * Endpoint này được giấu khỏi người dùng thông thường trên frontend.
  * Admin sử dụng URL trực tiếp hoặc giao diện ẩn để đăng nhập.
  */
@@ -33,6 +39,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Authentication", description = "API xác thực dành cho Admin (Endpoint ẩn)")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
     /**
@@ -50,12 +58,15 @@ public class AuthController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Đăng nhập thành công"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Thông tin đăng nhập không hợp lệ"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Email hoặc mật khẩu không đúng")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Email hoặc mật khẩu không đúng"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Đăng nhập sai quá nhiều lần, đang bị khóa tạm thời"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Hệ thống đang bận xử lý đăng nhập khác")
     })
     public ResponseEntity<ApiResponse<LoginResponseDTO>> login(
-            @Valid @RequestBody LoginRequestDTO request) {
+            @Valid @RequestBody LoginRequestDTO request,
+            HttpServletRequest httpRequest) {
         log.info("Login request received");
-        LoginResponseDTO response = authService.login(request);
+        LoginResponseDTO response = authService.login(request, ClientIp.resolve(httpRequest));
         return ResponseEntity.ok(ApiResponse.success("Đăng nhập thành công", response));
     }
 
@@ -81,5 +92,29 @@ public class AuthController {
         authService.changePassword(request);
         return ResponseEntity.ok(ApiResponse.successMessage("Đổi mật khẩu thành công"));
     }
-}
 
+    /**
+     * Đăng xuất Admin.
+     * Thu hồi JWT token hiện tại, token không dùng được nữa dù chưa hết hạn.
+     *
+     * @param authorization Header Authorization dạng "Bearer <token>"
+     * @return Thông báo thành công
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "Đăng xuất",
+               description = "Thu hồi JWT token hiện tại trước khi hết hạn. Yêu cầu xác thực JWT token.")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Đăng xuất thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        log.info("Logout request received");
+        if (!authorization.startsWith(BEARER_PREFIX)) {
+            throw new BusinessException(HttpStatus.UNAUTHORIZED, "Token không hợp lệ hoặc đã hết hạn");
+        }
+        authService.logout(authorization.substring(BEARER_PREFIX.length()));
+        return ResponseEntity.ok(ApiResponse.successMessage("Đăng xuất thành công"));
+    }
+}
@@ -4,6 +4,8 @@ import com.linhnguyen.portfolio_api.common.ApiResponse;
 import com.linhnguyen.portfolio_api.dto.request.ContactRequestDTO;
 import com.linhnguyen.portfolio_api.dto.response.ContactResponseDTO;
 import com.linhnguyen.portfolio_api.service.ContactService;
+import com.linhnguyen.portfolio_api.throttle.ContactRateLimiter;
+import com.linhnguyen.portfolio_api.util.ClientIp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -31,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class ContactController {
 
     private final ContactService contactService;
+    private final ContactRateLimiter contactRateLimiter;
 
     /**
      * Gửi tin nhắn liên hệ.
@@ -67,35 +70,16 @@ public class ContactController {
             @Valid @RequestBody ContactRequestDTO requestDTO,
             HttpServletRequest request
     ) {
-        String clientIp = getClientIp(request);
+        String clientIp = ClientIp.resolve(request);
         log.info("Nhận request gửi tin nhắn liên hệ từ IP: {}", clientIp);
 
+        // Rate limit in-memory trước khi mở transaction: request spam không tốn connection DB
+        contactRateLimiter.checkAllowed(requestDTO.getEmail(), clientIp);
+
         ContactResponseDTO response = contactService.submitContactMessage(requestDTO, clientIp);
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Tin nhắn đã được gửi thành công", response));
     }
-
-    /**
-     * Lấy IP thực của client, hỗ trợ cả trường hợp có proxy/load balancer.
-     *
-     * @param request HttpServletRequest
-     * @return IP address của client
-     */
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            // X-Forwarded-For có thể chứa nhiều IP, lấy IP đầu tiên (client thực)
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
-
@@ -0,0 +1,100 @@
+package com.linhnguyen.portfolio_api.controller;
+
+import com.linhnguyen.portfolio_api.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Phục vụ OpenAPI spec sinh sẵn lúc build (mvn -Popenapi, file classpath:openapi/openapi.json)
+ * thay cho springdoc quét controller lúc runtime.
+ *
+ * Spec không đổi trong suốt vòng đời process nên được đọc và nén gzip một lần khi khởi động,
+ * mỗi request chỉ ghi ra mảng byte có sẵn. Chỉ bật khi springdoc.api-docs.enabled=false (mọi profile trừ dev).
+ */
+@RestController
+@Slf4j
+@Hidden
+@ConditionalOnProperty(prefix = "springdoc.api-docs", name = "enabled", havingValue = "false")
+public class OpenApiSpecController {
+
+    private static final String SPEC_LOCATION = "openapi/openapi.json";
+
+    private byte[] spec;
+    private byte[] gzippedSpec;
+    private String eTag;
+
+    /**
+     * Đọc spec từ classpath và nén sẵn.
+     * Jar build không có -Popenapi sẽ không có spec: ứng dụng vẫn chạy, endpoint trả về 404.
+     */
+    @PostConstruct
+    public void loadSpec() {
+        ClassPathResource resource = new ClassPathResource(SPEC_LOCATION);
+        if (!resource.exists()) {
+            log.warn("Không tìm thấy {}, build với -Popenapi để đóng gói OpenAPI spec", SPEC_LOCATION);
+            return;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            spec = inputStream.readAllBytes();
+            gzippedSpec = gzip(spec);
+            eTag = "\"" + DigestUtils.md5DigestAsHex(spec) + "\"";
+            log.info("Đã nạp OpenAPI spec: {} bytes, {} bytes sau khi nén", spec.length, gzippedSpec.length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Không thể đọc " + SPEC_LOCATION, e);
+        }
+    }
+
+    /**
+     * Trả về OpenAPI spec, nén gzip nếu client chấp nhận.
+     *
+     * @param acceptEncoding Header Accept-Encoding
+     * @param ifNoneMatch Header If-None-Match, khớp ETag thì trả về 304
+     * @return OpenAPI spec dạng JSON
+     */
+    @GetMapping("${springdoc.api-docs.path:/v3/api-docs}")
+    public ResponseEntity<byte[]> getSpec(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (spec == null) {
+            throw new ResourceNotFoundException("OpenAPI spec chưa được đóng gói vào bản build này");
+        }
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzippedSpec);
+        }
+        return response.body(spec);
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        }
+        return output.toByteArray();
+    }
+}
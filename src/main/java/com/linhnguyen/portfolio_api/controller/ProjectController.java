@@ -1,7 +1,10 @@
 package com.linhnguyen.portfolio_api.controller;
 
 import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.response.ProjectFilterResponseDTO;
 import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectSearchResultDTO;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
 import com.linhnguyen.portfolio_api.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST Controller xử lý các API công khai liên quan đến Project.
@@ -28,6 +32,12 @@ public class ProjectController {
 
     private final ProjectService projectService;
 
+    /** Độ dài tối đa của chuỗi tìm kiếm */
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    /** Số kết quả tìm kiếm tối đa cho mỗi request */
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     /**
      * Lấy danh sách tất cả project.
      * Sắp xếp theo displayOrder tăng dần.
@@ -62,6 +72,79 @@ public class ProjectController {
         return ResponseEntity.ok(ApiResponse.success(projects));
     }
 
+    /**
+     * Lọc project theo công nghệ, category và status kèm facet counts.
+     * Được phục vụ hoàn toàn từ bitmap index in-memory, không truy vấn database.
+     *
+     * @param tech     Danh sách công nghệ (lặp lại tham số hoặc phân tách bởi dấu phẩy)
+     * @param category Danh sách category (kết hợp OR)
+     * @param status   Danh sách status (kết hợp OR)
+     * @param match    Cách kết hợp các công nghệ: AND (mặc định) hoặc OR
+     * @return Danh sách project khớp điều kiện và facet counts
+     */
+    @GetMapping("/filter")
+    @Operation(summary = "Lọc projects theo công nghệ", description = "Lọc project theo technology (AND/OR), category và status. Trả về kèm số lượng project theo từng facet.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lọc thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Giá trị match không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<ProjectFilterResponseDTO>> filterProjects(
+            @Parameter(description = "Công nghệ cần lọc", example = "Spring Boot,PostgreSQL")
+            @RequestParam(required = false) List<String> tech,
+            @Parameter(description = "Category cần lọc", example = "Backend")
+            @RequestParam(required = false) List<String> category,
+            @Parameter(description = "Status cần lọc", example = "completed")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Cách kết hợp các công nghệ (AND, OR)", example = "AND")
+            @RequestParam(defaultValue = "AND") String match) {
+        log.info("Request lọc project - tech: {}, category: {}, status: {}, match: {}", tech, category, status, match);
+
+        boolean matchAll;
+        if ("AND".equalsIgnoreCase(match)) {
+            matchAll = true;
+        } else if ("OR".equalsIgnoreCase(match)) {
+            matchAll = false;
+        } else {
+            throw new BusinessException("Giá trị match không hợp lệ: " + match + ". Chỉ chấp nhận AND hoặc OR");
+        }
+
+        ProjectFilterResponseDTO result = projectService.filterProjects(tech, category, status, matchAll);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    /**
+     * Tìm kiếm full-text project theo từ khóa.
+     * Tìm trên title, mô tả ngắn và nội dung mô tả chi tiết, sắp xếp theo độ liên quan.
+     *
+     * @param q     Chuỗi tìm kiếm (hỗ trợ cú pháp websearch: "cụm từ", OR, -loại trừ)
+     * @param limit Số kết quả tối đa (1-50)
+     * @return Danh sách kết quả kèm snippet đã highlight
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Tìm kiếm projects", description = "Tìm kiếm full-text trên title, mô tả ngắn và mô tả chi tiết. Kết quả sắp xếp theo độ liên quan, kèm đoạn trích highlight.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Tìm kiếm thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Từ khóa tìm kiếm không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<List<ProjectSearchResultDTO>>> searchProjects(
+            @Parameter(description = "Từ khóa tìm kiếm", example = "spring boot", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Số kết quả tối đa (1-50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        // Chuẩn hóa query để các biến thể hoa/thường, khoảng trắng dùng chung cache entry
+        String query = q.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (query.isEmpty() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BusinessException("Từ khóa tìm kiếm phải từ 1-" + MAX_SEARCH_QUERY_LENGTH + " ký tự");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BusinessException("limit phải nằm trong khoảng 1-" + MAX_SEARCH_LIMIT);
+        }
+
+        log.info("Request tìm kiếm project với query: '{}'", query);
+        List<ProjectSearchResultDTO> results = projectService.searchProjects(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
     /**
      * Lấy danh sách project theo category.
      *
@@ -0,0 +1,62 @@
+package com.linhnguyen.portfolio_api.controller;
+
+import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.response.SuggestionDTO;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import com.linhnguyen.portfolio_api.service.SuggestionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller cung cấp gợi ý autocomplete cho ô tìm kiếm.
+ * Gợi ý được phục vụ hoàn toàn từ index in-memory, không truy vấn database.
+ */
+@RestController
+@RequestMapping("/v1/suggest")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Suggest", description = "API gợi ý autocomplete cho ô tìm kiếm")
+public class SuggestController {
+
+    private final SuggestionIndex suggestionIndex;
+
+    /** Số gợi ý tối đa cho mỗi request */
+    private static final int MAX_SUGGEST_LIMIT = 20;
+
+    /**
+     * Lấy gợi ý cho từ khóa đang gõ.
+     * Hỗ trợ khớp prefix, khớp từ giữa cụm và chịu lỗi gõ sai chính tả.
+     *
+     * @param q     Từ khóa đang gõ
+     * @param limit Số gợi ý tối đa (1-20)
+     * @return Danh sách gợi ý đã xếp hạng
+     */
+    @GetMapping
+    @Operation(summary = "Gợi ý autocomplete", description = "Gợi ý từ title project, công nghệ, category và skill. Chịu lỗi gõ sai chính tả, không phân biệt dấu tiếng Việt.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lấy gợi ý thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "limit không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<List<SuggestionDTO>>> suggest(
+            @Parameter(description = "Từ khóa đang gõ", example = "sprin", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Số gợi ý tối đa (1-20)", example = "8")
+            @RequestParam(defaultValue = "8") int limit) {
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            throw new BusinessException("limit phải nằm trong khoảng 1-" + MAX_SUGGEST_LIMIT);
+        }
+        // Không log mỗi request: endpoint được gọi theo từng phím gõ
+        return ResponseEntity.ok(ApiResponse.success(suggestionIndex.suggest(q, limit)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.linhnguyen.portfolio_api.controller.admin;
+
+import com.linhnguyen.portfolio_api.async.ExecutorMonitor;
+import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.response.ExecutorStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller cung cấp thông tin vận hành (executor, hàng đợi) dành cho Admin.
+ */
+@RestController
+@RequestMapping("/v1/admin/monitoring")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin - Monitoring", description = "API theo dõi vận hành dành cho Admin (Yêu cầu xác thực)")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminMonitoringController {
+
+    private final ExecutorMonitor executorMonitor;
+
+    /**
+     * Lấy thống kê các executor chạy tác vụ nền.
+     *
+     * @return Danh sách thống kê executor
+     */
+    @GetMapping("/executors")
+    @Operation(summary = "Thống kê executor", description = "Số thread, độ sâu hàng đợi và số task bị từ chối của từng executor")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lấy thống kê thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<List<ExecutorStatsDTO>>> getExecutorStats() {
+        log.info("[ADMIN] Request thống kê executor");
+        return ResponseEntity.ok(ApiResponse.success(executorMonitor.getStats()));
+    }
+}
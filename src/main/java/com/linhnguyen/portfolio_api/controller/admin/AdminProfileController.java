@@ -4,13 +4,16 @@ import com.linhnguyen.portfolio_api.common.ApiResponse;
 import com.linhnguyen.portfolio_api.dto.request.ProfileUpdateDTO;
 import com.linhnguyen.portfolio_api.dto.response.ProfileResponseDTO;
 import com.linhnguyen.portfolio_api.service.ProfileService;
+import com.linhnguyen.portfolio_api.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,6 +36,7 @@ public class AdminProfileController {
 
     /**
      * Lấy thông tin profile hiện tại.
+     * Trả kèm ETag (version) để dùng làm If-Match khi cập nhật.
      *
      * @return Thông tin profile
      */
@@ -46,28 +50,37 @@ public class AdminProfileController {
     public ResponseEntity<ApiResponse<ProfileResponseDTO>> getProfile() {
         log.info("[ADMIN] Request lấy thông tin profile");
         ProfileResponseDTO profile = profileService.getOwnerProfile();
-        return ResponseEntity.ok(ApiResponse.success(profile));
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(profile.getVersion()))
+                .body(ApiResponse.success(profile));
     }
 
     /**
      * Cập nhật thông tin profile.
      * Chỉ Admin mới có quyền cập nhật.
+     * Gửi kèm If-Match (ETag nhận được khi đọc) để tránh ghi đè thay đổi của tab/phiên khác.
      *
+     * @param ifMatch Header If-Match (tùy chọn)
      * @param request DTO chứa thông tin cập nhật
-     * @return Thông tin profile sau khi cập nhật
+     * @return Thông tin profile sau khi cập nhật, kèm ETag mới
      */
     @PutMapping
-    @Operation(summary = "Cập nhật profile", description = "Admin cập nhật thông tin profile")
+    @Operation(summary = "Cập nhật profile", description = "Admin cập nhật thông tin profile. Hỗ trợ If-Match để kiểm tra version.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cập nhật profile thành công"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Profile đã bị thay đổi (If-Match không khớp)")
     })
     public ResponseEntity<ApiResponse<ProfileResponseDTO>> updateProfile(
+            @Parameter(description = "ETag (version) đã đọc; bản ghi đã bị sửa sau đó thì trả về 412", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProfileUpdateDTO request) {
         log.info("[ADMIN] Request cập nhật profile");
-        ProfileResponseDTO profile = profileService.updateOwnerProfile(request);
-        return ResponseEntity.ok(ApiResponse.success("Cập nhật profile thành công", profile));
+        ProfileResponseDTO profile = profileService.updateOwnerProfile(request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(profile.getVersion()))
+                .body(ApiResponse.success("Cập nhật profile thành công", profile));
     }
 
     /**
@@ -87,5 +100,27 @@ public class AdminProfileController {
         profileService.refreshProfileCache();
         return ResponseEntity.ok(ApiResponse.successMessage("Đã xóa toàn bộ cache profile"));
     }
-}
 
+    /**
+     * Khôi phục profile đã xóa mềm (kể cả khi đã bị chuyển sang archive).
+     *
+     * @param id ID của profile cần khôi phục
+     * @return Thông tin profile sau khi khôi phục, kèm ETag mới
+     */
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Khôi phục profile", description = "Admin khôi phục profile đã xóa mềm theo ID, kể cả profile đã được archive")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Khôi phục profile thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không có profile đã xóa với ID này")
+    })
+    public ResponseEntity<ApiResponse<ProfileResponseDTO>> restoreProfile(
+            @Parameter(description = "ID của profile", example = "1", required = true)
+            @PathVariable Long id) {
+        log.info("[ADMIN] Request khôi phục profile với ID: {}", id);
+        ProfileResponseDTO profile = profileService.restoreProfile(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(profile.getVersion()))
+                .body(ApiResponse.success("Khôi phục profile thành công", profile));
+    }
+}
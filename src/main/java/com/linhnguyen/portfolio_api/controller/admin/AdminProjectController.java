@@ -5,6 +5,7 @@ import com.linhnguyen.portfolio_api.dto.request.ProjectCreateDTO;
 import com.linhnguyen.portfolio_api.dto.request.ProjectUpdateDTO;
 import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
 import com.linhnguyen.portfolio_api.service.ProjectService;
+import com.linhnguyen.portfolio_api.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -57,26 +59,34 @@ public class AdminProjectController {
     /**
      * Cập nhật thông tin project.
      * Chỉ Admin mới có quyền cập nhật thông tin project.
+     * Gửi kèm If-Match (ETag nhận được khi đọc) để tránh ghi đè thay đổi của tab/phiên khác.
      *
      * @param id      ID của project cần cập nhật
+     * @param ifMatch Header If-Match (tùy chọn)
      * @param request DTO chứa thông tin cập nhật
-     * @return Thông tin project sau khi cập nhật
+     * @return Thông tin project sau khi cập nhật, kèm ETag mới
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Cập nhật project", description = "Admin cập nhật thông tin project theo ID")
+    @Operation(summary = "Cập nhật project", description = "Admin cập nhật thông tin project theo ID. Hỗ trợ If-Match để kiểm tra version.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cập nhật project thành công"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không tìm thấy project")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không tìm thấy project"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Tiêu đề đã tồn tại"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Project đã bị thay đổi (If-Match không khớp)")
     })
     public ResponseEntity<ApiResponse<ProjectResponseDTO>> updateProject(
             @Parameter(description = "ID của project", example = "1", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag (version) đã đọc; bản ghi đã bị sửa sau đó thì trả về 412", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProjectUpdateDTO request) {
         log.info("[ADMIN] Request cập nhật project với ID: {}", id);
-        ProjectResponseDTO project = projectService.updateProject(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Cập nhật project thành công", project));
+        ProjectResponseDTO project = projectService.updateProject(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(project.getVersion()))
+                .body(ApiResponse.success("Cập nhật project thành công", project));
     }
 
     /**
@@ -100,5 +110,28 @@ public class AdminProjectController {
         projectService.deleteProject(id);
         return ResponseEntity.ok(ApiResponse.successMessage("Xóa project thành công"));
     }
-}
 
+    /**
+     * Khôi phục project đã xóa mềm (kể cả khi đã bị chuyển sang archive).
+     *
+     * @param id ID của project cần khôi phục
+     * @return Thông tin project sau khi khôi phục, kèm ETag mới
+     */
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Khôi phục project", description = "Admin khôi phục project đã xóa mềm theo ID, kể cả project đã được archive")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Khôi phục project thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không có project đã xóa với ID này"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Tiêu đề đã được project khác sử dụng")
+    })
+    public ResponseEntity<ApiResponse<ProjectResponseDTO>> restoreProject(
+            @Parameter(description = "ID của project", example = "1", required = true)
+            @PathVariable Long id) {
+        log.info("[ADMIN] Request khôi phục project với ID: {}", id);
+        ProjectResponseDTO project = projectService.restoreProject(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(project.getVersion()))
+                .body(ApiResponse.success("Khôi phục project thành công", project));
+    }
+}
@@ -5,6 +5,7 @@ import com.linhnguyen.portfolio_api.dto.request.SkillCreateDTO;
 import com.linhnguyen.portfolio_api.dto.request.SkillUpdateDTO;
 import com.linhnguyen.portfolio_api.dto.response.SkillResponseDTO;
 import com.linhnguyen.portfolio_api.service.SkillService;
+import com.linhnguyen.portfolio_api.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -57,26 +59,34 @@ public class AdminSkillController {
     /**
      * Cập nhật thông tin skill.
      * Chỉ Admin mới có quyền cập nhật thông tin skill.
+     * Gửi kèm If-Match (ETag nhận được khi đọc) để tránh ghi đè thay đổi của tab/phiên khác.
      *
      * @param id      ID của skill cần cập nhật
+     * @param ifMatch Header If-Match (tùy chọn)
      * @param request DTO chứa thông tin cập nhật
-     * @return Thông tin skill sau khi cập nhật
+     * @return Thông tin skill sau khi cập nhật, kèm ETag mới
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Cập nhật skill", description = "Admin cập nhật thông tin skill theo ID")
+    @Operation(summary = "Cập nhật skill", description = "Admin cập nhật thông tin skill theo ID. Hỗ trợ If-Match để kiểm tra version.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Cập nhật skill thành công"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không tìm thấy skill")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không tìm thấy skill"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Tên skill đã tồn tại"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "412", description = "Skill đã bị thay đổi (If-Match không khớp)")
     })
     public ResponseEntity<ApiResponse<SkillResponseDTO>> updateSkill(
             @Parameter(description = "ID của skill", example = "1", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag (version) đã đọc; bản ghi đã bị sửa sau đó thì trả về 412", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody SkillUpdateDTO request) {
         log.info("[ADMIN] Request cập nhật skill với ID: {}", id);
-        SkillResponseDTO skill = skillService.updateSkill(id, request);
-        return ResponseEntity.ok(ApiResponse.success("Cập nhật skill thành công", skill));
+        SkillResponseDTO skill = skillService.updateSkill(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(skill.getVersion()))
+                .body(ApiResponse.success("Cập nhật skill thành công", skill));
     }
 
     /**
@@ -100,5 +110,28 @@ public class AdminSkillController {
         skillService.deleteSkill(id);
         return ResponseEntity.ok(ApiResponse.successMessage("Xóa skill thành công"));
     }
-}
 
+    /**
+     * Khôi phục skill đã xóa mềm (kể cả khi đã bị chuyển sang archive).
+     *
+     * @param id ID của skill cần khôi phục
+     * @return Thông tin skill sau khi khôi phục, kèm ETag mới
+     */
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Khôi phục skill", description = "Admin khôi phục skill đã xóa mềm theo ID, kể cả skill đã được archive")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Khôi phục skill thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Không có skill đã xóa với ID này"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Tên đã được skill khác sử dụng")
+    })
+    public ResponseEntity<ApiResponse<SkillResponseDTO>> restoreSkill(
+            @Parameter(description = "ID của skill", example = "1", required = true)
+            @PathVariable Long id) {
+        log.info("[ADMIN] Request khôi phục skill với ID: {}", id);
+        SkillResponseDTO skill = skillService.restoreSkill(id);
+        return ResponseEntity.ok()
+                .eTag(ETags.fromVersion(skill.getVersion()))
+                .body(ApiResponse.success("Khôi phục skill thành công", skill));
+    }
+}
@@ -0,0 +1,46 @@
+package com.linhnguyen.portfolio_api.controller.admin;
+
+import com.linhnguyen.portfolio_api.common.ApiResponse;
+import com.linhnguyen.portfolio_api.dto.response.AdminStatsDTO;
+import com.linhnguyen.portfolio_api.service.AdminStatsCounters;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller cung cấp thống kê tổng quan cho dashboard Admin.
+ */
+@RestController
+@RequestMapping("/v1/admin/stats")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Admin - Stats", description = "API thống kê dashboard dành cho Admin (Yêu cầu xác thực)")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminStatsController {
+
+    private final AdminStatsCounters adminStatsCounters;
+
+    /**
+     * Lấy thống kê tổng quan: tin nhắn, project theo category / status, skill theo category.
+     * Đọc từ bộ đếm in-memory, không truy vấn database.
+     *
+     * @return Thống kê tổng quan
+     */
+    @GetMapping
+    @Operation(summary = "Thống kê dashboard", description = "Số tin nhắn (chưa đọc), project theo category / status, skill theo category")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lấy thống kê thành công"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Chưa xác thực hoặc token không hợp lệ")
+    })
+    public ResponseEntity<ApiResponse<AdminStatsDTO>> getStats() {
+        log.info("[ADMIN] Request thống kê dashboard");
+        return ResponseEntity.ok(ApiResponse.success(adminStatsCounters.getStats()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.linhnguyen.portfolio_api.datasource;
+
+import com.linhnguyen.portfolio_api.event.ProfileChangedEvent;
+import com.linhnguyen.portfolio_api.event.ProjectChangedEvent;
+import com.linhnguyen.portfolio_api.event.SkillChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Dựng write fence toàn cục khi dữ liệu được cache public (project, skill, profile) thay đổi.
+ *
+ * Chạy sau khi transaction commit và trước các listener AFTER_COMMIT khác (HIGHEST_PRECEDENCE),
+ * để các index in-memory rebuild ngay sau đó cũng đọc từ primary thay vì replica có thể chưa bắt kịp.
+ */
+public class PublicDataWriteFence {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public PublicDataWriteFence(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        readYourWritesTracker.raiseWriteFence();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        readYourWritesTracker.raiseWriteFence();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        readYourWritesTracker.raiseWriteFence();
+    }
+}
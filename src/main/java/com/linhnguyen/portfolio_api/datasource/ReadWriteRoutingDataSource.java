@@ -0,0 +1,45 @@
+package com.linhnguyen.portfolio_api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource định tuyến theo loại transaction:
+ * - Transaction read-only -> replica đang khỏe (round-robin), trừ khi cần read-your-writes
+ * - Còn lại (ghi, không có transaction, migration) -> primary
+ *
+ * Phải được bọc trong LazyConnectionDataSourceProxy: connection thật chỉ được lấy ở câu lệnh đầu tiên,
+ * khi cờ read-only của transaction đã được thiết lập.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key của primary */
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                // Chỉ mở read-your-writes cho user đang ghi; write fence toàn cục do PublicDataWriteFence dựng
+                readYourWritesTracker.recordWrite();
+            }
+            return PRIMARY;
+        }
+
+        if (readYourWritesTracker.requiresPrimary()) {
+            return PRIMARY;
+        }
+
+        String replica = replicaLagMonitor.selectReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+}
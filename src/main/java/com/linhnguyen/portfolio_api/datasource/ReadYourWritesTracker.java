@@ -0,0 +1,81 @@
+package com.linhnguyen.portfolio_api.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Ghi nhận thời điểm ghi gần nhất để quyết định read nào bắt buộc đi primary.
+ *
+ * - Theo user: user đã xác thực vừa ghi thì đọc từ primary trong read-your-writes window.
+ * - Toàn cục: sau khi dữ liệu được cache public (project, skill, profile) thay đổi,
+ *   tất cả read đi primary trong write fence. Ghi của job nền (email outbox, bộ đếm thống kê...)
+ *   không dựng fence, nếu không fence gần như luôn bật và read không bao giờ tới replica.
+ */
+public class ReadYourWritesTracker {
+
+    /** Số user tối đa được theo dõi (thực tế chỉ có vài admin) */
+    private static final int MAX_TRACKED_PRINCIPALS = 1000;
+
+    private final Cache<String, Long> lastWriteByPrincipal;
+    private final long writeFenceNanos;
+
+    private volatile long lastWriteNanos;
+    private volatile boolean hasWritten;
+
+    public ReadYourWritesTracker(Duration readYourWritesWindow, Duration writeFence) {
+        this.lastWriteByPrincipal = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(MAX_TRACKED_PRINCIPALS)
+                .build();
+        this.writeFenceNanos = writeFence.toNanos();
+    }
+
+    /**
+     * Ghi nhận một lần ghi của user hiện tại (nếu có); ghi không có user (job nền, request ẩn danh) bị bỏ qua.
+     */
+    public void recordWrite() {
+        String principal = currentPrincipal();
+        if (principal != null) {
+            lastWriteByPrincipal.put(principal, System.nanoTime());
+        }
+    }
+
+    /**
+     * Dựng write fence toàn cục, gọi sau khi dữ liệu được cache public đã commit (xem PublicDataWriteFence).
+     */
+    public void raiseWriteFence() {
+        lastWriteNanos = System.nanoTime();
+        hasWritten = true;
+    }
+
+    /**
+     * Kiểm tra read hiện tại có bắt buộc đi primary không.
+     *
+     * @return true nếu đang trong write fence hoặc user hiện tại vừa ghi
+     */
+    public boolean requiresPrimary() {
+        if (hasWritten && System.nanoTime() - lastWriteNanos < writeFenceNanos) {
+            return true;
+        }
+        String principal = currentPrincipal();
+        return principal != null && lastWriteByPrincipal.getIfPresent(principal) != null;
+    }
+
+    /**
+     * Lấy username của user đã xác thực trên thread hiện tại.
+     */
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,166 @@
+package com.linhnguyen.portfolio_api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Theo dõi độ trễ replication của các replica và chọn replica cho read.
+ *
+ * Độ trễ được đo định kỳ trên chính replica:
+ * - Đã replay hết WAL nhận được (receive LSN = replay LSN) -> trễ 0, kể cả khi primary không có ghi mới
+ * - Ngược lại -> now() - pg_last_xact_replay_timestamp()
+ *
+ * Replica trễ quá max-replica-lag hoặc không kết nối được sẽ bị loại, read chuyển về primary.
+ * Replica chưa đo lần nào được coi là chưa sẵn sàng.
+ *
+ * Monitor sở hữu connection pool của các replica và đóng chúng khi ứng dụng tắt.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Trả về độ trễ (giây). Trên server không phải standby, các hàm pg_last_* trả NULL -> coi như trễ 0.
+     */
+    private static final String REPLICATION_LAG_SQL = """
+            SELECT CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    /** Timeout (giây) cho câu truy vấn đo độ trễ */
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<ReplicaState> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicaDataSources, Duration maxReplicaLag) {
+        this.replicas = replicaDataSources.entrySet().stream()
+                .map(entry -> new ReplicaState(entry.getKey(), entry.getValue(), createJdbcTemplate(entry.getValue())))
+                .toList();
+        this.maxLagMillis = maxReplicaLag.toMillis();
+    }
+
+    private static JdbcTemplate createJdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+        return jdbcTemplate;
+    }
+
+    /**
+     * Đo lại độ trễ của tất cả replica.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        for (ReplicaState replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                Double lagSeconds = replica.jdbcTemplate.queryForObject(REPLICATION_LAG_SQL, Double.class);
+                replica.lagMillis = lagSeconds == null ? 0 : Math.round(lagSeconds * 1000);
+                replica.healthy = replica.lagMillis <= maxLagMillis;
+            } catch (Exception e) {
+                replica.lagMillis = -1;
+                replica.healthy = false;
+                if (wasHealthy) {
+                    log.warn("Không đo được độ trễ replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+
+            if (wasHealthy != replica.healthy) {
+                if (replica.healthy) {
+                    log.info("Replica {} sẵn sàng (trễ {} ms), nhận lại read", replica.name, replica.lagMillis);
+                } else {
+                    log.warn("Replica {} bị loại khỏi định tuyến (trễ {} ms, tối đa {} ms), read chuyển về primary",
+                            replica.name, replica.lagMillis, maxLagMillis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chọn một replica đang khỏe theo round-robin.
+     *
+     * @return Tên replica, hoặc null nếu không có replica nào dùng được
+     */
+    public String selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaState replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lấy DataSource của replica theo tên.
+     *
+     * @param name Tên replica
+     * @return DataSource của replica
+     */
+    public DataSource getDataSource(String name) {
+        return replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .findFirst()
+                .map(replica -> replica.dataSource)
+                .orElseThrow(() -> new IllegalArgumentException("Không có replica: " + name));
+    }
+
+    /**
+     * Độ trễ đo được gần nhất của từng replica (ms), -1 nếu lần đo gần nhất thất bại.
+     */
+    public Map<String, Long> getLagMillis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (ReplicaState replica : replicas) {
+            result.put(replica.name, replica.lagMillis);
+        }
+        return result;
+    }
+
+    /**
+     * Đóng connection pool của các replica.
+     */
+    public void close() {
+        for (ReplicaState replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Không đóng được pool của replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Trạng thái của một replica. Ghi bởi thread scheduler, đọc bởi thread request.
+     */
+    private static final class ReplicaState {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        private ReplicaState(String name, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+    }
+}
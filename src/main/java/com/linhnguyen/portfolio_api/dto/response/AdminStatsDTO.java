@@ -0,0 +1,44 @@
+package com.linhnguyen.portfolio_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO chứa thống kê tổng quan cho dashboard admin.
+ */
+@Getter
+@Builder
+@Schema(description = "Thống kê tổng quan cho dashboard admin")
+public class AdminStatsDTO {
+
+    @Schema(description = "Tổng số tin nhắn liên hệ", example = "42")
+    private long totalContactMessages;
+
+    @Schema(description = "Số tin nhắn chưa đọc", example = "3")
+    private long unreadContactMessages;
+
+    @Schema(description = "Tổng số project", example = "12")
+    private long totalProjects;
+
+    @Schema(description = "Số project nổi bật", example = "4")
+    private long featuredProjects;
+
+    @Schema(description = "Số project theo category", example = "{\"Backend\": 5, \"Fullstack\": 7}")
+    private Map<String, Long> projectsByCategory;
+
+    @Schema(description = "Số project theo trạng thái", example = "{\"completed\": 10, \"in_progress\": 2}")
+    private Map<String, Long> projectsByStatus;
+
+    @Schema(description = "Tổng số skill", example = "25")
+    private long totalSkills;
+
+    @Schema(description = "Số skill theo category", example = "{\"BACKEND\": 10, \"FRONTEND\": 8}")
+    private Map<String, Long> skillsByCategory;
+
+    @Schema(description = "Thời điểm đối soát (đếm lại toàn bộ) gần nhất trên node này", example = "2026-01-01T04:15:00")
+    private LocalDateTime lastReconciledAt;
+}
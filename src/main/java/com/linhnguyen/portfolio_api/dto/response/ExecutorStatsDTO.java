@@ -0,0 +1,53 @@
+package com.linhnguyen.portfolio_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO chứa thống kê của một executor chạy tác vụ nền.
+ */
+@Getter
+@Builder
+@Schema(description = "Thống kê executor chạy tác vụ nền")
+public class ExecutorStatsDTO {
+
+    @Schema(description = "Tên executor", example = "email")
+    private String name;
+
+    @Schema(description = "Cách xử lý khi executor đầy", example = "SPILL")
+    private String saturationPolicy;
+
+    @Schema(description = "Số thread core", example = "2")
+    private int corePoolSize;
+
+    @Schema(description = "Số thread tối đa", example = "4")
+    private int maxPoolSize;
+
+    @Schema(description = "Số thread hiện có", example = "2")
+    private int poolSize;
+
+    @Schema(description = "Số thread đang chạy task", example = "1")
+    private int activeThreads;
+
+    @Schema(description = "Số task đang chờ trong hàng đợi", example = "0")
+    private int queueSize;
+
+    @Schema(description = "Sức chứa hàng đợi", example = "100")
+    private int queueCapacity;
+
+    @Schema(description = "Số task đã hoàn thành", example = "120")
+    private long completedTasks;
+
+    @Schema(description = "Tổng số task bị từ chối do executor đầy", example = "0")
+    private long rejectedTasks;
+
+    @Schema(description = "Số task bị từ chối và chạy trên thread gọi", example = "0")
+    private long callerRunsTasks;
+
+    @Schema(description = "Số task bị bỏ", example = "0")
+    private long droppedTasks;
+
+    @Schema(description = "Số task được xả xuống database", example = "0")
+    private long spilledTasks;
+}
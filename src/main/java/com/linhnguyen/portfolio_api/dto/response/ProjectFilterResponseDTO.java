@@ -0,0 +1,36 @@
+package com.linhnguyen.portfolio_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO chứa kết quả lọc project theo facet (technology, category, status).
+ * Bao gồm danh sách project khớp điều kiện và số lượng project theo từng giá trị facet.
+ */
+@Getter
+@Builder
+@Schema(description = "Kết quả lọc project theo công nghệ, category và status kèm facet counts")
+public class ProjectFilterResponseDTO {
+
+    @Schema(description = "Danh sách project khớp điều kiện lọc, sắp xếp theo displayOrder")
+    private List<ProjectResponseDTO> projects;
+
+    @Schema(description = "Tổng số project khớp điều kiện lọc", example = "3")
+    private int total;
+
+    @Schema(description = "Cách kết hợp các công nghệ được chọn (AND hoặc OR)", example = "AND")
+    private String match;
+
+    @Schema(description = "Số project trong kết quả theo từng công nghệ", example = "{\"Java\": 3, \"PostgreSQL\": 2}")
+    private Map<String, Integer> technologyCounts;
+
+    @Schema(description = "Số project trong kết quả theo từng category", example = "{\"Backend\": 2, \"Fullstack\": 1}")
+    private Map<String, Integer> categoryCounts;
+
+    @Schema(description = "Số project trong kết quả theo từng status", example = "{\"completed\": 3}")
+    private Map<String, Integer> statusCounts;
+}
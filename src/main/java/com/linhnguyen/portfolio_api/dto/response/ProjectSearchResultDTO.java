@@ -0,0 +1,24 @@
+package com.linhnguyen.portfolio_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO chứa một kết quả tìm kiếm full-text project.
+ * Gồm thông tin project, điểm liên quan và đoạn trích đã highlight từ khóa.
+ */
+@Getter
+@Builder
+@Schema(description = "Kết quả tìm kiếm full-text project")
+public class ProjectSearchResultDTO {
+
+    @Schema(description = "Thông tin project")
+    private ProjectResponseDTO project;
+
+    @Schema(description = "Điểm liên quan (ts_rank), càng cao càng liên quan", example = "0.6079271")
+    private Double rank;
+
+    @Schema(description = "Đoạn trích có highlight từ khóa bằng thẻ <mark>", example = "RESTful API cho <mark>Portfolio</mark> cá nhân")
+    private String snippet;
+}
@@ -37,4 +37,7 @@ public class SkillResponseDTO {
 
     @Schema(description = "Thời điểm cập nhật gần nhất", example = "2025-01-11T15:45:00")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Phiên bản bản ghi, gửi lại qua header If-Match khi cập nhật", example = "3")
+    private Long version;
 }
@@ -0,0 +1,26 @@
+package com.linhnguyen.portfolio_api.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO chứa một gợi ý autocomplete cho ô tìm kiếm.
+ */
+@Getter
+@Builder
+@Schema(description = "Gợi ý autocomplete")
+public class SuggestionDTO {
+
+    @Schema(description = "Nội dung gợi ý hiển thị", example = "Spring Boot")
+    private String text;
+
+    @Schema(description = "Loại gợi ý", example = "TECHNOLOGY", allowableValues = {"PROJECT", "TECHNOLOGY", "CATEGORY", "SKILL"})
+    private String type;
+
+    @Schema(description = "ID của project (chỉ có khi type = PROJECT)", example = "1")
+    private Long projectId;
+
+    @Schema(description = "Số thao tác sửa (edit distance) so với từ khóa, 0 = khớp prefix chính xác", example = "0")
+    private int distance;
+}
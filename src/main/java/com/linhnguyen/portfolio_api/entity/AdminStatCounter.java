@@ -0,0 +1,40 @@
+package com.linhnguyen.portfolio_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity bộ đếm thống kê cho dashboard admin.
+ *
+ * Không kế thừa BaseEntity vì đây là dữ liệu hệ thống (không có người tạo, không xóa mềm).
+ */
+@Entity
+@Table(name = "admin_stat_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminStatCounter {
+
+    /**
+     * Tên bộ đếm
+     */
+    @Id
+    @Column(name = "counter_key", length = 200)
+    private String key;
+
+    /**
+     * Giá trị hiện tại
+     */
+    @Column(name = "counter_value", nullable = false)
+    private Long value;
+
+    /**
+     * Thời điểm cập nhật gần nhất
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
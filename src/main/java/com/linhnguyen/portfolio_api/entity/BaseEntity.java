@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
  * - createdBy: Người tạo bản ghi
  * - updatedBy: Người cập nhật gần nhất
  * - isDeleted: Cờ đánh dấu xóa mềm (soft delete)
+ * - version: Phiên bản bản ghi cho optimistic locking (tăng 1 mỗi lần cập nhật, dùng làm ETag)
  */
 @Getter
 @Setter
@@ -46,4 +47,8 @@ public abstract class BaseEntity {
 
     @Column(name = "is_deleted")
     private Boolean isDeleted = false;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -6,6 +6,10 @@ import lombok.*;
 /**
  * Entity lưu trữ các tin nhắn liên hệ từ nhà tuyển dụng.
  * Kế thừa BaseEntity để có đầy đủ audit fields (createdAt, updatedAt, etc.).
+ *
+ * Bảng được partition theo created_at, trong khi @Id chỉ là id: find / merge theo entity sẽ dò mọi partition.
+ * Vì vậy tin nhắn chỉ được insert qua entity; đọc và cập nhật sau đó đi qua query của
+ * {@link com.linhnguyen.portfolio_api.repository.ContactMessageRepository} kèm khoảng created_at.
  */
 @Entity
 @Table(name = "contact_messages")
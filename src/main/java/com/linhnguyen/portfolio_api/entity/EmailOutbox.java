@@ -0,0 +1,94 @@
+package com.linhnguyen.portfolio_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity outbox cho email thông báo tin nhắn liên hệ.
+ * Được ghi cùng transaction với ContactMessage, nên thông báo không bao giờ bị mất
+ * kể cả khi ứng dụng crash ngay sau khi trả response.
+ *
+ * Không kế thừa BaseEntity vì đây là dữ liệu hệ thống (không có người tạo, không xóa mềm).
+ */
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID tin nhắn liên hệ cần gửi thông báo
+     */
+    @Column(name = "contact_message_id", nullable = false)
+    private Long contactMessageId;
+
+    /**
+     * Thời điểm tạo tin nhắn (khóa partition của contact_messages), để đọc / cập nhật tin nhắn có partition pruning
+     */
+    @Column(name = "contact_message_created_at")
+    private LocalDateTime contactMessageCreatedAt;
+
+    /**
+     * Trạng thái xử lý
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /**
+     * Số lần đã thử gửi
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Thời điểm sớm nhất được thử gửi
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Thời điểm node claim row
+     */
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    /**
+     * Node đang xử lý row
+     */
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    /**
+     * Lỗi của lần gửi gần nhất
+     */
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    /**
+     * Thời điểm gửi thành công
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.linhnguyen.portfolio_api.entity;
+
+/**
+ * Trạng thái của một row trong email outbox.
+ */
+public enum OutboxStatus {
+
+    /** Đang chờ gửi (lần đầu hoặc chờ retry) */
+    PENDING,
+
+    /** Đã được một node claim và đang gửi */
+    PROCESSING,
+
+    /** Gửi thành công */
+    SENT,
+
+    /** Thất bại quá số lần cho phép, cần xử lý thủ công */
+    DEAD
+}
@@ -0,0 +1,41 @@
+package com.linhnguyen.portfolio_api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity token đã bị thu hồi (logout) trước khi hết hạn.
+ *
+ * Chỉ lưu digest SHA-256 của token, không lưu token gốc.
+ * Row bị xóa khi token hết hạn vì lúc đó token đã tự mất hiệu lực.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    /**
+     * Digest SHA-256 của token (hex)
+     */
+    @Id
+    @Column(name = "token_digest", length = 64)
+    private String tokenDigest;
+
+    /**
+     * Thời điểm hết hạn của token (claim exp)
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Thời điểm thu hồi
+     */
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
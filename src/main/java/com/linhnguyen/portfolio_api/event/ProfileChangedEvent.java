@@ -0,0 +1,9 @@
+package com.linhnguyen.portfolio_api.event;
+
+/**
+ * Event phát ra mỗi khi dữ liệu Profile thay đổi (cập nhật, xóa, khôi phục).
+ *
+ * @param profileId ID của profile bị thay đổi (null nếu là owner profile)
+ */
+public record ProfileChangedEvent(Long profileId) {
+}
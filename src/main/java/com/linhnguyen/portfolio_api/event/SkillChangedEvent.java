@@ -0,0 +1,10 @@
+package com.linhnguyen.portfolio_api.event;
+
+/**
+ * Event phát ra mỗi khi dữ liệu Skill thay đổi (tạo mới, cập nhật, xóa).
+ * Các index in-memory lắng nghe event này để rebuild sau khi transaction commit.
+ *
+ * @param skillId ID của skill bị thay đổi (null nếu thay đổi hàng loạt)
+ */
+public record SkillChangedEvent(Long skillId) {
+}
@@ -0,0 +1,12 @@
+package com.linhnguyen.portfolio_api.event;
+
+import java.util.Map;
+
+/**
+ * Event mang các delta cần cộng vào bộ đếm thống kê admin sau một lần ghi.
+ * Chỉ được áp dụng sau khi transaction commit, nên rollback không làm lệch bộ đếm.
+ *
+ * @param deltas Tên bộ đếm -> giá trị cộng thêm (có thể âm)
+ */
+public record StatCountersChangedEvent(Map<String, Long> deltas) {
+}
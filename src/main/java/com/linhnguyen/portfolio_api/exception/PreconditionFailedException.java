@@ -0,0 +1,33 @@
+package com.linhnguyen.portfolio_api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception được ném ra khi điều kiện If-Match không thỏa mãn
+ * (bản ghi đã bị người khác cập nhật sau khi client đọc).
+ * Trả về HTTP 412 Precondition Failed.
+ */
+public class PreconditionFailedException extends BusinessException {
+
+    /**
+     * Constructor với message tùy chỉnh.
+     *
+     * @param message Thông báo lỗi
+     */
+    public PreconditionFailedException(String message) {
+        super(message, HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED");
+    }
+
+    /**
+     * Constructor với tên resource và ID.
+     * Tự động tạo message dạng: "{resourceName} with id {id} has been modified by another request"
+     *
+     * @param resourceName Tên của resource (ví dụ: Profile, Project)
+     * @param id           ID của resource
+     */
+    public PreconditionFailedException(String resourceName, Long id) {
+        super(String.format("%s with id %d has been modified by another request", resourceName, id),
+              HttpStatus.PRECONDITION_FAILED,
+              "PRECONDITION_FAILED");
+    }
+}
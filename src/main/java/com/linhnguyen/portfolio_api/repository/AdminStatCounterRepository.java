@@ -0,0 +1,94 @@
+package com.linhnguyen.portfolio_api.repository;
+
+import com.linhnguyen.portfolio_api.entity.AdminStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository cho bảng admin_stat_counters.
+ */
+@Repository
+public interface AdminStatCounterRepository extends JpaRepository<AdminStatCounter, String> {
+
+    /**
+     * Cộng delta vào bộ đếm, tạo mới nếu chưa có (một câu lệnh, an toàn khi nhiều node cùng ghi).
+     *
+     * @param key       Tên bộ đếm
+     * @param delta     Giá trị cộng thêm (có thể âm)
+     * @param updatedAt Thời điểm cập nhật
+     * @return Số dòng bị ảnh hưởng
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO admin_stat_counters (counter_key, counter_value, updated_at)
+            VALUES (:key, :delta, :updatedAt)
+            ON CONFLICT (counter_key) DO UPDATE
+                SET counter_value = admin_stat_counters.counter_value + EXCLUDED.counter_value,
+                    updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int addDelta(@Param("key") String key,
+                 @Param("delta") long delta,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Thử lấy advisory lock trong phạm vi transaction hiện tại (không chờ).
+     *
+     * @param lockKey Khóa advisory
+     * @return true nếu lấy được lock
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Lấy advisory lock trong phạm vi transaction hiện tại, chờ nếu transaction khác đang giữ.
+     *
+     * @param lockKey Khóa advisory
+     * @return Luôn là true
+     */
+    @Query(value = "SELECT true FROM pg_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean advisoryXactLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Id của transaction hiện tại (cấp mới nếu transaction chưa ghi gì).
+     *
+     * @return xid8 của transaction, dạng số
+     */
+    @Query(value = "SELECT CAST(CAST(pg_current_xact_id() AS text) AS bigint)", nativeQuery = true)
+    long currentTransactionId();
+
+    /**
+     * Lưu snapshot của transaction hiện tại làm snapshot của lần đếm lại gần nhất.
+     * Transaction phải là REPEATABLE READ để snapshot này cũng là snapshot của các câu đếm.
+     *
+     * @param reconciledAt Thời điểm đếm lại
+     * @return Số dòng bị ảnh hưởng
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO admin_stat_reconciliation (id, snapshot, reconciled_at)
+            VALUES (1, pg_current_snapshot(), :reconciledAt)
+            ON CONFLICT (id) DO UPDATE
+                SET snapshot = EXCLUDED.snapshot,
+                    reconciled_at = EXCLUDED.reconciled_at
+            """, nativeQuery = true)
+    int saveRecountSnapshot(@Param("reconciledAt") LocalDateTime reconciledAt);
+
+    /**
+     * Transaction đã commit trước lần đếm lại gần nhất hay chưa (tức là đã được tính trong lần đếm đó).
+     *
+     * @param transactionId Id transaction từ {@link #currentTransactionId()}
+     * @return true nếu transaction nằm trong snapshot của lần đếm lại, false nếu chưa đếm lại lần nào
+     */
+    @Query(value = """
+            SELECT COALESCE((
+                SELECT pg_visible_in_snapshot(CAST(CAST(:transactionId AS text) AS xid8), r.snapshot)
+                FROM admin_stat_reconciliation r
+                WHERE r.id = 1), false)
+            """, nativeQuery = true)
+    boolean isCountedByLastRecount(@Param("transactionId") long transactionId);
+}
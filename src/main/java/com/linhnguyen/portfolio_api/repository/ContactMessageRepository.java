@@ -4,14 +4,21 @@ import com.linhnguyen.portfolio_api.entity.ContactMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository quản lý CRUD cho ContactMessage Entity.
+ *
+ * Bảng contact_messages được partition theo tháng trên created_at (V6). Truy vấn theo id nên kèm
+ * điều kiện created_at để PostgreSQL chỉ đọc partition liên quan, thay vì dò index của mọi partition.
  */
 @Repository
 public interface ContactMessageRepository extends JpaRepository<ContactMessage, Long> {
@@ -32,14 +39,34 @@ public interface ContactMessageRepository extends JpaRepository<ContactMessage,
      */
     Optional<ContactMessage> findByIdAndIsDeletedFalse(Long id);
 
+    /**
+     * Tìm các tin nhắn theo ID, giới hạn trong khoảng created_at để chỉ đọc các partition chứa chúng.
+     *
+     * @param ids  Danh sách ID tin nhắn
+     * @param from created_at nhỏ nhất trong các tin nhắn cần tìm
+     * @param to   created_at lớn nhất trong các tin nhắn cần tìm
+     * @return Các tin nhắn tìm thấy
+     */
+    List<ContactMessage> findByIdInAndCreatedAtBetween(Collection<Long> ids, LocalDateTime from, LocalDateTime to);
+
     /**
      * Đếm số tin nhắn chưa đọc.
+     * Không có điều kiện created_at: đây là số đếm trên toàn bộ partition còn gắn
+     * (partition quá hạn retention đã bị detach), chỉ dùng khi đối soát bộ đếm admin định kỳ.
      *
      * @return Số lượng tin nhắn chưa đọc
      */
     @Query("SELECT COUNT(c) FROM ContactMessage c WHERE c.isRead = false AND c.isDeleted = false")
     long countUnreadMessages();
 
+    /**
+     * Đếm số tin nhắn chưa bị xóa.
+     * Như {@link #countUnreadMessages()}, cố ý đếm trên mọi partition còn gắn.
+     *
+     * @return Số lượng tin nhắn
+     */
+    long countByIsDeletedFalse();
+
     /**
      * Tìm tất cả tin nhắn chưa đọc.
      *
@@ -59,5 +86,55 @@ public interface ContactMessageRepository extends JpaRepository<ContactMessage,
            "AND c.createdAt > :cutoffTime " +
            "AND c.isDeleted = false")
     boolean existsRecentMessageByEmail(String email, java.time.LocalDateTime cutoffTime);
-}
 
+    /**
+     * Đánh dấu email thông báo đã gửi thành công cho các tin nhắn.
+     * Khoảng created_at giới hạn câu UPDATE trong các partition chứa các tin nhắn này.
+     *
+     * @param ids  Danh sách ID tin nhắn
+     * @param from created_at nhỏ nhất trong các tin nhắn
+     * @param to   created_at lớn nhất trong các tin nhắn
+     * @return Số tin nhắn được cập nhật
+     */
+    @Modifying
+    @Query("UPDATE ContactMessage c SET c.emailSent = true " +
+           "WHERE c.id IN :ids AND c.createdAt BETWEEN :from AND :to")
+    int markEmailSent(@Param("ids") List<Long> ids,
+                      @Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to);
+
+    /**
+     * Chuyển tối đa :limit tin nhắn đã xóa mềm trước :cutoff sang bảng contact_messages_archive
+     * bằng một câu lệnh (DELETE ... RETURNING + INSERT), không đọc dữ liệu lên ứng dụng.
+     * SKIP LOCKED bỏ qua row đang bị transaction khác giữ (ví dụ đang được khôi phục).
+     *
+     * @param cutoff     Row xóa mềm (updated_at) trước thời điểm này được archive
+     * @param limit      Số row tối đa mỗi batch
+     * @param archivedAt Thời điểm archive
+     * @return Số row đã chuyển
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM contact_messages
+                WHERE (id, created_at) IN (
+                    SELECT id, created_at FROM contact_messages
+                    WHERE is_deleted = TRUE
+                      AND COALESCE(updated_at, created_at) < :cutoff
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, sender_name, sender_email, subject, message, is_read, email_sent, sender_ip,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO contact_messages_archive (id, sender_name, sender_email, subject, message, is_read, email_sent, sender_ip,
+                created_at, updated_at, created_by, updated_by, is_deleted, version, archived_at)
+            SELECT id, sender_name, sender_email, subject, message, is_read, email_sent, sender_ip,
+                   created_at, updated_at, created_by, updated_by, is_deleted, version, :archivedAt
+            FROM moved
+            """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff,
+                             @Param("limit") int limit,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,132 @@
+package com.linhnguyen.portfolio_api.repository;
+
+import com.linhnguyen.portfolio_api.entity.EmailOutbox;
+import com.linhnguyen.portfolio_api.entity.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository cho bảng email_outbox.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Lấy và khóa các row đến hạn gửi.
+     * SKIP LOCKED bỏ qua các row đang bị node khác khóa, nên nhiều node
+     * có thể claim song song mà không chờ nhau và không claim trùng.
+     * Phải gọi trong transaction; lock được giữ tới khi transaction kết thúc.
+     *
+     * @param now   Thời điểm hiện tại
+     * @param limit Số row tối đa
+     * @return Danh sách row đã bị khóa
+     */
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailOutbox> lockReadyBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Trả các row PROCESSING bị treo quá lâu (node chết khi đang gửi) về PENDING.
+     *
+     * @param cutoff Row bị claim trước thời điểm này được coi là treo
+     * @return Số row được giải phóng
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :pending, o.lockedAt = null, o.lockedBy = null " +
+            "WHERE o.status = :processing AND o.lockedAt < :cutoff")
+    int releaseStaleLocks(@Param("cutoff") LocalDateTime cutoff,
+                          @Param("pending") OutboxStatus pending,
+                          @Param("processing") OutboxStatus processing);
+
+    /**
+     * Đánh dấu các row đã gửi thành công.
+     * Chỉ cập nhật row vẫn do node này giữ: row đã bị releaseStaleLocks trả lại và node khác claim
+     * (lần gửi kéo dài quá lock-timeout) thuộc về node đó, không được ghi đè.
+     *
+     * @param ids    Danh sách ID outbox
+     * @param nodeId Node đã claim các row
+     * @param sentAt Thời điểm gửi
+     * @return Số row được cập nhật
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :sent, o.sentAt = :sentAt, o.lockedAt = null, o.lockedBy = null, " +
+            "o.lastError = null, o.updatedAt = :sentAt " +
+            "WHERE o.id IN :ids AND o.status = :processing AND o.lockedBy = :nodeId")
+    int markSent(@Param("ids") List<Long> ids,
+                 @Param("nodeId") String nodeId,
+                 @Param("sentAt") LocalDateTime sentAt,
+                 @Param("sent") OutboxStatus sent,
+                 @Param("processing") OutboxStatus processing);
+
+    /**
+     * Kết thúc một lần gửi thất bại: chuyển sang PENDING (hẹn lần sau) hoặc DEAD và nhả lock.
+     * Chỉ cập nhật row vẫn do node này giữ (xem {@link #markSent}).
+     *
+     * @param id            ID outbox
+     * @param nodeId        Node đã claim row
+     * @param status        PENDING hoặc DEAD
+     * @param nextAttemptAt Thời điểm thử lại
+     * @param error         Mô tả lỗi
+     * @param now           Thời điểm hiện tại
+     * @return 1 nếu cập nhật, 0 nếu row không còn thuộc node này
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error, " +
+            "o.lockedAt = null, o.lockedBy = null, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = :processing AND o.lockedBy = :nodeId")
+    int markFailed(@Param("id") Long id,
+                   @Param("nodeId") String nodeId,
+                   @Param("status") OutboxStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now,
+                   @Param("processing") OutboxStatus processing);
+
+    /**
+     * Trả một row đã claim nhưng chưa gửi về PENDING và hoàn lại lượt thử đã tính lúc claim.
+     * Chỉ cập nhật row vẫn do node này giữ (xem {@link #markSent}).
+     *
+     * @param id            ID outbox
+     * @param nodeId        Node đã claim row
+     * @param nextAttemptAt Thời điểm được claim lại
+     * @param now           Thời điểm hiện tại
+     * @return 1 nếu cập nhật, 0 nếu row không còn thuộc node này
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :pending, o.attempts = o.attempts - 1, o.nextAttemptAt = :nextAttemptAt, " +
+            "o.lockedAt = null, o.lockedBy = null, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.status = :processing AND o.lockedBy = :nodeId AND o.attempts > 0")
+    int releaseClaim(@Param("id") Long id,
+                     @Param("nodeId") String nodeId,
+                     @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("now") LocalDateTime now,
+                     @Param("pending") OutboxStatus pending,
+                     @Param("processing") OutboxStatus processing);
+
+    /**
+     * Đếm số row đang chờ và đã đến hạn gửi.
+     *
+     * @param status Trạng thái (PENDING)
+     * @param now    Thời điểm hiện tại
+     * @return Số row
+     */
+    long countByStatusAndNextAttemptAtLessThanEqual(OutboxStatus status, LocalDateTime now);
+
+    /**
+     * Đếm số row theo trạng thái.
+     *
+     * @param status Trạng thái cần đếm
+     * @return Số row
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -1,9 +1,14 @@
 package com.linhnguyen.portfolio_api.repository;
 
+import com.linhnguyen.portfolio_api.dto.request.ProfileUpdateDTO;
 import com.linhnguyen.portfolio_api.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,11 +43,148 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByIdAndIsDeletedFalse(Long id);
 
     /**
-     * Lấy profile đầu tiên chưa bị xóa.
+     * Lấy profile đầu tiên chưa bị xóa (ID nhỏ nhất).
      * Dùng cho Portfolio vì chỉ có 1 owner profile duy nhất.
      *
      * @return Optional chứa Profile nếu có
      */
-    Optional<Profile> findFirstByIsDeletedFalse();
-}
+    Optional<Profile> findFirstByIsDeletedFalseOrderByIdAsc();
+
+    /**
+     * Kiểm tra profile còn tồn tại (chưa bị xóa mềm) hay không.
+     * Chỉ dùng khi cập nhật có điều kiện thất bại, để phân biệt 404 và 412.
+     *
+     * @param id ID của profile
+     * @return true nếu profile tồn tại
+     */
+    boolean existsByIdAndIsDeletedFalse(Long id);
 
+    /**
+     * Cập nhật profile bằng một câu UPDATE duy nhất, chỉ ghi các trường có giá trị trong DTO.
+     * Nếu expectedVersion khác null, chỉ cập nhật khi version hiện tại khớp (optimistic locking).
+     *
+     * @param id              ID của profile, null = owner profile (profile chưa xóa có ID nhỏ nhất)
+     * @param dto             Dữ liệu cập nhật (trường null được giữ nguyên)
+     * @param expectedVersion Version client đã đọc (từ If-Match), null = không kiểm tra
+     * @param updatedAt       Thời điểm cập nhật
+     * @param updatedBy       Người cập nhật
+     * @return Số dòng được cập nhật (0 nếu không tồn tại hoặc version không khớp)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Profile p SET
+                p.fullName = COALESCE(:#{#dto.fullName}, p.fullName),
+                p.title = COALESCE(:#{#dto.title}, p.title),
+                p.bio = COALESCE(:#{#dto.bio}, p.bio),
+                p.professionalSummary = COALESCE(:#{#dto.professionalSummary}, p.professionalSummary),
+                p.experienceYears = COALESCE(:#{#dto.experienceYears}, p.experienceYears),
+                p.totalProjects = COALESCE(:#{#dto.totalProjects}, p.totalProjects),
+                p.educationSummary = COALESCE(:#{#dto.educationSummary}, p.educationSummary),
+                p.certSummary = COALESCE(:#{#dto.certSummary}, p.certSummary),
+                p.email = COALESCE(:#{#dto.email}, p.email),
+                p.phoneNumber = COALESCE(:#{#dto.phoneNumber}, p.phoneNumber),
+                p.githubUrl = COALESCE(:#{#dto.githubUrl}, p.githubUrl),
+                p.linkedinUrl = COALESCE(:#{#dto.linkedinUrl}, p.linkedinUrl),
+                p.avatarUrl = COALESCE(:#{#dto.avatarUrl}, p.avatarUrl),
+                p.updatedAt = :updatedAt,
+                p.updatedBy = :updatedBy,
+                p.version = p.version + 1
+            WHERE p.id = COALESCE(:id, (SELECT MIN(o.id) FROM Profile o WHERE o.isDeleted = false))
+              AND p.isDeleted = false
+              AND (:expectedVersion IS NULL OR p.version = :expectedVersion)
+            """)
+    int updateIfCurrent(@Param("id") Long id,
+                        @Param("dto") ProfileUpdateDTO dto,
+                        @Param("expectedVersion") Long expectedVersion,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển tối đa :limit profile đã xóa mềm trước :cutoff sang bảng profile_archive
+     * bằng một câu lệnh (DELETE ... RETURNING + INSERT), không đọc dữ liệu lên ứng dụng.
+     * SKIP LOCKED bỏ qua row đang bị transaction khác giữ (ví dụ đang được khôi phục).
+     *
+     * @param cutoff     Row xóa mềm (updated_at) trước thời điểm này được archive
+     * @param limit      Số row tối đa mỗi batch
+     * @param archivedAt Thời điểm archive
+     * @return Số row đã chuyển
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM profile
+                WHERE id IN (
+                    SELECT id FROM profile
+                    WHERE is_deleted = TRUE
+                      AND COALESCE(updated_at, created_at) < :cutoff
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                    education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO profile_archive (id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                created_at, updated_at, created_by, updated_by, is_deleted, version, archived_at)
+            SELECT id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                   education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                   created_at, updated_at, created_by, updated_by, is_deleted, version, :archivedAt
+            FROM moved
+            """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff,
+                             @Param("limit") int limit,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Khôi phục profile đã xóa mềm nhưng chưa bị archive.
+     *
+     * @param id        ID của profile
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có bản ghi đã xóa mềm với ID này)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Profile e SET
+                e.isDeleted = false,
+                e.updatedAt = :updatedAt,
+                e.updatedBy = :updatedBy,
+                e.version = e.version + 1
+            WHERE e.id = :id
+              AND e.isDeleted = true
+            """)
+    int restoreSoftDeleted(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển profile từ profile_archive trở lại bảng chính (giữ nguyên ID).
+     *
+     * @param id        ID của profile
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có trong archive)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            WITH restored AS (
+                DELETE FROM profile_archive
+                WHERE id = :id
+                RETURNING id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                    education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO profile (id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                created_at, updated_at, created_by, updated_by, is_deleted, version)
+            SELECT id, full_name, title, bio, professional_summary, experience_years, total_projects,
+                   education_summary, cert_summary, email, phone_number, github_url, linkedin_url, avatar_url,
+                   created_at, :updatedAt, created_by, :updatedBy, FALSE, version + 1
+            FROM restored
+            """, nativeQuery = true)
+    int restoreFromArchive(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+}
@@ -1,9 +1,14 @@
 package com.linhnguyen.portfolio_api.repository;
 
+import com.linhnguyen.portfolio_api.dto.request.ProjectUpdateDTO;
 import com.linhnguyen.portfolio_api.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,21 +60,221 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     Optional<Project> findByIdAndIsDeletedFalse(Long id);
 
     /**
-     * Kiểm tra xem dự án với tiêu đề đã tồn tại hay chưa.
-     * Dùng để validate khi tạo mới dự án, tránh trùng lặp.
+     * Kiểm tra dự án còn tồn tại (chưa bị xóa mềm) hay không.
+     * Chỉ dùng khi cập nhật có điều kiện thất bại, để phân biệt 404 và 412.
      *
-     * @param title Tiêu đề cần kiểm tra
-     * @return true nếu đã tồn tại, false nếu chưa
+     * @param id ID của dự án
+     * @return true nếu dự án tồn tại
      */
-    boolean existsByTitleAndIsDeletedFalse(String title);
+    boolean existsByIdAndIsDeletedFalse(Long id);
 
     /**
-     * Kiểm tra xem dự án với tiêu đề đã tồn tại hay chưa, loại trừ ID hiện tại.
-     * Dùng để validate khi cập nhật dự án.
+     * Cập nhật dự án bằng một câu UPDATE duy nhất, chỉ ghi các trường có giá trị trong DTO.
+     * Nếu expectedVersion khác null, chỉ cập nhật khi version hiện tại khớp (optimistic locking).
+     * Tiêu đề trùng được chặn bởi unique index uk_projects_title_active.
      *
-     * @param title Tiêu đề cần kiểm tra
-     * @param id    ID cần loại trừ
-     * @return true nếu đã tồn tại, false nếu chưa
+     * @param id              ID của dự án
+     * @param dto             Dữ liệu cập nhật (trường null được giữ nguyên)
+     * @param expectedVersion Version client đã đọc (từ If-Match), null = không kiểm tra
+     * @param updatedAt       Thời điểm cập nhật
+     * @param updatedBy       Người cập nhật
+     * @return Số dòng được cập nhật (0 nếu không tồn tại hoặc version không khớp)
      */
-    boolean existsByTitleAndIdNotAndIsDeletedFalse(String title, Long id);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Project p SET
+                p.title = COALESCE(:#{#dto.title}, p.title),
+                p.shortDescription = COALESCE(:#{#dto.shortDescription}, p.shortDescription),
+                p.fullDescription = COALESCE(:#{#dto.fullDescription}, p.fullDescription),
+                p.imageUrl = COALESCE(:#{#dto.imageUrl}, p.imageUrl),
+                p.demoUrl = COALESCE(:#{#dto.demoUrl}, p.demoUrl),
+                p.githubUrl = COALESCE(:#{#dto.githubUrl}, p.githubUrl),
+                p.reviewUrl = COALESCE(:#{#dto.reviewUrl}, p.reviewUrl),
+                p.videoUrl = COALESCE(:#{#dto.videoUrl}, p.videoUrl),
+                p.gallery = COALESCE(:#{#dto.gallery}, p.gallery),
+                p.technologies = COALESCE(:#{#dto.technologies}, p.technologies),
+                p.category = COALESCE(:#{#dto.category}, p.category),
+                p.isFeatured = COALESCE(:#{#dto.isFeatured}, p.isFeatured),
+                p.displayOrder = COALESCE(:#{#dto.displayOrder}, p.displayOrder),
+                p.status = COALESCE(:#{#dto.status}, p.status),
+                p.projectDate = COALESCE(:#{#dto.projectDate}, p.projectDate),
+                p.updatedAt = :updatedAt,
+                p.updatedBy = :updatedBy,
+                p.version = p.version + 1
+            WHERE p.id = :id
+              AND p.isDeleted = false
+              AND (:expectedVersion IS NULL OR p.version = :expectedVersion)
+            """)
+    int updateIfCurrent(@Param("id") Long id,
+                        @Param("dto") ProjectUpdateDTO dto,
+                        @Param("expectedVersion") Long expectedVersion,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển tối đa :limit dự án đã xóa mềm trước :cutoff sang bảng projects_archive
+     * bằng một câu lệnh (DELETE ... RETURNING + INSERT), không đọc dữ liệu lên ứng dụng.
+     * SKIP LOCKED bỏ qua row đang bị transaction khác giữ (ví dụ đang được khôi phục).
+     *
+     * @param cutoff     Row xóa mềm (updated_at) trước thời điểm này được archive
+     * @param limit      Số row tối đa mỗi batch
+     * @param archivedAt Thời điểm archive
+     * @return Số row đã chuyển
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM projects
+                WHERE id IN (
+                    SELECT id FROM projects
+                    WHERE is_deleted = TRUE
+                      AND COALESCE(updated_at, created_at) < :cutoff
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, title, short_description, full_description, image_url, demo_url, github_url,
+                    review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO projects_archive (id, title, short_description, full_description, image_url, demo_url, github_url,
+                review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                created_at, updated_at, created_by, updated_by, is_deleted, version, archived_at)
+            SELECT id, title, short_description, full_description, image_url, demo_url, github_url,
+                   review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                   created_at, updated_at, created_by, updated_by, is_deleted, version, :archivedAt
+            FROM moved
+            """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff,
+                             @Param("limit") int limit,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Khôi phục dự án đã xóa mềm nhưng chưa bị archive.
+     *
+     * @param id        ID của dự án
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có bản ghi đã xóa mềm với ID này)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Project e SET
+                e.isDeleted = false,
+                e.updatedAt = :updatedAt,
+                e.updatedBy = :updatedBy,
+                e.version = e.version + 1
+            WHERE e.id = :id
+              AND e.isDeleted = true
+            """)
+    int restoreSoftDeleted(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển dự án từ projects_archive trở lại bảng chính (giữ nguyên ID).
+     *
+     * @param id        ID của dự án
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có trong archive)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            WITH restored AS (
+                DELETE FROM projects_archive
+                WHERE id = :id
+                RETURNING id, title, short_description, full_description, image_url, demo_url, github_url,
+                    review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO projects (id, title, short_description, full_description, image_url, demo_url, github_url,
+                review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                created_at, updated_at, created_by, updated_by, is_deleted, version)
+            SELECT id, title, short_description, full_description, image_url, demo_url, github_url,
+                   review_url, video_url, gallery, technologies, category, is_featured, display_order, status, project_date,
+                   created_at, :updatedAt, created_by, :updatedBy, FALSE, version + 1
+            FROM restored
+            """, nativeQuery = true)
+    int restoreFromArchive(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+
+    /**
+     * Tìm kiếm full-text trên các project đang hoạt động.
+     * Sử dụng cột generated search_vector (GIN index), xếp hạng bằng ts_rank.
+     * Snippet highlight (ts_headline) chỉ được tính cho các kết quả nằm trong top :limit
+     * vì ts_headline tốn chi phí hơn nhiều so với ts_rank.
+     *
+     * @param query Chuỗi tìm kiếm theo cú pháp websearch (hỗ trợ "cụm từ", OR, -loại trừ)
+     * @param limit Số kết quả tối đa
+     * @return Danh sách kết quả gồm ID, điểm rank và snippet đã highlight
+     */
+    @Query(value = """
+            WITH q AS (
+                SELECT websearch_to_tsquery('simple', :query) AS query
+            ),
+            ranked AS (
+                SELECT p.id, p.title, p.short_description, p.display_order,
+                       ts_rank(p.search_vector, q.query) AS rank
+                FROM projects p, q
+                WHERE p.is_deleted = false
+                  AND p.search_vector @@ q.query
+                ORDER BY rank DESC, p.display_order ASC
+                LIMIT :limit
+            )
+            SELECT r.id AS id,
+                   CAST(r.rank AS double precision) AS rank,
+                   ts_headline('simple', coalesce(nullif(r.short_description, ''), r.title), q.query,
+                               'StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2') AS snippet
+            FROM ranked r, q
+            ORDER BY r.rank DESC, r.display_order ASC
+            """, nativeQuery = true)
+    List<ProjectSearchHit> searchByFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Đếm project đang hoạt động theo category, status và cờ nổi bật (dùng để đối soát bộ đếm thống kê).
+     *
+     * @return Số project theo từng tổ hợp category / status / featured
+     */
+    @Query("""
+            SELECT p.category AS category, p.status AS status, p.isFeatured AS featured, COUNT(p) AS total
+            FROM Project p
+            WHERE p.isDeleted = false
+            GROUP BY p.category, p.status, p.isFeatured
+            """)
+    List<ProjectFacetCount> countActiveByFacets();
+
+    /**
+     * Projection cho kết quả full-text search.
+     */
+    interface ProjectSearchHit {
+
+        /** ID của project */
+        Long getId();
+
+        /** Điểm ts_rank (càng cao càng liên quan) */
+        Double getRank();
+
+        /** Đoạn trích có highlight bằng thẻ mark */
+        String getSnippet();
+    }
+
+    /**
+     * Projection cho kết quả đếm project theo category / status / featured.
+     */
+    interface ProjectFacetCount {
+
+        /** Phân loại (có thể null) */
+        String getCategory();
+
+        /** Trạng thái (có thể null) */
+        String getStatus();
+
+        /** Có phải project nổi bật không (có thể null) */
+        Boolean getFeatured();
+
+        /** Số project */
+        Long getTotal();
+    }
 }
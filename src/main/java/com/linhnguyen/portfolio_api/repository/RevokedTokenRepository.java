@@ -0,0 +1,54 @@
+package com.linhnguyen.portfolio_api.repository;
+
+import com.linhnguyen.portfolio_api.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository cho bảng revoked_tokens.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Thu hồi token, bỏ qua nếu token đã được thu hồi trước đó.
+     *
+     * @param tokenDigest Digest của token
+     * @param expiresAt   Thời điểm hết hạn của token
+     * @param revokedAt   Thời điểm thu hồi
+     * @return Số dòng được thêm
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_digest, expires_at, revoked_at)
+            VALUES (:tokenDigest, :expiresAt, :revokedAt)
+            ON CONFLICT (token_digest) DO NOTHING
+            """, nativeQuery = true)
+    int revoke(@Param("tokenDigest") String tokenDigest,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Lấy các token bị thu hồi còn chưa hết hạn.
+     *
+     * @param now Thời điểm hiện tại
+     * @return Danh sách token bị thu hồi còn hiệu lực
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Xóa các token đã hết hạn (không cần denylist nữa).
+     *
+     * @param now Thời điểm hiện tại
+     * @return Số dòng bị xóa
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
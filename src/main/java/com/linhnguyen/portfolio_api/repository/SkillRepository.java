@@ -1,10 +1,15 @@
 package com.linhnguyen.portfolio_api.repository;
 
+import com.linhnguyen.portfolio_api.dto.request.SkillUpdateDTO;
 import com.linhnguyen.portfolio_api.entity.Skill;
 import com.linhnguyen.portfolio_api.entity.SkillCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,11 +53,146 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
     List<Skill> findByCategoryAndIsDeletedFalseOrderByPriorityAsc(SkillCategory category);
 
     /**
-     * Kiểm tra xem kỹ năng với tên đã tồn tại hay chưa.
-     * Dùng để validate khi tạo mới kỹ năng, tránh trùng lặp.
+     * Kiểm tra kỹ năng còn tồn tại (chưa bị xóa mềm) hay không.
+     * Chỉ dùng khi cập nhật có điều kiện thất bại, để phân biệt 404 và 412.
      *
-     * @param name Tên kỹ năng cần kiểm tra
-     * @return true nếu đã tồn tại, false nếu chưa
+     * @param id ID của kỹ năng
+     * @return true nếu kỹ năng tồn tại
      */
-    boolean existsByNameAndIsDeletedFalse(String name);
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
+    /**
+     * Cập nhật kỹ năng bằng một câu UPDATE duy nhất, chỉ ghi các trường có giá trị trong DTO.
+     * Nếu expectedVersion khác null, chỉ cập nhật khi version hiện tại khớp (optimistic locking).
+     * Tên trùng được chặn bởi unique index uk_skills_name_active.
+     *
+     * @param id              ID của kỹ năng
+     * @param dto             Dữ liệu cập nhật (trường null được giữ nguyên)
+     * @param expectedVersion Version client đã đọc (từ If-Match), null = không kiểm tra
+     * @param updatedAt       Thời điểm cập nhật
+     * @param updatedBy       Người cập nhật
+     * @return Số dòng được cập nhật (0 nếu không tồn tại hoặc version không khớp)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Skill s SET
+                s.name = COALESCE(:#{#dto.name}, s.name),
+                s.category = COALESCE(:#{#dto.category}, s.category),
+                s.level = COALESCE(:#{#dto.level}, s.level),
+                s.priority = COALESCE(:#{#dto.priority}, s.priority),
+                s.updatedAt = :updatedAt,
+                s.updatedBy = :updatedBy,
+                s.version = s.version + 1
+            WHERE s.id = :id
+              AND s.isDeleted = false
+              AND (:expectedVersion IS NULL OR s.version = :expectedVersion)
+            """)
+    int updateIfCurrent(@Param("id") Long id,
+                        @Param("dto") SkillUpdateDTO dto,
+                        @Param("expectedVersion") Long expectedVersion,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển tối đa :limit kỹ năng đã xóa mềm trước :cutoff sang bảng skills_archive
+     * bằng một câu lệnh (DELETE ... RETURNING + INSERT), không đọc dữ liệu lên ứng dụng.
+     * SKIP LOCKED bỏ qua row đang bị transaction khác giữ (ví dụ đang được khôi phục).
+     *
+     * @param cutoff     Row xóa mềm (updated_at) trước thời điểm này được archive
+     * @param limit      Số row tối đa mỗi batch
+     * @param archivedAt Thời điểm archive
+     * @return Số row đã chuyển
+     */
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM skills
+                WHERE id IN (
+                    SELECT id FROM skills
+                    WHERE is_deleted = TRUE
+                      AND COALESCE(updated_at, created_at) < :cutoff
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, name, category, level, priority,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO skills_archive (id, name, category, level, priority,
+                created_at, updated_at, created_by, updated_by, is_deleted, version, archived_at)
+            SELECT id, name, category, level, priority,
+                   created_at, updated_at, created_by, updated_by, is_deleted, version, :archivedAt
+            FROM moved
+            """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff,
+                             @Param("limit") int limit,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Khôi phục kỹ năng đã xóa mềm nhưng chưa bị archive.
+     *
+     * @param id        ID của kỹ năng
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có bản ghi đã xóa mềm với ID này)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Skill e SET
+                e.isDeleted = false,
+                e.updatedAt = :updatedAt,
+                e.updatedBy = :updatedBy,
+                e.version = e.version + 1
+            WHERE e.id = :id
+              AND e.isDeleted = true
+            """)
+    int restoreSoftDeleted(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+
+    /**
+     * Chuyển kỹ năng từ skills_archive trở lại bảng chính (giữ nguyên ID).
+     *
+     * @param id        ID của kỹ năng
+     * @param updatedAt Thời điểm khôi phục
+     * @param updatedBy Người khôi phục
+     * @return Số dòng được khôi phục (0 nếu không có trong archive)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            WITH restored AS (
+                DELETE FROM skills_archive
+                WHERE id = :id
+                RETURNING id, name, category, level, priority,
+                    created_at, updated_at, created_by, updated_by, is_deleted, version
+            )
+            INSERT INTO skills (id, name, category, level, priority,
+                created_at, updated_at, created_by, updated_by, is_deleted, version)
+            SELECT id, name, category, level, priority,
+                   created_at, :updatedAt, created_by, :updatedBy, FALSE, version + 1
+            FROM restored
+            """, nativeQuery = true)
+    int restoreFromArchive(@Param("id") Long id,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("updatedBy") String updatedBy);
+
+    /**
+     * Đếm skill đang hoạt động theo category (dùng để đối soát bộ đếm thống kê).
+     *
+     * @return Số skill theo từng category
+     */
+    @Query("SELECT s.category AS category, COUNT(s) AS total FROM Skill s WHERE s.isDeleted = false GROUP BY s.category")
+    List<SkillCategoryCount> countActiveByCategory();
+
+    /**
+     * Projection cho kết quả đếm skill theo category.
+     */
+    interface SkillCategoryCount {
+
+        /** Danh mục kỹ năng */
+        SkillCategory getCategory();
+
+        /** Số skill */
+        Long getTotal();
+    }
 }
@@ -0,0 +1,69 @@
+package com.linhnguyen.portfolio_api.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter tối giản cho digest SHA-256 của token.
+ *
+ * Digest đã là giá trị băm phân bố đều, nên các vị trí bit được suy ra trực tiếp từ hai nửa
+ * 64-bit đầu của digest (double hashing: h1 + i * h2), không cần băm thêm.
+ * Đọc và ghi không cần lock (bit được set bằng CAS).
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions Số phần tử dự kiến
+     * @param falsePositiveRate  Tỉ lệ dương tính giả mong muốn (0 < p < 1)
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64L, bits);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+    }
+
+    /**
+     * Thêm digest vào filter.
+     *
+     * @param hexDigest Digest SHA-256 dạng hex
+     */
+    void put(String hexDigest) {
+        long h1 = Long.parseUnsignedLong(hexDigest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hexDigest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    /**
+     * Kiểm tra digest có thể nằm trong filter.
+     *
+     * @param hexDigest Digest SHA-256 dạng hex
+     * @return false nếu chắc chắn không có; true nếu có thể có (cần kiểm tra tập chính xác)
+     */
+    boolean mightContain(String hexDigest) {
+        long h1 = Long.parseUnsignedLong(hexDigest, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(hexDigest, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,7 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * Filter xử lý JWT Authentication.
@@ -28,10 +29,12 @@ import java.util.Collections;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
 
     @Override
     protected void doFilterInternal(
@@ -43,24 +46,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Lấy JWT token từ request header
             String jwt = getJwtFromRequest(request);
 
-            // Nếu có token và token hợp lệ
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                // Lấy username từ token
-                String username = jwtTokenProvider.extractUsername(jwt);
-
-                // Tạo Authentication object với quyền ADMIN
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                username,
-                                null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Set Authentication vào SecurityContext
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set Authentication cho user: {}", username);
+            // Nếu có token: kiểm tra denylist, sau đó lấy từ cache hoặc xác thực chữ ký một lần
+            if (StringUtils.hasText(jwt)) {
+                String digest = TokenDigests.sha256Hex(jwt);
+                if (tokenDenylist.isRevoked(digest)) {
+                    log.debug("Token đã bị thu hồi, bỏ qua authentication");
+                } else {
+                    verifiedTokenCache.getOrVerify(digest, jwt).ifPresent(token -> authenticate(token, request));
+                }
             }
         } catch (Exception e) {
             log.error("Không thể set user authentication: {}", e.getMessage());
@@ -70,6 +63,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Set Authentication với quyền ADMIN vào SecurityContext cho token đã xác thực.
+     */
+    private void authenticate(VerifiedToken token, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(token.username(), null, ADMIN_AUTHORITIES);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.debug("Set Authentication cho user: {}", token.username());
+    }
+
     /**
      * Lấy JWT token từ Authorization header.
      * Format: "Bearer <token>"
@@ -89,7 +94,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Bỏ qua filter cho các endpoint không cần authenticate.
-     * Tối ưu performance bằng cách skip filter cho các public endpoints.
+     * GET công khai (profile, projects, skills, suggest) không tới đây vì đi qua chain riêng
+     * (xem SecurityConfig#publicReadFilterChain).
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -102,21 +108,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // Skip filter cho các endpoint hoàn toàn public
-        if (path.startsWith("/v1/auth/") ||
+        // (trong /v1/auth chỉ login là public, change-password và logout cần token)
+        if (path.equals("/v1/auth/login") ||
             path.startsWith("/v1/health") ||
             path.startsWith("/swagger-ui") ||
             path.startsWith("/v3/api-docs")) {
             return true;
         }
 
-        // Skip filter cho các GET request đến public portfolio APIs
-        if ("GET".equalsIgnoreCase(method) &&
-            (path.startsWith("/v1/profile") ||
-             path.startsWith("/v1/projects") ||
-             path.startsWith("/v1/skills"))) {
-            return true;
-        }
-
         return false;
     }
 }
@@ -2,6 +2,8 @@ package com.linhnguyen.portfolio_api.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -14,22 +16,32 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * Utility class để xử lý JWT Token.
- * Bao gồm: tạo token, validate token, và extract thông tin từ token.
+ * Bao gồm: tạo token và xác thực token.
  * Sử dụng thuật toán HS256 với secret key từ cấu hình.
+ *
+ * Signing key và parser được tạo một lần khi khởi động (parser của jjwt là immutable, thread-safe),
+ * mỗi request chỉ parse và kiểm tra chữ ký đúng một lần qua {@link #verify(String)}.
  */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    private final long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    public JwtTokenProvider(@Value("${application.security.jwt.secret-key}") String secretKey,
+                            @Value("${application.security.jwt.expiration}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = createSigningKey(secretKey);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
 
     /**
      * Tạo JWT Token cho username.
@@ -38,58 +50,32 @@ public class JwtTokenProvider {
      * @return JWT Token string
      */
     public String generateToken(String username) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpiration))
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Lấy username từ JWT Token.
+     * Xác thực token: parse, kiểm tra chữ ký và thời hạn trong một lần.
      *
      * @param token JWT Token
-     * @return Username được extract từ token
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    /**
-     * Lấy thời gian hết hạn từ JWT Token.
-     *
-     * @param token JWT Token
-     * @return Thời gian hết hạn
-     */
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    /**
-     * Trích xuất một claim cụ thể từ token.
-     *
-     * @param token          JWT Token
-     * @param claimsResolver Function để resolve claim
-     * @return Giá trị của claim
-     */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    /**
-     * Validate JWT Token.
-     * Kiểm tra token có hợp lệ và chưa hết hạn không.
-     *
-     * @param token    JWT Token
-     * @param username Username cần kiểm tra
-     * @return true nếu token hợp lệ
+     * @return Thông tin token đã xác thực, empty nếu token không hợp lệ hoặc đã hết hạn
      */
-    public boolean validateToken(String token, String username) {
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                log.error("JWT token thiếu subject hoặc expiration");
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant()));
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -98,52 +84,42 @@ public class JwtTokenProvider {
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("JWT validation failed: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
      * Validate token mà không cần username.
-     * Sử dụng cho filter để kiểm tra token có đúng format không.
      *
      * @param token JWT Token
-     * @return true nếu token hợp lệ về mặt cấu trúc và chưa hết hạn
+     * @return true nếu token hợp lệ về mặt chữ ký và chưa hết hạn
      */
     public boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     /**
-     * Kiểm tra token đã hết hạn chưa.
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Lấy tất cả claims từ token.
+     * Validate token và kiểm tra token thuộc về username.
+     *
+     * @param token    JWT Token
+     * @param username Username cần kiểm tra
+     * @return true nếu token hợp lệ và đúng username
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public boolean validateToken(String token, String username) {
+        return verify(token)
+                .map(verified -> verified.username().equals(username))
+                .orElse(false);
     }
 
     /**
      * Tạo SecretKey từ chuỗi secret đã cấu hình.
      * Sử dụng Base64 decode nếu key đã được encode, hoặc dùng trực tiếp nếu không.
      */
-    private SecretKey getSigningKey() {
+    private static SecretKey createSigningKey(String secretKey) {
         try {
             // Thử decode Base64 trước
             byte[] keyBytes = Decoders.BASE64.decode(secretKey);
@@ -154,4 +130,3 @@ public class JwtTokenProvider {
         }
     }
 }
-
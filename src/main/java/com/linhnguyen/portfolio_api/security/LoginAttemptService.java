@@ -0,0 +1,157 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linhnguyen.portfolio_api.config.LoginProtectionProperties;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Theo dõi đăng nhập sai theo email và theo IP client, khóa tạm thời với thời gian tăng theo cấp số nhân.
+ *
+ * Sau free-attempts lần sai liên tiếp, mỗi lần sai tiếp theo khóa key trong
+ * base-lockout * 2^(số lần vượt), tối đa max-lockout. Request bị khóa bị từ chối (429)
+ * trước khi đọc database hay chạy BCrypt, nên dò mật khẩu không tốn CPU.
+ * Đăng nhập thành công xóa bộ đếm của email và IP đó.
+ *
+ * Trạng thái nằm trong Caffeine cache giới hạn số key và tự hết hạn sau forget-after,
+ * nên bộ nhớ luôn bị chặn kể cả khi bị dò từ rất nhiều IP / email khác nhau.
+ */
+@Component
+@Slf4j
+public class LoginAttemptService {
+
+    /** Chặn số mũ để không tràn số khi bị dò rất lâu */
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private final LoginProtectionProperties properties;
+    private final Cache<String, Attempts> byEmail;
+    private final Cache<String, Attempts> byIp;
+
+    public LoginAttemptService(LoginProtectionProperties properties) {
+        this.properties = properties;
+        this.byEmail = newCache(properties);
+        this.byIp = newCache(properties);
+    }
+
+    /**
+     * Kiểm tra email và IP có đang bị khóa không.
+     *
+     * @param email    Email đăng nhập
+     * @param clientIp IP của client (có thể null)
+     * @throws BusinessException 429 nếu email hoặc IP đang bị khóa
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long waitNanos = Math.max(remainingLockout(byEmail, normalize(email), now),
+                remainingLockout(byIp, clientIp, now));
+        if (waitNanos > 0) {
+            log.warn("Login bị khóa tạm thời cho email {} / IP {}", email, clientIp);
+            throw new BusinessException(HttpStatus.TOO_MANY_REQUESTS,
+                    String.format("Đăng nhập sai quá nhiều lần. Vui lòng thử lại sau %d giây.", toSeconds(waitNanos)));
+        }
+    }
+
+    /**
+     * Ghi nhận một lần đăng nhập sai (kể cả email không tồn tại).
+     *
+     * @param email    Email đăng nhập
+     * @param clientIp IP của client (có thể null)
+     */
+    public void recordFailure(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        recordFailure(byEmail, normalize(email), properties.getEmailFreeAttempts(), now);
+        recordFailure(byIp, clientIp, properties.getIpFreeAttempts(), now);
+    }
+
+    /**
+     * Đăng nhập thành công: xóa bộ đếm sai của email và IP.
+     *
+     * @param email    Email đăng nhập
+     * @param clientIp IP của client (có thể null)
+     */
+    public void recordSuccess(String email, String clientIp) {
+        byEmail.invalidate(normalize(email));
+        if (clientIp != null) {
+            byIp.invalidate(clientIp);
+        }
+    }
+
+    private void recordFailure(Cache<String, Attempts> cache, String key, int freeAttempts, long now) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        long lockoutNanos = cache.get(key, k -> new Attempts())
+                .fail(now, freeAttempts, properties.getBaseLockout().toNanos(), properties.getMaxLockout().toNanos());
+        if (lockoutNanos > 0) {
+            log.warn("Khóa đăng nhập cho {} trong {} giây", key, toSeconds(lockoutNanos));
+        }
+    }
+
+    private static long remainingLockout(Cache<String, Attempts> cache, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Attempts attempts = cache.getIfPresent(key);
+        return attempts == null ? 0 : attempts.remainingLockout(now);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long nanos) {
+        // Làm tròn lên để không báo "0 giây"
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static Cache<String, Attempts> newCache(LoginProtectionProperties properties) {
+        return Caffeine.newBuilder()
+                .expireAfterAccess(properties.getForgetAfter())
+                .maximumSize(properties.getMaxTrackedKeys())
+                .build();
+    }
+
+    /**
+     * Số lần sai liên tiếp và thời điểm hết khóa của một key.
+     */
+    private static final class Attempts {
+
+        private int failures;
+        private long lockedUntilNanos;
+        private boolean locked;
+
+        synchronized long remainingLockout(long now) {
+            return locked && now - lockedUntilNanos < 0 ? lockedUntilNanos - now : 0;
+        }
+
+        /**
+         * @return Thời gian khóa mới (nano giây), 0 nếu chưa vượt số lần cho phép
+         */
+        synchronized long fail(long now, int freeAttempts, long baseLockoutNanos, long maxLockoutNanos) {
+            failures++;
+            int exceeded = failures - freeAttempts;
+            if (exceeded <= 0) {
+                return 0;
+            }
+            int exponent = Math.min(exceeded - 1, MAX_BACKOFF_EXPONENT);
+            long lockout = baseLockoutNanos > maxLockoutNanos >> exponent
+                    ? maxLockoutNanos
+                    : baseLockoutNanos << exponent;
+            locked = true;
+            lockedUntilNanos = now + lockout;
+            return lockout;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.linhnguyen.portfolio_api.config.LoginProtectionProperties;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Chạy BCrypt (matches / encode) trên executor riêng thay vì trên thread Tomcat.
+ *
+ * Executor passwordHash có số thread và hàng đợi cố định (xem app.async.password-hash),
+ * nên CPU dành cho hash mật khẩu bị chặn cứng ở max-pool-size core bất kể lượng request đăng nhập.
+ * Khi executor đầy, request bị từ chối ngay (503) thay vì xếp hàng chiếm thêm CPU.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                          LoginProtectionProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = properties.getVerifyTimeout().toMillis();
+    }
+
+    /**
+     * So khớp mật khẩu với hash BCrypt.
+     *
+     * @param rawPassword     Mật khẩu người dùng nhập
+     * @param encodedPassword Hash đã lưu
+     * @return true nếu khớp
+     * @throws BusinessException 503 nếu executor đầy hoặc quá thời gian chờ
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash mật khẩu mới.
+     *
+     * @param rawPassword Mật khẩu cần hash
+     * @return Hash BCrypt
+     * @throws BusinessException 503 nếu executor đầy hoặc quá thời gian chờ
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Executor hash mật khẩu đã đầy, từ chối request: {}", e.getMessage());
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Hash mật khẩu quá {} ms, từ chối request", timeoutMillis);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Lỗi khi hash mật khẩu", e.getCause());
+        }
+    }
+
+    private static BusinessException busy() {
+        return new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Hệ thống đang bận, vui lòng thử lại sau");
+    }
+}
@@ -0,0 +1,61 @@
+package com.linhnguyen.portfolio_api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Set;
+
+/**
+ * Bảng route đọc công khai: GET /v1/profile/**, /v1/projects/**, /v1/skills/**, /v1/suggest/**.
+ *
+ * Được tính sẵn thành một tập tên resource, nên việc chọn route chỉ là một lần cắt segment
+ * và một lần tra HashSet, không duyệt danh sách pattern.
+ * Path đã được StrictHttpFirewall của FilterChainProxy kiểm tra (không có "..", ";", ký tự mã hóa lạ)
+ * trước khi matcher được gọi.
+ */
+public final class PublicReadRoutes implements RequestMatcher {
+
+    /** Matcher dùng cho security chain đọc công khai */
+    public static final PublicReadRoutes MATCHER = new PublicReadRoutes();
+
+    private static final String API_PREFIX = "/v1/";
+
+    /** Resource ngay sau /v1/ được phép đọc công khai */
+    private static final Set<String> PUBLIC_READ_RESOURCES = Set.of("profile", "projects", "skills", "suggest");
+
+    private PublicReadRoutes() {
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return isPublicRead(request.getMethod(), request.getServletPath());
+    }
+
+    /**
+     * Kiểm tra request có phải đọc công khai.
+     *
+     * @param method      HTTP method
+     * @param servletPath Đường dẫn (không gồm context-path)
+     * @return true nếu là GET tới một resource công khai
+     */
+    public static boolean isPublicRead(String method, String servletPath) {
+        return "GET".equals(method) && isPublicReadPath(servletPath);
+    }
+
+    /**
+     * Kiểm tra đường dẫn thuộc một resource công khai (bất kể method).
+     *
+     * @param servletPath Đường dẫn (không gồm context-path)
+     * @return true nếu path là /v1/{resource} hoặc /v1/{resource}/... với resource công khai
+     */
+    public static boolean isPublicReadPath(String servletPath) {
+        if (servletPath == null || !servletPath.startsWith(API_PREFIX)) {
+            return false;
+        }
+        int end = servletPath.indexOf('/', API_PREFIX.length());
+        String resource = end < 0
+                ? servletPath.substring(API_PREFIX.length())
+                : servletPath.substring(API_PREFIX.length(), end);
+        return PUBLIC_READ_RESOURCES.contains(resource);
+    }
+}
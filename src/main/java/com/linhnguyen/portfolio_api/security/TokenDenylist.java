@@ -0,0 +1,139 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.linhnguyen.portfolio_api.config.JwtCacheProperties;
+import com.linhnguyen.portfolio_api.entity.RevokedToken;
+import com.linhnguyen.portfolio_api.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist token đã bị thu hồi (logout) trước khi hết hạn.
+ *
+ * - Kiểm tra O(1) không lock: Bloom filter loại gần như mọi token hợp lệ ngay lập tức,
+ *   chỉ khi filter báo "có thể có" mới tra tập chính xác (nên không bao giờ chặn nhầm token).
+ * - Token thu hồi được lưu vào bảng revoked_tokens và mỗi node đồng bộ định kỳ,
+ *   nên logout trên một node có hiệu lực trên mọi node.
+ * - Token đã hết hạn tự mất hiệu lực, nên được dọn khỏi bộ nhớ và database định kỳ;
+ *   Bloom filter được dựng lại từ tập còn lại để không đầy dần.
+ */
+@Component
+@Slf4j
+public class TokenDenylist {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtCacheProperties properties;
+
+    /** Tập chính xác: digest -> thời điểm hết hạn của token */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    /** Ghi (thêm / dựng lại filter) tuần tự qua lock này, đọc không cần lock */
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter bloomFilter;
+
+    public TokenDenylist(RevokedTokenRepository revokedTokenRepository, JwtCacheProperties properties) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = properties;
+        this.bloomFilter = newBloomFilter(0);
+    }
+
+    /**
+     * Kiểm tra token đã bị thu hồi.
+     *
+     * @param digest Digest của token (xem {@link TokenDigests})
+     * @return true nếu token đã bị thu hồi
+     */
+    public boolean isRevoked(String digest) {
+        return bloomFilter.mightContain(digest) && revoked.containsKey(digest);
+    }
+
+    /**
+     * Thu hồi token: lưu vào database và có hiệu lực ngay trên node hiện tại.
+     *
+     * @param digest    Digest của token
+     * @param expiresAt Thời điểm hết hạn của token
+     */
+    @Transactional
+    public void revoke(String digest, Instant expiresAt) {
+        revokedTokenRepository.revoke(digest, toLocal(expiresAt), LocalDateTime.now());
+        add(digest, expiresAt);
+        log.info("Đã thu hồi token (hết hạn lúc {})", expiresAt);
+    }
+
+    /**
+     * Nạp các token bị thu hồi từ database (gồm cả token do node khác thu hồi).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.denylist-sync-interval-ms:5000}")
+    public void sync() {
+        try {
+            for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+                if (!revoked.containsKey(token.getTokenDigest())) {
+                    add(token.getTokenDigest(), toInstant(token.getExpiresAt()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Không đồng bộ được denylist token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Dọn token đã hết hạn khỏi database và bộ nhớ, dựng lại Bloom filter.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.denylist-prune-interval-ms:600000}")
+    @Transactional
+    public void prune() {
+        Instant now = Instant.now();
+        synchronized (writeLock) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = newBloomFilter(revoked.size());
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+        }
+
+        int deleted = revokedTokenRepository.deleteExpired(toLocal(now));
+        if (deleted > 0) {
+            log.debug("Đã xóa {} token thu hồi hết hạn khỏi database", deleted);
+        }
+    }
+
+    /**
+     * Số token bị thu hồi đang giữ trong bộ nhớ.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private void add(String digest, Instant expiresAt) {
+        synchronized (writeLock) {
+            // Thêm vào tập chính xác trước, filter sau: không bao giờ có digest trong filter mà thiếu trong tập
+            if (revoked.putIfAbsent(digest, expiresAt) == null) {
+                bloomFilter.put(digest);
+            }
+        }
+    }
+
+    private BloomFilter newBloomFilter(int currentSize) {
+        // Dư gấp đôi số hiện có để filter không đầy trước lượt dọn kế tiếp
+        int capacity = Math.max(properties.getDenylistExpectedSize(), currentSize * 2);
+        return new BloomFilter(capacity, properties.getDenylistFalsePositiveRate());
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,33 @@
+package com.linhnguyen.portfolio_api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Tính digest SHA-256 của JWT token.
+ * Digest được dùng làm key cho cache token đã xác thực và denylist, nên token gốc
+ * không bao giờ được giữ trong bộ nhớ lâu dài hay lưu xuống database.
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    /**
+     * Digest SHA-256 của token dạng hex (64 ký tự).
+     *
+     * @param token JWT token
+     * @return Digest dạng hex chữ thường
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 luôn có sẵn trong mọi JVM
+            throw new IllegalStateException("SHA-256 không khả dụng", e);
+        }
+    }
+}
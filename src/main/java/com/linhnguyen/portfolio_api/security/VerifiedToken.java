@@ -0,0 +1,14 @@
+package com.linhnguyen.portfolio_api.security;
+
+import java.time.Instant;
+
+/**
+ * Kết quả xác thực JWT: token đã được kiểm tra chữ ký và thời hạn.
+ * Immutable, an toàn khi chia sẻ giữa các thread.
+ *
+ * @param username  Username (subject của token)
+ * @param issuedAt  Thời điểm phát hành (null nếu token không có iat)
+ * @param expiresAt Thời điểm hết hạn
+ */
+public record VerifiedToken(String username, Instant issuedAt, Instant expiresAt) {
+}
@@ -0,0 +1,100 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.linhnguyen.portfolio_api.config.JwtCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache các token đã xác thực, key là digest SHA-256 của token.
+ *
+ * Dashboard admin gửi cùng một bearer token hàng trăm lần mỗi phiên: chỉ lần đầu chạy HMAC,
+ * các lần sau chỉ còn một lần hash SHA-256 và một lần tra cache.
+ * Mỗi entry hết hạn đúng tại thời điểm exp của token, cache bị giới hạn bởi max-size.
+ * Token không hợp lệ không được cache.
+ *
+ * Metrics: hit / miss của cache (cache.gets{cache="jwtVerifiedTokens"}) và thời gian xác thực chữ ký
+ * khi cache miss (jwt.verification, tag result=valid|invalid).
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, VerifiedToken> cache;
+    private final Timer validVerifications;
+    private final Timer invalidVerifications;
+
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider, JwtCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build(), "jwtVerifiedTokens");
+        this.validVerifications = meterRegistry.timer("jwt.verification", "result", "valid");
+        this.invalidVerifications = meterRegistry.timer("jwt.verification", "result", "invalid");
+    }
+
+    /**
+     * Lấy token đã xác thực từ cache, nếu chưa có thì xác thực và đưa vào cache.
+     *
+     * @param digest Digest của token (xem {@link TokenDigests})
+     * @param token  JWT token
+     * @return Thông tin token, empty nếu token không hợp lệ hoặc đã hết hạn
+     */
+    public Optional<VerifiedToken> getOrVerify(String digest, String token) {
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = jwtTokenProvider.verify(token);
+        (verified.isPresent() ? validVerifications : invalidVerifications)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        verified.ifPresent(value -> cache.put(digest, value));
+        return verified;
+    }
+
+    /**
+     * Xóa token khỏi cache (khi token bị thu hồi).
+     *
+     * @param digest Digest của token
+     */
+    public void invalidate(String digest) {
+        cache.invalidate(digest);
+    }
+
+    /**
+     * Thời gian sống của entry = thời gian còn lại đến exp của token, không gia hạn khi đọc.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
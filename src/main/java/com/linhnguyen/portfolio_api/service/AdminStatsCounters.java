@@ -0,0 +1,294 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.dto.response.AdminStatsDTO;
+import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.entity.Skill;
+import com.linhnguyen.portfolio_api.entity.SkillCategory;
+import com.linhnguyen.portfolio_api.event.StatCountersChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bộ đếm thống kê cho dashboard admin, được duy trì tăng dần theo từng lần ghi.
+ *
+ * - Mỗi lần ghi (tạo / sửa / xóa / khôi phục) phát {@link StatCountersChangedEvent} chứa delta,
+ *   delta được đánh dấu bằng id transaction ghi và cộng vào bộ đếm in-memory sau khi transaction commit.
+ * - Định kỳ, delta tích lũy được flush vào bảng admin_stat_counters (cộng dồn, an toàn khi nhiều node)
+ *   rồi đọc lại toàn bộ bảng, nên mỗi node cũng thấy thay đổi của node khác.
+ * - Định kỳ (và khi khởi động), bộ đếm được đối soát bằng cách đếm lại toàn bộ từ các bảng gốc,
+ *   sửa mọi sai lệch (ví dụ partition bị detach, sửa dữ liệu trực tiếp trong DB).
+ *   Delta của transaction đã được lần đếm lại tính thì bị bỏ khi flush (xem {@link AdminStatsStore}).
+ *
+ * Đọc một bộ đếm là O(1): giá trị đã lưu + delta đang flush + delta chưa flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStatsCounters {
+
+    public static final String CONTACTS_TOTAL = "contacts.total";
+    public static final String CONTACTS_UNREAD = "contacts.unread";
+    public static final String PROJECTS_TOTAL = "projects.total";
+    public static final String PROJECTS_FEATURED = "projects.featured";
+    public static final String PROJECTS_CATEGORY_PREFIX = "projects.category.";
+    public static final String PROJECTS_STATUS_PREFIX = "projects.status.";
+    public static final String SKILLS_TOTAL = "skills.total";
+    public static final String SKILLS_CATEGORY_PREFIX = "skills.category.";
+
+    /** Giá trị dùng cho category / status bị null */
+    public static final String NONE = "(none)";
+
+    /** Id transaction của delta phát ra ngoài transaction: không thể so với lần đếm lại, luôn được cộng */
+    public static final long NO_TRANSACTION = 0L;
+
+    private final AdminStatsStore store;
+
+    /** Tổng delta đã commit nhưng chưa flush, để đọc O(1) */
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /** Cùng các delta đó, nhóm theo id transaction ghi; chỉ truy cập khi giữ pendingLock */
+    private final Map<Long, Map<String, Long>> pendingByTransaction = new HashMap<>();
+
+    private final Object pendingLock = new Object();
+
+    /** Giá trị đã lưu và delta đang được flush, thay thế nguyên khối */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    private record Snapshot(Map<String, Long> persisted, Map<String, Long> inFlight) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+    }
+
+    /**
+     * Đánh dấu delta bằng id transaction ghi (ngay trong transaction đó),
+     * rồi cộng vào bộ đếm sau khi transaction commit.
+     *
+     * @param event Event chứa delta
+     */
+    @EventListener
+    public void onCountersChanged(StatCountersChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            addPending(NO_TRANSACTION, event.deltas());
+            return;
+        }
+        long transactionId = store.currentTransactionId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addPending(transactionId, event.deltas());
+            }
+        });
+    }
+
+    /**
+     * Giá trị hiện tại của một bộ đếm.
+     *
+     * @param key Tên bộ đếm
+     * @return Giá trị, 0 nếu chưa có
+     */
+    public long get(String key) {
+        Snapshot current = snapshot;
+        LongAdder adder = pending.get(key);
+        return current.persisted().getOrDefault(key, 0L)
+                + current.inFlight().getOrDefault(key, 0L)
+                + (adder == null ? 0 : adder.sum());
+    }
+
+    /**
+     * Flush delta tích lũy vào database và đọc lại giá trị mới nhất (gồm cả thay đổi từ node khác).
+     */
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<Long, Map<String, Long>> deltas = drainPending();
+        if (!deltas.isEmpty()) {
+            try {
+                store.applyDeltas(deltas);
+            } catch (Exception e) {
+                // Ghi thất bại: trả delta về hàng chờ, lượt sau flush lại
+                synchronized (pendingLock) {
+                    deltas.forEach(this::addPending);
+                    snapshot = new Snapshot(snapshot.persisted(), Map.of());
+                }
+                log.warn("Không flush được bộ đếm thống kê: {}", e.getMessage());
+                return;
+            }
+        }
+
+        try {
+            snapshot = new Snapshot(store.loadAll(), Map.of());
+        } catch (Exception e) {
+            // Delta đã được ghi: gộp vào giá trị đang giữ để không bị tính lại
+            snapshot = new Snapshot(merge(snapshot.persisted(), snapshot.inFlight()), Map.of());
+            log.warn("Không đọc lại được bộ đếm thống kê: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Đối soát: đếm lại toàn bộ từ các bảng gốc, rồi flush ngay delta đang chờ
+     * (delta đã nằm trong lần đếm lại bị bỏ, phần còn lại được cộng).
+     * Chỉ một node đếm lại tại một thời điểm, các node khác chỉ đọc lại kết quả.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 15 * * * *}")
+    public synchronized void reconcile() {
+        try {
+            if (store.recount() != null) {
+                lastReconciledAt = LocalDateTime.now();
+            }
+        } catch (Exception e) {
+            log.error("Lỗi khi đối soát bộ đếm thống kê: {}", e.getMessage(), e);
+        }
+        flush();
+    }
+
+    /**
+     * Thống kê cho dashboard admin, đọc hoàn toàn từ bộ đếm (không truy vấn database).
+     */
+    public AdminStatsDTO getStats() {
+        Set<String> keys = new HashSet<>();
+        Snapshot current = snapshot;
+        keys.addAll(current.persisted().keySet());
+        keys.addAll(current.inFlight().keySet());
+        keys.addAll(pending.keySet());
+
+        Map<String, Long> projectsByCategory = new TreeMap<>();
+        Map<String, Long> projectsByStatus = new TreeMap<>();
+        Map<String, Long> skillsByCategory = new TreeMap<>();
+        for (String key : keys) {
+            long value = get(key);
+            if (value == 0) {
+                continue;
+            }
+            if (key.startsWith(PROJECTS_CATEGORY_PREFIX)) {
+                projectsByCategory.put(key.substring(PROJECTS_CATEGORY_PREFIX.length()), value);
+            } else if (key.startsWith(PROJECTS_STATUS_PREFIX)) {
+                projectsByStatus.put(key.substring(PROJECTS_STATUS_PREFIX.length()), value);
+            } else if (key.startsWith(SKILLS_CATEGORY_PREFIX)) {
+                skillsByCategory.put(key.substring(SKILLS_CATEGORY_PREFIX.length()), value);
+            }
+        }
+
+        return AdminStatsDTO.builder()
+                .totalContactMessages(get(CONTACTS_TOTAL))
+                .unreadContactMessages(get(CONTACTS_UNREAD))
+                .totalProjects(get(PROJECTS_TOTAL))
+                .featuredProjects(get(PROJECTS_FEATURED))
+                .projectsByCategory(projectsByCategory)
+                .projectsByStatus(projectsByStatus)
+                .totalSkills(get(SKILLS_TOTAL))
+                .skillsByCategory(skillsByCategory)
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+
+    /**
+     * Delta của một project: sign = 1 khi project xuất hiện, -1 khi biến mất.
+     */
+    public static Map<String, Long> projectDeltas(Project project, long sign) {
+        return projectDeltas(project.getCategory(), project.getStatus(),
+                Boolean.TRUE.equals(project.getIsFeatured()), sign);
+    }
+
+    /**
+     * Delta của count project có cùng category / status / featured.
+     */
+    public static Map<String, Long> projectDeltas(String category, String status, boolean featured, long count) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(PROJECTS_TOTAL, count);
+        deltas.put(PROJECTS_CATEGORY_PREFIX + (category != null ? category : NONE), count);
+        deltas.put(PROJECTS_STATUS_PREFIX + (status != null ? status : NONE), count);
+        if (featured) {
+            deltas.put(PROJECTS_FEATURED, count);
+        }
+        return deltas;
+    }
+
+    /**
+     * Delta của một skill: sign = 1 khi skill xuất hiện, -1 khi biến mất.
+     */
+    public static Map<String, Long> skillDeltas(Skill skill, long sign) {
+        return skillDeltas(skill.getCategory(), sign);
+    }
+
+    /**
+     * Delta của count skill cùng category.
+     */
+    public static Map<String, Long> skillDeltas(SkillCategory category, long count) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(SKILLS_TOTAL, count);
+        deltas.put(SKILLS_CATEGORY_PREFIX + (category != null ? category.name() : NONE), count);
+        return deltas;
+    }
+
+    /**
+     * Delta của một tin nhắn liên hệ: sign = 1 khi tin nhắn xuất hiện, -1 khi biến mất.
+     */
+    public static Map<String, Long> contactDeltas(ContactMessage message, long sign) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(CONTACTS_TOTAL, sign);
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            deltas.put(CONTACTS_UNREAD, sign);
+        }
+        return deltas;
+    }
+
+    /**
+     * Cộng hai tập delta, bỏ các bộ đếm có tổng bằng 0.
+     */
+    public static Map<String, Long> merge(Map<String, Long> first, Map<String, Long> second) {
+        Map<String, Long> merged = new HashMap<>(first);
+        second.forEach((key, delta) -> merged.merge(key, delta, Long::sum));
+        merged.values().removeIf(value -> value == 0);
+        return merged;
+    }
+
+    private void addPending(long transactionId, Map<String, Long> deltas) {
+        synchronized (pendingLock) {
+            Map<String, Long> transactionDeltas = pendingByTransaction.computeIfAbsent(transactionId, id -> new HashMap<>());
+            deltas.forEach((key, delta) -> {
+                if (delta != 0) {
+                    transactionDeltas.merge(key, delta, Long::sum);
+                    pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+                }
+            });
+        }
+    }
+
+    /**
+     * Lấy toàn bộ delta đang chờ, chuyển tổng của chúng sang inFlight để giá trị đọc không bị hụt.
+     */
+    private Map<Long, Map<String, Long>> drainPending() {
+        synchronized (pendingLock) {
+            Map<Long, Map<String, Long>> drained = new HashMap<>(pendingByTransaction);
+            pendingByTransaction.clear();
+            Map<String, Long> totals = new HashMap<>();
+            pending.forEach((key, adder) -> {
+                long delta = adder.sumThenReset();
+                if (delta != 0) {
+                    totals.put(key, delta);
+                }
+            });
+            if (!drained.isEmpty()) {
+                snapshot = new Snapshot(snapshot.persisted(), totals);
+            }
+            return drained;
+        }
+    }
+}
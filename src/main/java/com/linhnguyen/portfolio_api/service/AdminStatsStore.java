@@ -0,0 +1,150 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.entity.AdminStatCounter;
+import com.linhnguyen.portfolio_api.repository.AdminStatCounterRepository;
+import com.linhnguyen.portfolio_api.repository.ContactMessageRepository;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository.ProjectFacetCount;
+import com.linhnguyen.portfolio_api.repository.SkillRepository;
+import com.linhnguyen.portfolio_api.repository.SkillRepository.SkillCategoryCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lưu trữ bộ đếm thống kê admin trong bảng admin_stat_counters.
+ * Được gọi bởi {@link AdminStatsCounters}; mỗi thao tác chạy trong transaction riêng.
+ *
+ * Flush và đếm lại loại trừ nhau qua cùng một advisory lock. Lần đếm lại lưu snapshot MVCC của nó
+ * vào admin_stat_reconciliation; khi flush, delta của transaction nằm trong snapshot đó đã được
+ * đếm lại nên bị bỏ qua. Nhờ vậy delta commit trước lần đếm lại nhưng chưa flush
+ * (ở node này hay node khác) không bị cộng hai lần.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStatsStore {
+
+    /** Khóa advisory để chỉ một node đếm lại tại một thời điểm, và không flush trong lúc đếm lại */
+    private static final long RECOUNT_LOCK_KEY = 40_001L;
+
+    private final AdminStatCounterRepository counterRepository;
+    private final ContactMessageRepository contactMessageRepository;
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+
+    /**
+     * Id của transaction ghi đang chạy, dùng để đánh dấu delta của nó.
+     *
+     * @return Id transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long currentTransactionId() {
+        return counterRepository.currentTransactionId();
+    }
+
+    /**
+     * Cộng dồn delta vào bảng bộ đếm, bỏ qua delta của các transaction đã được lần đếm lại gần nhất tính.
+     *
+     * @param deltasByTransaction Id transaction -> (tên bộ đếm -> giá trị cộng thêm);
+     *                            {@link AdminStatsCounters#NO_TRANSACTION} luôn được cộng
+     */
+    @Transactional
+    public void applyDeltas(Map<Long, Map<String, Long>> deltasByTransaction) {
+        // Chờ lần đếm lại đang chạy (nếu có) commit, để đọc được snapshot mới nhất của nó
+        counterRepository.advisoryXactLock(RECOUNT_LOCK_KEY);
+
+        Map<String, Long> deltas = new HashMap<>();
+        int skipped = 0;
+        for (Map.Entry<Long, Map<String, Long>> entry : deltasByTransaction.entrySet()) {
+            long transactionId = entry.getKey();
+            if (transactionId != AdminStatsCounters.NO_TRANSACTION
+                    && counterRepository.isCountedByLastRecount(transactionId)) {
+                skipped++;
+                continue;
+            }
+            entry.getValue().forEach((key, delta) -> deltas.merge(key, delta, Long::sum));
+        }
+        if (skipped > 0) {
+            log.debug("Bỏ qua delta của {} transaction đã được đếm lại", skipped);
+        }
+        writeDeltas(deltas);
+    }
+
+    /**
+     * Đọc toàn bộ bộ đếm.
+     *
+     * @return Tên bộ đếm -> giá trị
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> loadAll() {
+        Map<String, Long> counters = new HashMap<>();
+        for (AdminStatCounter counter : counterRepository.findAll()) {
+            counters.put(counter.getKey(), counter.getValue());
+        }
+        return counters;
+    }
+
+    /**
+     * Đếm lại toàn bộ từ các bảng gốc và ghi đè bảng bộ đếm.
+     * REPEATABLE READ: mọi câu đếm dùng chung một snapshot, chính là snapshot được lưu lại cho flush.
+     *
+     * @return Giá trị mới của các bộ đếm, null nếu node khác đang đếm lại hoặc đang flush
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public Map<String, Long> recount() {
+        if (!counterRepository.tryAdvisoryXactLock(RECOUNT_LOCK_KEY)) {
+            log.debug("Node khác đang đối soát hoặc flush bộ đếm thống kê, bỏ qua lượt này");
+            return null;
+        }
+
+        Map<String, Long> counts = new HashMap<>();
+        counts.put(AdminStatsCounters.CONTACTS_TOTAL, contactMessageRepository.countByIsDeletedFalse());
+        counts.put(AdminStatsCounters.CONTACTS_UNREAD, contactMessageRepository.countUnreadMessages());
+        counts.put(AdminStatsCounters.PROJECTS_TOTAL, 0L);
+        counts.put(AdminStatsCounters.PROJECTS_FEATURED, 0L);
+        counts.put(AdminStatsCounters.SKILLS_TOTAL, 0L);
+        for (ProjectFacetCount row : projectRepository.countActiveByFacets()) {
+            AdminStatsCounters.projectDeltas(row.getCategory(), row.getStatus(),
+                            Boolean.TRUE.equals(row.getFeatured()), row.getTotal())
+                    .forEach((key, value) -> counts.merge(key, value, Long::sum));
+        }
+        for (SkillCategoryCount row : skillRepository.countActiveByCategory()) {
+            AdminStatsCounters.skillDeltas(row.getCategory(), row.getTotal())
+                    .forEach((key, value) -> counts.merge(key, value, Long::sum));
+        }
+
+        // Bảng rỗng (lần chạy đầu tiên) thì không có gì để so sánh
+        Map<String, Long> previous = loadAll();
+        if (!previous.isEmpty()) {
+            Set<String> keys = new HashSet<>(previous.keySet());
+            keys.addAll(counts.keySet());
+            for (String key : keys) {
+                long before = previous.getOrDefault(key, 0L);
+                long after = counts.getOrDefault(key, 0L);
+                if (before != after) {
+                    log.warn("Bộ đếm {} bị lệch: {} -> {} (đã sửa)", key, before, after);
+                }
+            }
+        }
+
+        counterRepository.deleteAllInBatch();
+        writeDeltas(counts);
+        counterRepository.saveRecountSnapshot(LocalDateTime.now());
+        return counts;
+    }
+
+    private void writeDeltas(Map<String, Long> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> counterRepository.addDelta(key, delta, now));
+    }
+}
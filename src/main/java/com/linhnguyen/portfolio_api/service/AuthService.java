@@ -7,11 +7,16 @@ import com.linhnguyen.portfolio_api.entity.AdminCredential;
 import com.linhnguyen.portfolio_api.exception.BusinessException;
 import com.linhnguyen.portfolio_api.repository.AdminCredentialRepository;
 import com.linhnguyen.portfolio_api.security.JwtTokenProvider;
+import com.linhnguyen.portfolio_api.security.LoginAttemptService;
+import com.linhnguyen.portfolio_api.security.PasswordHasher;
+import com.linhnguyen.portfolio_api.security.TokenDenylist;
+import com.linhnguyen.portfolio_api.security.TokenDigests;
+import com.linhnguyen.portfolio_api.security.VerifiedToken;
+import com.linhnguyen.portfolio_api.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +26,8 @@ import org.springframework.transaction.annotation.Transactional;
  * Sử dụng email và password từ bảng admin_credentials để xác thực.
  * Portfolio chỉ có 1 owner duy nhất, thông tin đăng nhập được lưu riêng biệt với Profile.
  * Không có chức năng đăng ký vì đây là portfolio cá nhân.
- * Mật khẩu được lưu dưới dạng BCrypt hash.
+ * Mật khẩu được lưu dưới dạng BCrypt hash, BCrypt chạy trên executor giới hạn (xem {@link PasswordHasher}).
+ * Đăng nhập sai bị giới hạn theo email và IP với thời gian khóa tăng dần (xem {@link LoginAttemptService}).
  */
 @Service
 @RequiredArgsConstructor
@@ -29,8 +35,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginAttemptService loginAttemptService;
     private final AdminCredentialRepository adminCredentialRepository;
+    private final TokenDenylist tokenDenylist;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
@@ -39,17 +48,22 @@ public class AuthService {
      * Xử lý đăng nhập Admin.
      * Kiểm tra email và password từ bảng admin_credentials, nếu hợp lệ trả về JWT token.
      *
-     * @param request DTO chứa thông tin đăng nhập (email, password)
+     * @param request  DTO chứa thông tin đăng nhập (email, password)
+     * @param clientIp IP của client, dùng để giới hạn đăng nhập sai
      * @return LoginResponseDTO chứa JWT token
-     * @throws BusinessException nếu thông tin đăng nhập không hợp lệ
+     * @throws BusinessException nếu thông tin đăng nhập không hợp lệ hoặc đang bị khóa do sai quá nhiều lần
      */
-    public LoginResponseDTO login(LoginRequestDTO request) {
+    public LoginResponseDTO login(LoginRequestDTO request, String clientIp) {
         log.info("Attempting login for email: {}", request.getEmail());
 
+        // Email / IP đang bị khóa: từ chối trước khi đọc database hay chạy BCrypt
+        loginAttemptService.checkAllowed(request.getEmail(), clientIp);
+
         // Tìm admin credential theo email
         AdminCredential credential = adminCredentialRepository.findByEmailAndIsActiveTrue(request.getEmail())
                 .orElseThrow(() -> {
                     log.warn("Login failed: Email not found - {}", request.getEmail());
+                    loginAttemptService.recordFailure(request.getEmail(), clientIp);
                     return new BusinessException(HttpStatus.UNAUTHORIZED, "Email hoặc mật khẩu không đúng");
                 });
 
@@ -60,13 +74,16 @@ public class AuthService {
         }
 
         // Kiểm tra password
-        boolean passwordMatch = passwordEncoder.matches(request.getPassword(), credential.getPassword());
+        boolean passwordMatch = passwordHasher.matches(request.getPassword(), credential.getPassword());
 
         if (!passwordMatch) {
             log.warn("Login failed: Invalid password for email - {}", request.getEmail());
+            loginAttemptService.recordFailure(request.getEmail(), clientIp);
             throw new BusinessException(HttpStatus.UNAUTHORIZED, "Email hoặc mật khẩu không đúng");
         }
 
+        loginAttemptService.recordSuccess(request.getEmail(), clientIp);
+
         // Tạo JWT token với email làm subject
         String token = jwtTokenProvider.generateToken(credential.getEmail());
 
@@ -108,7 +125,7 @@ public class AuthService {
                 .orElseThrow(() -> new BusinessException(HttpStatus.NOT_FOUND, "Admin credential không tồn tại"));
 
         // Kiểm tra mật khẩu hiện tại
-        if (!passwordEncoder.matches(request.getCurrentPassword(), credential.getPassword())) {
+        if (!passwordHasher.matches(request.getCurrentPassword(), credential.getPassword())) {
             log.warn("Change password failed: Current password is incorrect");
             throw new BusinessException(HttpStatus.BAD_REQUEST, "Mật khẩu hiện tại không đúng");
         }
@@ -120,16 +137,33 @@ public class AuthService {
         }
 
         // Kiểm tra mật khẩu mới không trùng mật khẩu cũ
-        if (passwordEncoder.matches(request.getNewPassword(), credential.getPassword())) {
+        if (passwordHasher.matches(request.getNewPassword(), credential.getPassword())) {
             log.warn("Change password failed: New password same as current");
             throw new BusinessException(HttpStatus.BAD_REQUEST, "Mật khẩu mới không được trùng với mật khẩu hiện tại");
         }
 
         // Cập nhật mật khẩu mới (BCrypt encoded)
-        credential.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        credential.setPassword(passwordHasher.encode(request.getNewPassword()));
         adminCredentialRepository.save(credential);
 
         log.info("Password changed successfully");
     }
-}
 
+    /**
+     * Đăng xuất: thu hồi token hiện tại trước khi hết hạn.
+     * Token bị đưa vào denylist (có hiệu lực trên mọi node) và xóa khỏi cache token đã xác thực.
+     *
+     * @param token JWT token đang dùng
+     * @throws BusinessException nếu token không hợp lệ hoặc đã hết hạn
+     */
+    public void logout(String token) {
+        VerifiedToken verified = jwtTokenProvider.verify(token)
+                .orElseThrow(() -> new BusinessException(HttpStatus.UNAUTHORIZED, "Token không hợp lệ hoặc đã hết hạn"));
+
+        String digest = TokenDigests.sha256Hex(token);
+        tokenDenylist.revoke(digest, verified.expiresAt());
+        verifiedTokenCache.invalidate(digest);
+
+        log.info("Logout successful for: {}", verified.username());
+    }
+}
@@ -2,12 +2,18 @@ package com.linhnguyen.portfolio_api.service;
 
 import com.linhnguyen.portfolio_api.config.BrevoConfig;
 import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.util.HtmlTemplate;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -16,28 +22,64 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Service gửi email qua Brevo (Sendinblue) API.
  * Sử dụng REST API v3 của Brevo để gửi email transactional.
+ * Được gọi bởi EmailOutboxDispatcher (job nền), không gọi trực tiếp từ request.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BrevoEmailService {
 
-    private static final String BREVO_API_URL = "https://api.brevo.com/v3/smtp/email";
     private static final String CONTACT_TEMPLATE_PATH = "templates/email/contact-notification.html";
+    private static final String DIGEST_TEMPLATE_PATH = "templates/email/contact-digest.html";
+
+    /** Số ký tự tối đa của nội dung mỗi tin nhắn trong email tổng hợp */
+    private static final int DIGEST_MESSAGE_EXCERPT_LENGTH = 500;
+
+    /** Timer cho mỗi lần gọi Brevo, tag outcome: success, rejected, circuit_open, bulkhead_full, client_error, error */
+    private static final String SEND_TIMER = "brevo.send";
+
+    /** HTML cho một tin nhắn trong email tổng hợp (EmailTemplateBenchmark dùng lại) */
+    public static final String DIGEST_ITEM_TEMPLATE = """
+            <div class="item">
+                <div><span class="label">{{subject}}</span></div>
+                <div>{{senderName}} &lt;<a href="mailto:{{senderEmail}}">{{senderEmail}}</a>&gt;</div>
+                <div class="meta">{{createdAt}}</div>
+                <p>{{message|nl2br}}</p>
+            </div>
+            """;
+
+    /**
+     * Kết quả một lần gửi.
+     * NOT_ATTEMPTED: không gọi tới Brevo (circuit breaker đang mở, bulkhead đầy, Brevo bị tắt),
+     * nơi gọi không nên tính đây là một lần thử thất bại.
+     */
+    public enum SendResult {
+        SENT, FAILED, NOT_ATTEMPTED
+    }
 
     private final BrevoConfig brevoConfig;
     private final RestTemplate restTemplate;
+    private final CircuitBreaker brevoCircuitBreaker;
+    private final Bulkhead brevoBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    /** Template HTML được biên dịch sẵn khi khởi động */
+    private HtmlTemplate contactNotificationTemplate;
+
+    /** Template HTML của email tổng hợp (digest) */
+    private HtmlTemplate contactDigestTemplate;
 
-    /** Template HTML được cache khi khởi động */
-    private String contactNotificationTemplate;
+    /** Template HTML của một tin nhắn trong email tổng hợp */
+    private HtmlTemplate digestItemTemplate;
 
     /**
-     * Load template từ resources khi khởi động.
-     * Cache lại để không phải đọc file mỗi lần gửi email.
+     * Load và biên dịch template từ resources khi khởi động.
+     * Mỗi lần gửi email chỉ render một lượt vào buffer, không parse lại template.
      */
     @PostConstruct
     public void init() {
@@ -59,82 +101,134 @@ public class BrevoEmailService {
         }
 
         // Load template
+        String notificationSource;
         try {
             ClassPathResource resource = new ClassPathResource(CONTACT_TEMPLATE_PATH);
-            contactNotificationTemplate = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            notificationSource = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
             log.info("Đã load email template: {}", CONTACT_TEMPLATE_PATH);
         } catch (IOException e) {
             log.error("Không thể load email template: {}. Chi tiết: {}", CONTACT_TEMPLATE_PATH, e.getMessage());
             // Fallback template nếu không load được file
-            contactNotificationTemplate = getDefaultTemplate();
+            notificationSource = getDefaultTemplate();
         }
+
+        String digestSource;
+        try {
+            ClassPathResource resource = new ClassPathResource(DIGEST_TEMPLATE_PATH);
+            digestSource = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            log.info("Đã load email template: {}", DIGEST_TEMPLATE_PATH);
+        } catch (IOException e) {
+            log.error("Không thể load email template: {}. Chi tiết: {}", DIGEST_TEMPLATE_PATH, e.getMessage());
+            digestSource = "<html><body><h2>{{count}} New Contact Messages from Portfolio</h2>{{{items}}}</body></html>";
+        }
+
+        // Template sai placeholder sẽ fail ngay khi khởi động thay vì khi gửi email
+        contactNotificationTemplate = HtmlTemplate.compile(notificationSource,
+                "senderName", "senderEmail", "subject", "message");
+        contactDigestTemplate = HtmlTemplate.compile(digestSource, "count", "items");
+        digestItemTemplate = HtmlTemplate.compile(DIGEST_ITEM_TEMPLATE,
+                "senderName", "senderEmail", "subject", "createdAt", "message");
     }
 
     /**
-     * Gửi email thông báo tin nhắn liên hệ mới (async).
-     * Chạy bất đồng bộ để không block request của user.
+     * Gửi email thông báo tin nhắn liên hệ mới (sync).
      *
-     * @param contactMessage Tin nhắn liên hệ cần gửi thông báo
+     * @param contactMessage Tin nhắn liên hệ
+     * @return Kết quả gửi
      */
-    @Async
-    public void sendContactNotificationAsync(ContactMessage contactMessage) {
+    public SendResult sendContactNotification(ContactMessage contactMessage) {
         if (!brevoConfig.isEnabled()) {
-            log.warn("Brevo email service is disabled. Skipping email for message ID: {}", contactMessage.getId());
-            return;
+            log.warn("Brevo email service bị tắt");
+            return SendResult.NOT_ATTEMPTED;
         }
 
-        try {
-            boolean success = sendContactNotification(contactMessage);
-            if (success) {
-                log.info("Successfully sent email notification for message ID: {}", contactMessage.getId());
-            } else {
-                log.error("Failed to send email notification for message ID: {}", contactMessage.getId());
-            }
-        } catch (Exception e) {
-            log.error("Error sending email for message ID: {}. Detail: {}", contactMessage.getId(), e.getMessage());
+        SendResult result = postEmail(buildEmailPayload(contactMessage));
+        if (result == SendResult.SENT) {
+            log.info("Email sent successfully via Brevo. Message ID: {}", contactMessage.getId());
         }
+        return result;
     }
 
     /**
-     * Gửi email thông báo tin nhắn liên hệ mới (sync).
+     * Gửi một email tổng hợp (digest) cho nhiều tin nhắn liên hệ.
+     * Dùng khi có nhiều tin nhắn đến dồn dập: 1 HTTP call, 1 email thay vì N.
+     * Nếu chỉ có 1 tin nhắn thì gửi email thông báo bình thường (giữ Reply-To tới người gửi).
      *
-     * @param contactMessage Tin nhắn liên hệ
-     * @return true nếu gửi thành công
+     * @param contactMessages Danh sách tin nhắn liên hệ
+     * @return Kết quả gửi
      */
-    public boolean sendContactNotification(ContactMessage contactMessage) {
+    public SendResult sendContactDigest(List<ContactMessage> contactMessages) {
+        if (contactMessages.isEmpty()) {
+            return SendResult.SENT;
+        }
+        if (contactMessages.size() == 1) {
+            return sendContactNotification(contactMessages.get(0));
+        }
         if (!brevoConfig.isEnabled()) {
             log.warn("Brevo email service bị tắt");
-            return false;
+            return SendResult.NOT_ATTEMPTED;
         }
 
-        try {
-            HttpHeaders headers = createHeaders();
-            Map<String, Object> requestBody = buildEmailPayload(contactMessage);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        SendResult result = postEmail(buildDigestPayload(contactMessages));
+        if (result == SendResult.SENT) {
+            log.info("Digest email sent successfully via Brevo. Messages: {}", contactMessages.size());
+        }
+        return result;
+    }
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    BREVO_API_URL,
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
+    /**
+     * Gọi Brevo API gửi email, được bảo vệ bởi bulkhead và circuit breaker.
+     *
+     * - Bulkhead: giới hạn số call đồng thời, Brevo chậm không chiếm hết thread.
+     * - Circuit breaker: Brevo lỗi / chậm liên tục thì thất bại ngay không gọi nữa,
+     *   outbox sẽ retry theo backoff khi Brevo hồi phục.
+     * Bị circuit breaker / bulkhead chặn thì trả về NOT_ATTEMPTED, không phải FAILED.
+     *
+     * @param requestBody Payload theo format Brevo
+     * @return SENT nếu Brevo trả về 2xx
+     */
+    private SendResult postEmail(Map<String, Object> requestBody) {
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, createHeaders());
+        Supplier<ResponseEntity<String>> call = () -> restTemplate.exchange(
+                brevoConfig.getApiUrl(),
+                HttpMethod.POST,
+                request,
+                String.class
+        );
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<String> response = Bulkhead.decorateSupplier(brevoBulkhead,
+                    CircuitBreaker.decorateSupplier(brevoCircuitBreaker, call)).get();
 
             if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Email sent successfully via Brevo. Message ID: {}", contactMessage.getId());
-                return true;
+                outcome = "success";
+                return SendResult.SENT;
             } else {
+                outcome = "rejected";
                 log.error("Brevo API failed. Status: {}, Response: {}",
                         response.getStatusCode(), response.getBody());
-                return false;
+                return SendResult.FAILED;
             }
 
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            log.warn("Circuit breaker Brevo đang mở, bỏ qua lần gửi này");
+            return SendResult.NOT_ATTEMPTED;
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead_full";
+            log.warn("Đã đạt số call đồng thời tối đa tới Brevo, bỏ qua lần gửi này");
+            return SendResult.NOT_ATTEMPTED;
         } catch (org.springframework.web.client.HttpClientErrorException e) {
+            outcome = "client_error";
             log.error("Brevo API error - Status: {}, Response: {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return false;
+            return SendResult.FAILED;
         } catch (Exception e) {
             log.error("Error calling Brevo API: {}", e.getMessage(), e);
-            return false;
+            return SendResult.FAILED;
+        } finally {
+            sample.stop(meterRegistry.timer(SEND_TIMER, "outcome", outcome));
         }
     }
 
@@ -166,6 +260,41 @@ public class BrevoEmailService {
      * @return Map chứa payload
      */
     private Map<String, Object> buildEmailPayload(ContactMessage contactMessage) {
+        Map<String, Object> payload = buildBasePayload();
+
+        // Reply-To (email của người gửi tin nhắn)
+        Map<String, String> replyTo = new HashMap<>();
+        replyTo.put("name", contactMessage.getSenderName());
+        replyTo.put("email", contactMessage.getSenderEmail());
+        payload.put("replyTo", replyTo);
+
+        // Subject
+        payload.put("subject", "[Portfolio Contact] " + contactMessage.getSubject());
+
+        // HTML Content
+        payload.put("htmlContent", buildHtmlContent(contactMessage));
+
+        return payload;
+    }
+
+    /**
+     * Xây dựng payload email tổng hợp cho nhiều tin nhắn.
+     * Không set Reply-To vì có nhiều người gửi; mỗi tin nhắn có link mailto riêng.
+     *
+     * @param contactMessages Danh sách tin nhắn liên hệ
+     * @return Map chứa payload
+     */
+    private Map<String, Object> buildDigestPayload(List<ContactMessage> contactMessages) {
+        Map<String, Object> payload = buildBasePayload();
+        payload.put("subject", "[Portfolio Contact] " + contactMessages.size() + " new messages");
+        payload.put("htmlContent", buildDigestHtmlContent(contactMessages));
+        return payload;
+    }
+
+    /**
+     * Phần chung của mọi payload: sender và recipient.
+     */
+    private Map<String, Object> buildBasePayload() {
         Map<String, Object> payload = new HashMap<>();
 
         // Sender (email đã verify trên Brevo)
@@ -188,34 +317,45 @@ public class BrevoEmailService {
         recipient.put("email", recipientEmail);
         payload.put("to", List.of(recipient));
 
-        // Reply-To (email của người gửi tin nhắn)
-        Map<String, String> replyTo = new HashMap<>();
-        replyTo.put("name", contactMessage.getSenderName());
-        replyTo.put("email", contactMessage.getSenderEmail());
-        payload.put("replyTo", replyTo);
-
-        // Subject
-        payload.put("subject", "[Portfolio Contact] " + contactMessage.getSubject());
-
-        // HTML Content
-        payload.put("htmlContent", buildHtmlContent(contactMessage));
-
         return payload;
     }
 
     /**
-     * Xây dựng nội dung HTML cho email từ template.
-     * Thay thế các placeholder bằng dữ liệu thực tế.
+     * Xây dựng nội dung HTML cho email từ template đã biên dịch.
+     * Giá trị được escape HTML ngay khi ghi vào buffer.
      *
      * @param contactMessage Tin nhắn liên hệ
      * @return HTML content string
      */
     private String buildHtmlContent(ContactMessage contactMessage) {
-        return contactNotificationTemplate
-                .replace("{{senderName}}", escapeHtml(contactMessage.getSenderName()))
-                .replace("{{senderEmail}}", escapeHtml(contactMessage.getSenderEmail()))
-                .replace("{{subject}}", escapeHtml(contactMessage.getSubject()))
-                .replace("{{message}}", escapeHtml(contactMessage.getMessage()).replace("\n", "<br>"));
+        return contactNotificationTemplate.render(
+                contactMessage.getSenderName(),
+                contactMessage.getSenderEmail(),
+                contactMessage.getSubject(),
+                contactMessage.getMessage());
+    }
+
+    /**
+     * Xây dựng nội dung HTML cho email tổng hợp.
+     *
+     * @param contactMessages Danh sách tin nhắn liên hệ
+     * @return HTML content string
+     */
+    private String buildDigestHtmlContent(List<ContactMessage> contactMessages) {
+        StringBuilder items = new StringBuilder(contactMessages.size() * (DIGEST_MESSAGE_EXCERPT_LENGTH + 512));
+        for (ContactMessage contactMessage : contactMessages) {
+            String message = contactMessage.getMessage();
+            if (message != null && message.length() > DIGEST_MESSAGE_EXCERPT_LENGTH) {
+                message = message.substring(0, DIGEST_MESSAGE_EXCERPT_LENGTH) + "...";
+            }
+            digestItemTemplate.renderTo(items,
+                    contactMessage.getSenderName(),
+                    contactMessage.getSenderEmail(),
+                    contactMessage.getSubject(),
+                    contactMessage.getCreatedAt() == null ? null : contactMessage.getCreatedAt().toString(),
+                    message);
+        }
+        return contactDigestTemplate.render(String.valueOf(contactMessages.size()), items.toString());
     }
 
     /**
@@ -256,7 +396,7 @@ public class BrevoEmailService {
                             </div>
                             <div class="message-box">
                                 <span class="label">💬 Message:</span>
-                                <p>{{message}}</p>
+                                <p>{{message|nl2br}}</p>
                             </div>
                         </div>
                         <div class="footer">
@@ -268,18 +408,4 @@ public class BrevoEmailService {
                 </html>
                 """;
     }
-
-    /**
-     * Escape HTML để tránh XSS trong email.
-     */
-    private String escapeHtml(String text) {
-        if (text == null) return "";
-        return text
-                .replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&#39;");
-    }
 }
-
@@ -0,0 +1,129 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.config.ContactPartitionProperties;
+import com.linhnguyen.portfolio_api.config.ContactPartitionProperties.RetentionAction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Job bảo trì partition theo tháng của bảng contact_messages (xem migration V6).
+ *
+ * - Tạo trước partition cho tháng hiện tại và premake-months tháng tới, để insert không bao giờ
+ *   thiếu partition (bảng không có DEFAULT partition).
+ * - Partition cũ hơn retention-months bị DETACH (giữ lại thành bảng độc lập) hoặc DROP.
+ *
+ * Chạy khi khởi động và theo lịch cron. Nhiều node chạy cùng lúc được tuần tự hóa bằng
+ * advisory lock: node không lấy được lock bỏ qua lượt đó.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContactMessagePartitionMaintenance {
+
+    /** Khóa advisory dùng riêng cho job này */
+    private static final long ADVISORY_LOCK_KEY = 38_001L;
+
+    /** Tên partition: contact_messages_pYYYYMM */
+    private static final Pattern PARTITION_NAME = Pattern.compile("contact_messages_p(\\d{6})");
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'contact_messages'::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContactPartitionProperties properties;
+
+    /**
+     * Tạo partition còn thiếu và xử lý partition hết hạn trong một transaction.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.contact-partitions.cron:0 30 3 * * *}")
+    @Transactional
+    public void maintainPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Node khác đang bảo trì partition contact_messages, bỏ qua lượt này");
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class));
+        YearMonth currentMonth = YearMonth.now();
+
+        createMissingPartitions(existing, currentMonth);
+        if (properties.getRetentionMonths() > 0) {
+            retireExpiredPartitions(existing, currentMonth.minusMonths(properties.getRetentionMonths() - 1L));
+        }
+    }
+
+    private void createMissingPartitions(Set<String> existing, YearMonth currentMonth) {
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (existing.contains(partitionName(month))) {
+                continue;
+            }
+            String created = jdbcTemplate.queryForObject(
+                    "SELECT create_contact_messages_partition(?)", String.class, month.atDay(1));
+            existing.add(created);
+            log.info("Đã tạo partition {}", created);
+        }
+    }
+
+    private void retireExpiredPartitions(Set<String> existing, YearMonth oldestKeptMonth) {
+        List<String> expired = existing.stream()
+                .filter(name -> {
+                    YearMonth month = parseMonth(name);
+                    return month != null && month.isBefore(oldestKeptMonth);
+                })
+                .sorted()
+                .toList();
+
+        for (String partition : expired) {
+            // Tên đã được kiểm tra bằng PARTITION_NAME nên an toàn khi ghép vào DDL
+            if (properties.getRetentionAction() == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Đã xóa partition hết hạn {}", partition);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE contact_messages DETACH PARTITION " + partition);
+                log.info("Đã detach partition hết hạn {} (bảng vẫn được giữ lại)", partition);
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "contact_messages_p" + month.format(PARTITION_MONTH);
+    }
+
+    /**
+     * Đọc tháng từ tên partition, null nếu tên không đúng định dạng.
+     */
+    private static YearMonth parseMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.parse(matcher.group(1), PARTITION_MONTH);
+    }
+}
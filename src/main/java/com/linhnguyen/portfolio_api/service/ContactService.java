@@ -1,17 +1,24 @@
 package com.linhnguyen.portfolio_api.service;
 
+import com.linhnguyen.portfolio_api.config.ContactRateLimitProperties;
 import com.linhnguyen.portfolio_api.dto.request.ContactRequestDTO;
 import com.linhnguyen.portfolio_api.dto.response.ContactResponseDTO;
 import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.event.StatCountersChangedEvent;
 import com.linhnguyen.portfolio_api.exception.BusinessException;
 import com.linhnguyen.portfolio_api.mapper.ContactMessageMapper;
 import com.linhnguyen.portfolio_api.repository.ContactMessageRepository;
+import com.linhnguyen.portfolio_api.throttle.ContactRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 /**
  * Service xử lý logic nghiệp vụ cho module Contact.
  * Bao gồm: nhận tin nhắn từ nhà tuyển dụng, lưu DB, gửi email thông báo.
@@ -23,12 +30,10 @@ public class ContactService {
 
     private final ContactMessageRepository contactMessageRepository;
     private final ContactMessageMapper contactMessageMapper;
-    private final BrevoEmailService brevoEmailService;
-
-    /**
-     * Số phút tối thiểu giữa 2 lần gửi từ cùng 1 email (chống spam).
-     */
-    private static final int SPAM_PROTECTION_MINUTES = 5;
+    private final EmailOutboxService emailOutboxService;
+    private final ContactRateLimiter contactRateLimiter;
+    private final ContactRateLimitProperties rateLimitProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Xử lý request gửi tin nhắn liên hệ.
@@ -36,7 +41,7 @@ public class ContactService {
      * Flow:
      * 1. Kiểm tra spam (cùng email gửi nhiều lần trong thời gian ngắn)
      * 2. Lưu tin nhắn vào database
-     * 3. Gửi email thông báo qua Brevo (async)
+     * 3. Ghi email thông báo vào outbox (cùng transaction, dispatcher nền sẽ gửi qua Brevo)
      * 4. Trả về response xác nhận
      *
      * @param requestDTO Request chứa thông tin liên hệ
@@ -58,8 +63,9 @@ public class ContactService {
         ContactMessage savedMessage = contactMessageRepository.save(contactMessage);
         log.info("Đã lưu tin nhắn liên hệ. ID: {}", savedMessage.getId());
 
-        // Gửi email thông báo (async - không block request)
-        sendEmailNotificationAsync(savedMessage);
+        // Ghi outbox cùng transaction: commit thì chắc chắn sẽ được gửi, rollback thì không gửi
+        emailOutboxService.enqueue(savedMessage);
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.contactDeltas(savedMessage, 1)));
 
         // Tạo response
         ContactResponseDTO responseDTO = contactMessageMapper.toResponseDTO(savedMessage);
@@ -72,28 +78,35 @@ public class ContactService {
     }
 
     /**
-     * Kiểm tra spam protection.
-     * Nếu email đã gửi tin nhắn trong vòng SPAM_PROTECTION_MINUTES phút gần đây -> từ chối.
+     * Kiểm tra spam protection bằng database.
+     * Nếu email đã gửi tin nhắn trong một cửa sổ email-window gần đây -> từ chối.
+     *
+     * Rate limit chính đã được ContactRateLimiter xử lý in-memory trước khi vào service.
+     * Query này chỉ chạy khi limiter chưa "ấm" (vừa khởi động, chưa biết các tin nhắn trước lúc restart),
+     * nên dùng cùng cửa sổ với limiter để hai cách kiểm tra cho cùng một kết quả.
      *
      * @param email Email cần kiểm tra
      */
     private void checkSpamProtection(String email) {
+        if (contactRateLimiter.isWarm()) {
+            return;
+        }
+
+        Duration window = rateLimitProperties.getEmailWindow();
         try {
-            // Tính thời gian cutoff = hiện tại - số phút spam protection
-            java.time.LocalDateTime cutoffTime = java.time.LocalDateTime.now()
-                    .minusMinutes(SPAM_PROTECTION_MINUTES);
+            LocalDateTime cutoffTime = LocalDateTime.now().minus(window);
 
             boolean hasRecentMessage = contactMessageRepository.existsRecentMessageByEmail(
                     email, cutoffTime
             );
 
             if (hasRecentMessage) {
-                log.warn("Spam detected: Email {} sent message within {} minutes",
-                        email, SPAM_PROTECTION_MINUTES);
+                log.warn("Spam detected: Email {} sent message within {}", email, window);
                 throw new BusinessException(
                         HttpStatus.TOO_MANY_REQUESTS,
                         String.format("You have recently sent a message. Please wait %d minutes before sending again.",
-                                SPAM_PROTECTION_MINUTES)
+                                // Làm tròn lên để không báo "0 phút"
+                                Math.max(1, window.plusSeconds(59).toMinutes()))
                 );
             }
         } catch (BusinessException e) {
@@ -103,21 +116,4 @@ public class ContactService {
             log.warn("Không thể kiểm tra spam protection: {}", e.getMessage());
         }
     }
-
-    /**
-     * Gửi email thông báo (async).
-     * Chạy bất đồng bộ để không ảnh hưởng response time của API.
-     *
-     * @param contactMessage Tin nhắn liên hệ
-     */
-    private void sendEmailNotificationAsync(ContactMessage contactMessage) {
-        try {
-            brevoEmailService.sendContactNotificationAsync(contactMessage);
-            log.debug("Đã trigger gửi email async cho tin nhắn ID: {}", contactMessage.getId());
-        } catch (Exception e) {
-            // Log lỗi nhưng không throw để user vẫn nhận được response thành công
-            log.error("Lỗi khi trigger gửi email: {}", e.getMessage());
-        }
-    }
 }
-
@@ -0,0 +1,295 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.async.SpillableTask;
+import com.linhnguyen.portfolio_api.config.BrevoConfig;
+import com.linhnguyen.portfolio_api.config.OutboxProperties;
+import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.service.BrevoEmailService.SendResult;
+import com.linhnguyen.portfolio_api.service.EmailOutboxService.ClaimedEmail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Job nền gửi email từ outbox.
+ *
+ * Mỗi lượt: giải phóng row bị treo, rồi claim và gửi từng batch cho tới khi hết row đến hạn.
+ * Nhiều node có thể chạy song song: SKIP LOCKED đảm bảo mỗi row chỉ được một node claim,
+ * nên throughput tăng theo số node.
+ *
+ * Email trong một batch được gửi song song trên executor "email" (giới hạn thread + hàng đợi).
+ * Khi executor đầy, email được trả lại outbox (SPILL) để lượt sau gửi, không bị mất.
+ * Khi Brevo không được gọi (circuit breaker mở, bulkhead đầy), email được trả lại outbox sau initial-backoff
+ * mà không tính lượt thử: Brevo sập lâu hơn lịch backoff cũng không đẩy email sang DEAD.
+ *
+ * Khi bật digest mode, tin nhắn đến dồn dập được gộp thành email tổng hợp theo cửa sổ gom thích ứng
+ * (xem {@link OutboxProperties.Digest}). Trạng thái cửa sổ là của riêng từng node.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    /** Số batch tối đa mỗi lượt, tránh một lượt chạy quá lâu */
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    /** Định danh node (pid@hostname) ghi vào locked_by */
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final EmailOutboxService emailOutboxService;
+    private final BrevoEmailService brevoEmailService;
+    private final BrevoConfig brevoConfig;
+    private final OutboxProperties outboxProperties;
+    private final ThreadPoolTaskExecutor emailExecutor;
+
+    /** Kết quả xử lý một email trên executor */
+    private enum SendOutcome {
+        SENT, FAILED, NOT_ATTEMPTED, SPILLED, DROPPED
+    }
+
+    /** Cửa sổ gom hiện tại, ZERO = đang gửi ngay từng email. Chỉ được truy cập từ thread scheduler. */
+    private Duration digestWindow = Duration.ZERO;
+
+    /** Thời điểm (System.nanoTime) kết thúc cửa sổ gom hiện tại */
+    private long digestWindowEndsAt;
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 BrevoEmailService brevoEmailService,
+                                 BrevoConfig brevoConfig,
+                                 OutboxProperties outboxProperties,
+                                 @Qualifier("emailExecutor") ThreadPoolTaskExecutor emailExecutor) {
+        this.emailOutboxService = emailOutboxService;
+        this.brevoEmailService = brevoEmailService;
+        this.brevoConfig = brevoConfig;
+        this.outboxProperties = outboxProperties;
+        this.emailExecutor = emailExecutor;
+    }
+
+    /**
+     * Quét outbox định kỳ.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        // Brevo tắt: giữ nguyên row PENDING, không tiêu hao lượt thử
+        if (!outboxProperties.isEnabled() || !brevoConfig.isEnabled()) {
+            return;
+        }
+
+        try {
+            emailOutboxService.releaseStaleLocks();
+
+            if (outboxProperties.getDigest().isEnabled()) {
+                dispatchWithDigest();
+            } else {
+                dispatchIndividually();
+            }
+        } catch (Exception e) {
+            // Lỗi DB tạm thời: lượt sau thử lại, row đã claim sẽ được giải phóng khi hết lock-timeout
+            log.error("Lỗi khi xử lý email outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gửi từng email riêng lẻ cho tới khi hết row đến hạn.
+     */
+    private void dispatchIndividually() {
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<ClaimedEmail> claimed = emailOutboxService.claimBatch(NODE_ID, outboxProperties.getBatchSize());
+            if (claimed.isEmpty()) {
+                return;
+            }
+            sendIndividually(claimed);
+            if (claimed.size() < outboxProperties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Digest mode với cửa sổ gom thích ứng:
+     * - Không có cửa sổ, 1 email chờ: gửi ngay (lúc yên tĩnh vẫn nhận thông báo gần như tức thì).
+     * - Không có cửa sổ, nhiều email chờ: burst -> gửi 1 email tổng hợp, mở cửa sổ initial-window.
+     * - Đang trong cửa sổ: chờ tới hết cửa sổ (hoặc đủ max-messages) rồi gửi tổng hợp;
+     *   cửa sổ gom được nhiều email thì nhân đôi, gom được không quá 1 thì đóng cửa sổ.
+     */
+    private void dispatchWithDigest() {
+        OutboxProperties.Digest digest = outboxProperties.getDigest();
+        long ready = emailOutboxService.countReady();
+
+        if (digestWindow.isZero()) {
+            if (ready == 0) {
+                return;
+            }
+            if (ready == 1) {
+                dispatchIndividually();
+                return;
+            }
+            sendDigest(emailOutboxService.claimBatch(NODE_ID, digest.getMaxMessages()));
+            openWindow(digest.getInitialWindow());
+            return;
+        }
+
+        if (System.nanoTime() - digestWindowEndsAt < 0 && ready < digest.getMaxMessages()) {
+            return;
+        }
+
+        List<ClaimedEmail> claimed = ready == 0
+                ? List.of()
+                : emailOutboxService.claimBatch(NODE_ID, digest.getMaxMessages());
+        sendDigest(claimed);
+
+        if (claimed.size() > 1) {
+            Duration doubled = digestWindow.multipliedBy(2);
+            openWindow(doubled.compareTo(digest.getMaxWindow()) > 0 ? digest.getMaxWindow() : doubled);
+        } else {
+            log.info("Digest mode: lưu lượng đã giảm, quay về gửi email ngay");
+            digestWindow = Duration.ZERO;
+        }
+    }
+
+    private void openWindow(Duration window) {
+        digestWindow = window;
+        digestWindowEndsAt = System.nanoTime() + window.toNanos();
+        log.info("Digest mode: gom email trong {}s tới", window.toSeconds());
+    }
+
+    /**
+     * Gửi song song các email đã claim trên executor "email", chờ tất cả xong rồi đánh dấu SENT theo batch.
+     */
+    private void sendIndividually(List<ClaimedEmail> claimed) {
+        List<EmailSendTask> tasks = new ArrayList<>(claimed.size());
+        for (ClaimedEmail email : claimed) {
+            EmailSendTask task = new EmailSendTask(email);
+            tasks.add(task);
+            try {
+                emailExecutor.execute(task);
+            } catch (TaskRejectedException e) {
+                // Policy ABORT hoặc executor đã shutdown: trả email về outbox
+                task.spill();
+            }
+        }
+
+        List<ClaimedEmail> sent = new ArrayList<>(claimed.size());
+        long waitMs = brevoConfig.getReadTimeout().plus(brevoConfig.getConnectTimeout()).toMillis() * 2;
+        for (EmailSendTask task : tasks) {
+            if (awaitOutcome(task, waitMs) == SendOutcome.SENT) {
+                sent.add(task.email);
+            }
+        }
+
+        emailOutboxService.markSent(sent);
+        if (!sent.isEmpty()) {
+            log.info("Đã gửi {} / {} email thông báo từ outbox", sent.size(), claimed.size());
+        }
+    }
+
+    /**
+     * Chờ kết quả của một task. Quá thời gian thì bỏ qua: row vẫn ở PROCESSING
+     * và sẽ được giải phóng sau lock-timeout nếu task không bao giờ hoàn thành.
+     */
+    private static SendOutcome awaitOutcome(EmailSendTask task, long waitMs) {
+        try {
+            return task.outcome.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SendOutcome.DROPPED;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Không nhận được kết quả gửi email outbox ID: {}", task.email.outboxId());
+            return SendOutcome.DROPPED;
+        }
+    }
+
+    /**
+     * Task gửi một email. Khi executor đầy có thể được xả lại outbox thay vì chạy.
+     */
+    private final class EmailSendTask implements SpillableTask {
+
+        private final ClaimedEmail email;
+        private final CompletableFuture<SendOutcome> outcome = new CompletableFuture<>();
+
+        EmailSendTask(ClaimedEmail email) {
+            this.email = email;
+        }
+
+        @Override
+        public void run() {
+            try {
+                SendResult result = brevoEmailService.sendContactNotification(email.contactMessage());
+                if (result == SendResult.SENT) {
+                    outcome.complete(SendOutcome.SENT);
+                    return;
+                }
+                if (result == SendResult.NOT_ATTEMPTED) {
+                    emailOutboxService.releaseClaim(email, outboxProperties.getInitialBackoff());
+                    outcome.complete(SendOutcome.NOT_ATTEMPTED);
+                    return;
+                }
+                emailOutboxService.markFailed(email, "Brevo API trả về lỗi");
+            } catch (Exception e) {
+                emailOutboxService.markFailed(email, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            outcome.complete(SendOutcome.FAILED);
+        }
+
+        @Override
+        public void spill() {
+            try {
+                emailOutboxService.releaseClaim(email, Duration.ZERO);
+            } catch (Exception e) {
+                // Không trả về được: row sẽ được giải phóng sau lock-timeout
+                log.warn("Không thể trả email outbox ID: {} về hàng đợi: {}", email.outboxId(), e.getMessage());
+            }
+            outcome.complete(SendOutcome.SPILLED);
+        }
+
+        @Override
+        public void dropped() {
+            // Row vẫn ở PROCESSING, sẽ được giải phóng sau lock-timeout
+            outcome.complete(SendOutcome.DROPPED);
+        }
+    }
+
+    /**
+     * Gửi các email đã claim thành 1 email tổng hợp. Thất bại thì từng row được retry riêng theo backoff;
+     * Brevo không được gọi thì trả cả batch về outbox, không tính lượt thử.
+     */
+    private void sendDigest(List<ClaimedEmail> claimed) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<ContactMessage> messages = claimed.stream().map(ClaimedEmail::contactMessage).toList();
+        String error;
+        try {
+            SendResult result = brevoEmailService.sendContactDigest(messages);
+            if (result == SendResult.SENT) {
+                emailOutboxService.markSent(claimed);
+                log.info("Đã gửi email tổng hợp cho {} tin nhắn từ outbox", claimed.size());
+                return;
+            }
+            if (result == SendResult.NOT_ATTEMPTED) {
+                for (ClaimedEmail email : claimed) {
+                    emailOutboxService.releaseClaim(email, outboxProperties.getInitialBackoff());
+                }
+                return;
+            }
+            error = "Brevo API trả về lỗi";
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        for (ClaimedEmail email : claimed) {
+            emailOutboxService.markFailed(email, error);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.config.OutboxProperties;
+import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.entity.EmailOutbox;
+import com.linhnguyen.portfolio_api.entity.OutboxStatus;
+import com.linhnguyen.portfolio_api.repository.ContactMessageRepository;
+import com.linhnguyen.portfolio_api.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service thao tác với email outbox.
+ *
+ * Mỗi bước (ghi, claim, cập nhật kết quả) là một transaction ngắn riêng.
+ * Việc gọi Brevo diễn ra ngoài transaction nên không giữ lock hay connection DB trong lúc chờ mạng.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    /** Độ dài tối đa của lỗi lưu lại */
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ContactMessageRepository contactMessageRepository;
+    private final OutboxProperties outboxProperties;
+
+    /**
+     * Một email đã được claim, sẵn sàng để gửi.
+     *
+     * @param outboxId       ID row outbox
+     * @param nodeId         Node đã claim (locked_by), mọi cập nhật sau đó chỉ áp dụng khi row vẫn do node này giữ
+     * @param attempt        Lần gửi thứ mấy (bắt đầu từ 1)
+     * @param contactMessage Tin nhắn liên hệ cần thông báo
+     */
+    public record ClaimedEmail(Long outboxId, String nodeId, int attempt, ContactMessage contactMessage) {
+    }
+
+    /**
+     * Ghi một row outbox cho tin nhắn vừa lưu.
+     * Bắt buộc chạy trong transaction của ContactService để row và tin nhắn cùng commit hoặc cùng rollback.
+     *
+     * @param contactMessage Tin nhắn liên hệ đã được lưu (đã có ID)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(ContactMessage contactMessage) {
+        EmailOutbox outbox = EmailOutbox.builder()
+                .contactMessageId(contactMessage.getId())
+                .contactMessageCreatedAt(contactMessage.getCreatedAt())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        emailOutboxRepository.save(outbox);
+        log.debug("Đã ghi email outbox cho tin nhắn ID: {}", contactMessage.getId());
+    }
+
+    /**
+     * Đếm số email đang chờ và đã đến hạn gửi.
+     *
+     * @return Số email
+     */
+    @Transactional(readOnly = true)
+    public long countReady() {
+        return emailOutboxRepository.countByStatusAndNextAttemptAtLessThanEqual(OutboxStatus.PENDING, LocalDateTime.now());
+    }
+
+    /**
+     * Claim một batch email đến hạn gửi: khóa bằng FOR UPDATE SKIP LOCKED,
+     * chuyển sang PROCESSING và tăng số lần thử, rồi commit ngay để nhả lock.
+     *
+     * @param nodeId Định danh node đang claim
+     * @param limit  Số row tối đa
+     * @return Danh sách email đã claim kèm nội dung tin nhắn
+     */
+    @Transactional
+    public List<ClaimedEmail> claimBatch(String nodeId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> rows = emailOutboxRepository.lockReadyBatch(now, limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // Khoảng created_at của các tin nhắn cần đọc: chỉ quét partition của chúng.
+        // Row không có created_at (tin nhắn đã mất trước V11) không tìm được và bị chuyển DEAD bên dưới.
+        List<LocalDateTime> createdAts = rows.stream()
+                .map(EmailOutbox::getContactMessageCreatedAt)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, ContactMessage> messages = createdAts.isEmpty() ? Map.of() : contactMessageRepository
+                .findByIdInAndCreatedAtBetween(rows.stream().map(EmailOutbox::getContactMessageId).toList(),
+                        Collections.min(createdAts), Collections.max(createdAts))
+                .stream()
+                .collect(Collectors.toMap(ContactMessage::getId, Function.identity()));
+
+        List<ClaimedEmail> claimed = new ArrayList<>(rows.size());
+        for (EmailOutbox row : rows) {
+            ContactMessage message = messages.get(row.getContactMessageId());
+            if (message == null) {
+                // Tin nhắn đã bị xóa cứng: không còn gì để gửi
+                row.setStatus(OutboxStatus.DEAD);
+                row.setLastError("Không tìm thấy tin nhắn liên hệ ID: " + row.getContactMessageId());
+                continue;
+            }
+            row.setStatus(OutboxStatus.PROCESSING);
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLockedAt(now);
+            row.setLockedBy(nodeId);
+            claimed.add(new ClaimedEmail(row.getId(), nodeId, row.getAttempts(), message));
+        }
+        return claimed;
+    }
+
+    /**
+     * Đánh dấu các email đã gửi thành công và cập nhật contact_messages.email_sent.
+     * Row đã bị giải phóng do quá lock-timeout và node khác claim lại thì giữ nguyên cho node đó.
+     *
+     * @param sent Danh sách email đã gửi (cùng một node claim)
+     */
+    @Transactional
+    public void markSent(List<ClaimedEmail> sent) {
+        if (sent.isEmpty()) {
+            return;
+        }
+        int updated = emailOutboxRepository.markSent(
+                sent.stream().map(ClaimedEmail::outboxId).toList(),
+                sent.get(0).nodeId(),
+                LocalDateTime.now(),
+                OutboxStatus.SENT,
+                OutboxStatus.PROCESSING);
+        if (updated < sent.size()) {
+            log.warn("{} / {} email outbox đã gửi nhưng không còn thuộc node này (quá lock-timeout)",
+                    sent.size() - updated, sent.size());
+        }
+        List<LocalDateTime> createdAts = sent.stream().map(email -> email.contactMessage().getCreatedAt()).toList();
+        contactMessageRepository.markEmailSent(
+                sent.stream().map(email -> email.contactMessage().getId()).toList(),
+                Collections.min(createdAts),
+                Collections.max(createdAts));
+    }
+
+    /**
+     * Ghi nhận một lần gửi thất bại.
+     * Còn lượt thử -> trả về PENDING với backoff lũy thừa (có jitter); hết lượt -> DEAD.
+     * Row không còn thuộc node này (quá lock-timeout, node khác đã claim và có thể đã gửi) thì bỏ qua.
+     *
+     * @param email Email gửi thất bại
+     * @param error Mô tả lỗi
+     */
+    @Transactional
+    public void markFailed(ClaimedEmail email, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean dead = email.attempt() >= outboxProperties.getMaxAttempts();
+        Duration backoff = dead ? Duration.ZERO : backoff(email.attempt());
+        int updated = emailOutboxRepository.markFailed(email.outboxId(), email.nodeId(),
+                dead ? OutboxStatus.DEAD : OutboxStatus.PENDING, now.plus(backoff), truncate(error), now,
+                OutboxStatus.PROCESSING);
+        if (updated == 0) {
+            log.warn("Email outbox ID: {} không còn thuộc node này, bỏ qua kết quả thất bại", email.outboxId());
+        } else if (dead) {
+            log.error("Email outbox ID: {} (tin nhắn ID: {}) thất bại {} lần, chuyển sang DEAD",
+                    email.outboxId(), email.contactMessage().getId(), email.attempt());
+        } else {
+            log.warn("Email outbox ID: {} thất bại lần {}, thử lại sau {}s",
+                    email.outboxId(), email.attempt(), backoff.toSeconds());
+        }
+    }
+
+    /**
+     * Trả một email đã claim nhưng chưa gửi về PENDING (không tính là một lần thử), dùng khi
+     * executor gửi email đầy và task được xả lại xuống outbox, hoặc khi Brevo không được gọi
+     * (circuit breaker mở, bulkhead đầy). Row không còn thuộc node này thì bỏ qua.
+     *
+     * @param email Email đã claim
+     * @param delay Thời gian chờ trước khi được claim lại
+     */
+    @Transactional
+    public void releaseClaim(ClaimedEmail email, Duration delay) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = emailOutboxRepository.releaseClaim(email.outboxId(), email.nodeId(), now.plus(delay), now,
+                OutboxStatus.PENDING, OutboxStatus.PROCESSING);
+        if (updated == 0) {
+            log.debug("Email outbox ID: {} không còn thuộc node này, không trả về hàng đợi", email.outboxId());
+        }
+    }
+
+    /**
+     * Trả các row bị treo ở PROCESSING (node chết khi đang gửi) về PENDING.
+     *
+     * @return Số row được giải phóng
+     */
+    @Transactional
+    public int releaseStaleLocks() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(outboxProperties.getLockTimeout());
+        int released = emailOutboxRepository.releaseStaleLocks(cutoff, OutboxStatus.PENDING, OutboxStatus.PROCESSING);
+        if (released > 0) {
+            log.warn("Đã giải phóng {} email outbox bị treo ở trạng thái PROCESSING", released);
+        }
+        return released;
+    }
+
+    /**
+     * initialBackoff * 2^(attempts-1), tối đa maxBackoff, cộng jitter ngẫu nhiên tới 20%
+     * để các email lỗi cùng lúc không retry cùng lúc.
+     */
+    private Duration backoff(int attempts) {
+        long initialMs = outboxProperties.getInitialBackoff().toMillis();
+        long maxMs = outboxProperties.getMaxBackoff().toMillis();
+        int exponent = Math.min(attempts - 1, 30);
+        long delayMs = Math.min(maxMs, initialMs << exponent);
+        if (delayMs < 0) {
+            delayMs = maxMs;
+        }
+        long jitterMs = ThreadLocalRandom.current().nextLong(delayMs / 5 + 1);
+        return Duration.ofMillis(delayMs + jitterMs);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
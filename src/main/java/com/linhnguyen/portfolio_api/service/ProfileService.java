@@ -3,6 +3,8 @@ package com.linhnguyen.portfolio_api.service;
 import com.linhnguyen.portfolio_api.dto.request.ProfileUpdateDTO;
 import com.linhnguyen.portfolio_api.dto.response.ProfileResponseDTO;
 import com.linhnguyen.portfolio_api.entity.Profile;
+import com.linhnguyen.portfolio_api.event.ProfileChangedEvent;
+import com.linhnguyen.portfolio_api.exception.PreconditionFailedException;
 import com.linhnguyen.portfolio_api.exception.ResourceNotFoundException;
 import com.linhnguyen.portfolio_api.mapper.ProfileMapper;
 import com.linhnguyen.portfolio_api.repository.ProfileRepository;
@@ -10,9 +12,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,6 +37,8 @@ public class ProfileService {
 
     private final ProfileRepository profileRepository;
     private final ProfileMapper profileMapper;
+    private final AuditorAware<String> auditorProvider;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Lấy thông tin profile của chủ sở hữu Portfolio.
@@ -42,34 +49,42 @@ public class ProfileService {
      * @throws ResourceNotFoundException nếu chưa có profile nào
      */
     @Cacheable(value = "profile", key = OWNER_PROFILE_CACHE_KEY, unless = "#result == null")
+    @Transactional(readOnly = true)
     public ProfileResponseDTO getOwnerProfile() {
         log.info("Đang lấy thông tin profile owner từ database");
-        Profile profile = profileRepository.findFirstByIsDeletedFalse()
+        Profile profile = profileRepository.findFirstByIsDeletedFalseOrderByIdAsc()
                 .orElseThrow(() -> new ResourceNotFoundException("Profile chưa được khởi tạo"));
         return profileMapper.toResponseDTO(profile);
     }
 
     /**
-     * Cập nhật thông tin profile của chủ sở hữu Portfolio.
+     * Cập nhật thông tin profile của chủ sở hữu Portfolio bằng một câu UPDATE có điều kiện.
      * Portfolio chỉ có 1 profile duy nhất nên không cần truyền ID.
+     * Nếu có expectedVersion (từ If-Match), chỉ cập nhật khi bản ghi chưa bị ai sửa sau khi client đọc.
      * Xóa cache sau khi cập nhật để đảm bảo tính nhất quán.
      *
-     * @param request DTO chứa thông tin cập nhật
+     * @param request         DTO chứa thông tin cập nhật
+     * @param expectedVersion Version client đã đọc, null = không kiểm tra
      * @return DTO chứa thông tin profile sau khi cập nhật
-     * @throws ResourceNotFoundException nếu chưa có profile nào
+     * @throws ResourceNotFoundException   nếu chưa có profile nào
+     * @throws PreconditionFailedException nếu version không khớp
      */
     @CacheEvict(value = "profile", key = OWNER_PROFILE_CACHE_KEY)
     @Transactional
-    public ProfileResponseDTO updateOwnerProfile(ProfileUpdateDTO request) {
+    public ProfileResponseDTO updateOwnerProfile(ProfileUpdateDTO request, Long expectedVersion) {
         log.info("Đang cập nhật profile owner. Xóa cache.");
 
-        Profile profile = profileRepository.findFirstByIsDeletedFalse()
-                .orElseThrow(() -> new ResourceNotFoundException("Profile chưa được khởi tạo"));
+        int updated = profileRepository.updateIfCurrent(null, request, expectedVersion,
+                LocalDateTime.now(), auditorProvider.getCurrentAuditor().orElse(null));
 
-        profileMapper.updateEntityFromDTO(request, profile);
-        Profile savedProfile = profileRepository.save(profile);
+        Profile savedProfile = profileRepository.findFirstByIsDeletedFalseOrderByIdAsc()
+                .orElseThrow(() -> new ResourceNotFoundException("Profile chưa được khởi tạo"));
+        if (updated == 0) {
+            throw new PreconditionFailedException("Profile", savedProfile.getId());
+        }
 
-        log.info("Cập nhật profile owner thành công với ID: {}", savedProfile.getId());
+        eventPublisher.publishEvent(new ProfileChangedEvent(savedProfile.getId()));
+        log.info("Cập nhật profile owner thành công với ID: {} (version {})", savedProfile.getId(), savedProfile.getVersion());
         return profileMapper.toResponseDTO(savedProfile);
     }
 
@@ -83,6 +98,7 @@ public class ProfileService {
      * @throws ResourceNotFoundException nếu không tìm thấy profile
      */
     @Cacheable(value = "profile", key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public ProfileResponseDTO getProfileById(Long id) {
         log.info("Đang lấy profile từ database với ID: {}", id);
         Profile profile = profileRepository.findByIdAndIsDeletedFalse(id)
@@ -95,6 +111,7 @@ public class ProfileService {
      *
      * @return Danh sách DTO chứa thông tin các profile
      */
+    @Transactional(readOnly = true)
     public List<ProfileResponseDTO> getAllProfiles() {
         log.info("Đang lấy danh sách tất cả profile từ database");
         return profileRepository.findAllByIsDeletedFalse()
@@ -105,26 +122,35 @@ public class ProfileService {
 
 
     /**
-     * Cập nhật thông tin profile.
+     * Cập nhật thông tin profile bằng một câu UPDATE có điều kiện.
      * Xóa cache sau khi cập nhật để đảm bảo tính nhất quán dữ liệu.
      *
-     * @param id      ID của profile cần cập nhật
-     * @param request DTO chứa thông tin cập nhật
+     * @param id              ID của profile cần cập nhật
+     * @param request         DTO chứa thông tin cập nhật
+     * @param expectedVersion Version client đã đọc, null = không kiểm tra
      * @return DTO chứa thông tin profile sau khi cập nhật
-     * @throws ResourceNotFoundException nếu không tìm thấy profile
+     * @throws ResourceNotFoundException   nếu không tìm thấy profile
+     * @throws PreconditionFailedException nếu version không khớp
      */
     @CacheEvict(value = "profile", key = "#id")
     @Transactional
-    public ProfileResponseDTO updateProfile(Long id, ProfileUpdateDTO request) {
+    public ProfileResponseDTO updateProfile(Long id, ProfileUpdateDTO request, Long expectedVersion) {
         log.info("Đang cập nhật profile với ID: {}. Xóa cache.", id);
 
-        Profile profile = profileRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Profile", id));
+        int updated = profileRepository.updateIfCurrent(id, request, expectedVersion,
+                LocalDateTime.now(), auditorProvider.getCurrentAuditor().orElse(null));
+        if (updated == 0) {
+            if (!profileRepository.existsByIdAndIsDeletedFalse(id)) {
+                throw new ResourceNotFoundException("Profile", id);
+            }
+            throw new PreconditionFailedException("Profile", id);
+        }
 
-        profileMapper.updateEntityFromDTO(request, profile);
-        Profile savedProfile = profileRepository.save(profile);
+        Profile savedProfile = profileRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile", id));
 
-        log.info("Cập nhật profile thành công với ID: {}", savedProfile.getId());
+        eventPublisher.publishEvent(new ProfileChangedEvent(id));
+        log.info("Cập nhật profile thành công với ID: {} (version {})", id, savedProfile.getVersion());
         return profileMapper.toResponseDTO(savedProfile);
     }
 
@@ -146,10 +172,42 @@ public class ProfileService {
 
         profile.setIsDeleted(true);
         profileRepository.save(profile);
+        eventPublisher.publishEvent(new ProfileChangedEvent(id));
 
         log.info("Xóa mềm profile thành công với ID: {}", id);
     }
 
+    /**
+     * Khôi phục profile đã xóa mềm, kể cả khi profile đã bị chuyển sang archive.
+     * Xóa toàn bộ cache profile vì profile khôi phục có thể trở thành owner profile.
+     *
+     * @param id ID của profile cần khôi phục
+     * @return DTO chứa thông tin profile sau khi khôi phục
+     * @throws ResourceNotFoundException nếu không có profile đã xóa với ID này
+     */
+    @CacheEvict(value = "profile", allEntries = true)
+    @Transactional
+    public ProfileResponseDTO restoreProfile(Long id) {
+        log.info("Đang khôi phục profile với ID: {}. Xóa cache.", id);
+
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+        int restored = profileRepository.restoreSoftDeleted(id, now, auditor);
+        if (restored == 0) {
+            restored = profileRepository.restoreFromArchive(id, now, auditor);
+        }
+        if (restored == 0) {
+            throw new ResourceNotFoundException("Deleted profile", id);
+        }
+
+        Profile restoredProfile = profileRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile", id));
+
+        eventPublisher.publishEvent(new ProfileChangedEvent(id));
+        log.info("Khôi phục profile thành công với ID: {}", id);
+        return profileMapper.toResponseDTO(restoredProfile);
+    }
+
     /**
      * Xóa toàn bộ cache của profile.
      * Sử dụng khi cần làm mới dữ liệu cache sau khi thay đổi schema hoặc migration.
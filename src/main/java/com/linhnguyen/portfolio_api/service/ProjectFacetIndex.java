@@ -0,0 +1,235 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.dto.response.ProjectFilterResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.event.ProjectChangedEvent;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index dạng bitmap cho các project đang hoạt động.
+ *
+ * Mỗi giá trị technology / category / status được ánh xạ tới một {@link BitSet},
+ * bit thứ i bật nghĩa là project ở vị trí i (theo displayOrder) có giá trị đó.
+ * Lọc AND/OR và đếm facet chỉ là các phép and/or trên bitset, không truy vấn database.
+ *
+ * Index là immutable snapshot, được build lại toàn bộ khi khởi động và sau mỗi lần
+ * project thay đổi (sau khi transaction commit). Đọc không cần lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectFacetIndex {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMapper projectMapper;
+
+    /** Snapshot hiện tại, được thay thế nguyên khối mỗi lần rebuild */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Build index lần đầu khi ứng dụng đã sẵn sàng.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild index sau khi transaction thay đổi project đã commit.
+     * Chạy trong transaction mới (read-only) để đọc được dữ liệu vừa commit.
+     *
+     * @param event Event thay đổi project
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        log.debug("Project thay đổi (ID: {}). Rebuild facet index.", event.projectId());
+        rebuild();
+    }
+
+    /**
+     * Build lại toàn bộ index từ danh sách project đang hoạt động.
+     * Synchronized để tránh 2 lần rebuild song song ghi đè lẫn nhau.
+     */
+    public synchronized void rebuild() {
+        List<ProjectResponseDTO> projects = projectRepository.findAllByIsDeletedFalseOrderByDisplayOrderAsc()
+                .stream()
+                .map(projectMapper::toResponseDTO)
+                .toList();
+
+        Facet technologies = new Facet();
+        Facet categories = new Facet();
+        Facet statuses = new Facet();
+
+        for (int i = 0; i < projects.size(); i++) {
+            ProjectResponseDTO project = projects.get(i);
+            if (project.getTechnologies() != null) {
+                for (String technology : project.getTechnologies()) {
+                    technologies.add(technology, i);
+                }
+            }
+            categories.add(project.getCategory(), i);
+            statuses.add(project.getStatus(), i);
+        }
+
+        snapshot = new Snapshot(projects, technologies, categories, statuses);
+        log.info("Đã build facet index cho {} project ({} technology, {} category, {} status)",
+                projects.size(), technologies.size(), categories.size(), statuses.size());
+    }
+
+    /**
+     * Lọc project theo technology, category và status.
+     *
+     * - Các technology được kết hợp theo AND (phải có tất cả) hoặc OR (có ít nhất một).
+     * - Nhiều category / nhiều status được kết hợp theo OR trong cùng một nhóm.
+     * - Các nhóm khác nhau được kết hợp theo AND.
+     *
+     * Facet counts được tính trên tập kết quả sau khi lọc.
+     *
+     * @param technologies         Danh sách công nghệ cần lọc (có thể rỗng)
+     * @param categories           Danh sách category cần lọc (có thể rỗng)
+     * @param statuses             Danh sách status cần lọc (có thể rỗng)
+     * @param matchAllTechnologies true = AND, false = OR cho các technology
+     * @return Kết quả lọc kèm facet counts
+     */
+    public ProjectFilterResponseDTO filter(Collection<String> technologies,
+                                           Collection<String> categories,
+                                           Collection<String> statuses,
+                                           boolean matchAllTechnologies) {
+        Snapshot current = snapshot;
+        int size = current.projects().size();
+
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+
+        if (!isEmpty(technologies)) {
+            result.and(matchAllTechnologies
+                    ? current.technologies().intersect(technologies, size)
+                    : current.technologies().union(technologies, size));
+        }
+        if (!isEmpty(categories)) {
+            result.and(current.categories().union(categories, size));
+        }
+        if (!isEmpty(statuses)) {
+            result.and(current.statuses().union(statuses, size));
+        }
+
+        List<ProjectResponseDTO> matched = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            matched.add(current.projects().get(i));
+        }
+
+        return ProjectFilterResponseDTO.builder()
+                .projects(matched)
+                .total(matched.size())
+                .match(matchAllTechnologies ? "AND" : "OR")
+                .technologyCounts(current.technologies().counts(result))
+                .categoryCounts(current.categories().counts(result))
+                .statusCounts(current.statuses().counts(result))
+                .build();
+    }
+
+    private static boolean isEmpty(Collection<String> values) {
+        return values == null || values.isEmpty();
+    }
+
+    /**
+     * Chuẩn hóa giá trị facet: trim + lowercase để so khớp không phân biệt hoa thường.
+     */
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Một chiều facet: ánh xạ giá trị đã chuẩn hóa -> bitset project.
+     * Giữ lại nhãn hiển thị gốc (lần xuất hiện đầu tiên) để trả về cho client.
+     */
+    private static final class Facet {
+
+        private final Map<String, BitSet> bitsByKey = new LinkedHashMap<>();
+        private final Map<String, String> labelsByKey = new LinkedHashMap<>();
+
+        void add(String value, int position) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = normalize(value);
+            bitsByKey.computeIfAbsent(key, k -> new BitSet()).set(position);
+            labelsByKey.putIfAbsent(key, value.trim());
+        }
+
+        int size() {
+            return bitsByKey.size();
+        }
+
+        BitSet union(Collection<String> values, int size) {
+            BitSet bits = new BitSet(size);
+            for (String value : values) {
+                if (value == null || value.isBlank()) {
+                    continue;
+                }
+                BitSet valueBits = bitsByKey.get(normalize(value));
+                if (valueBits != null) {
+                    bits.or(valueBits);
+                }
+            }
+            return bits;
+        }
+
+        BitSet intersect(Collection<String> values, int size) {
+            BitSet bits = new BitSet(size);
+            bits.set(0, size);
+            for (String value : values) {
+                if (value == null || value.isBlank()) {
+                    continue;
+                }
+                BitSet valueBits = bitsByKey.get(normalize(value));
+                if (valueBits == null) {
+                    return new BitSet(size);
+                }
+                bits.and(valueBits);
+            }
+            return bits;
+        }
+
+        Map<String, Integer> counts(BitSet result) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            bitsByKey.forEach((key, bits) -> {
+                BitSet intersection = (BitSet) bits.clone();
+                intersection.and(result);
+                counts.put(labelsByKey.get(key), intersection.cardinality());
+            });
+            return Collections.unmodifiableMap(counts);
+        }
+    }
+
+    /**
+     * Snapshot bất biến của index tại một thời điểm.
+     */
+    private record Snapshot(List<ProjectResponseDTO> projects,
+                            Facet technologies,
+                            Facet categories,
+                            Facet statuses) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), new Facet(), new Facet(), new Facet());
+    }
+}
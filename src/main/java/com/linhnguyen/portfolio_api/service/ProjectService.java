@@ -2,20 +2,34 @@ package com.linhnguyen.portfolio_api.service;
 
 import com.linhnguyen.portfolio_api.dto.request.ProjectCreateDTO;
 import com.linhnguyen.portfolio_api.dto.request.ProjectUpdateDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectFilterResponseDTO;
 import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectSearchResultDTO;
 import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.event.ProjectChangedEvent;
+import com.linhnguyen.portfolio_api.event.StatCountersChangedEvent;
 import com.linhnguyen.portfolio_api.exception.DuplicateResourceException;
+import com.linhnguyen.portfolio_api.exception.PreconditionFailedException;
 import com.linhnguyen.portfolio_api.exception.ResourceNotFoundException;
 import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
 import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository.ProjectSearchHit;
+import com.linhnguyen.portfolio_api.util.ConstraintViolations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service xử lý logic nghiệp vụ cho Project.
@@ -27,8 +41,14 @@ import java.util.List;
 @Slf4j
 public class ProjectService {
 
+    /** Unique index đảm bảo tiêu đề không trùng trong các project chưa xóa */
+    private static final String TITLE_UNIQUE_INDEX = "uk_projects_title_active";
+
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
+    private final ProjectFacetIndex projectFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditorAware<String> auditorProvider;
 
     /**
      * Lấy thông tin project theo ID với caching.
@@ -40,6 +60,7 @@ public class ProjectService {
      * @throws ResourceNotFoundException nếu không tìm thấy project
      */
     @Cacheable(value = "projects", key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public ProjectResponseDTO getProjectById(Long id) {
         log.info("Đang lấy project từ database với ID: {}", id);
         Project project = projectRepository.findByIdAndIsDeletedFalse(id)
@@ -54,6 +75,7 @@ public class ProjectService {
      * @return Danh sách DTO chứa thông tin các project
      */
     @Cacheable(value = "projects", key = "'all'")
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getAllProjects() {
         log.info("Đang lấy danh sách tất cả project từ database");
         return projectRepository.findAllByIsDeletedFalseOrderByDisplayOrderAsc()
@@ -69,6 +91,7 @@ public class ProjectService {
      * @return Danh sách DTO chứa thông tin các project nổi bật
      */
     @Cacheable(value = "projects", key = "'featured'")
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getFeaturedProjects() {
         log.info("Đang lấy danh sách project nổi bật từ database");
         return projectRepository.findAllByIsFeaturedTrueAndIsDeletedFalseOrderByDisplayOrderAsc()
@@ -85,6 +108,7 @@ public class ProjectService {
      * @return Danh sách DTO chứa thông tin các project theo category
      */
     @Cacheable(value = "projects", key = "'category_' + #category")
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getProjectsByCategory(String category) {
         log.info("Đang lấy danh sách project theo category: {}", category);
         return projectRepository.findAllByCategoryAndIsDeletedFalseOrderByDisplayOrderAsc(category)
@@ -101,6 +125,7 @@ public class ProjectService {
      * @return Danh sách DTO chứa thông tin các project theo status
      */
     @Cacheable(value = "projects", key = "'status_' + #status")
+    @Transactional(readOnly = true)
     public List<ProjectResponseDTO> getProjectsByStatus(String status) {
         log.info("Đang lấy danh sách project theo status: {}", status);
         return projectRepository.findAllByStatusAndIsDeletedFalseOrderByDisplayOrderAsc(status)
@@ -109,25 +134,72 @@ public class ProjectService {
                 .toList();
     }
 
+    /**
+     * Lọc project theo technology, category và status từ facet index in-memory.
+     * Không truy vấn database - index được rebuild mỗi khi project thay đổi.
+     *
+     * @param technologies         Danh sách công nghệ cần lọc
+     * @param categories           Danh sách category cần lọc
+     * @param statuses             Danh sách status cần lọc
+     * @param matchAllTechnologies true = project phải dùng tất cả công nghệ (AND), false = ít nhất một (OR)
+     * @return Kết quả lọc kèm facet counts
+     */
+    public ProjectFilterResponseDTO filterProjects(List<String> technologies,
+                                                   List<String> categories,
+                                                   List<String> statuses,
+                                                   boolean matchAllTechnologies) {
+        return projectFacetIndex.filter(technologies, categories, statuses, matchAllTechnologies);
+    }
+
+    /**
+     * Tìm kiếm full-text trên title, shortDescription và nội dung fullDescription.
+     * Kết quả được sắp xếp theo độ liên quan (ts_rank) và cache theo query đã chuẩn hóa,
+     * nên các truy vấn phổ biến không phải chạy lại phép xếp hạng.
+     * Cache bị xóa mỗi khi có project thay đổi.
+     *
+     * @param query Chuỗi tìm kiếm đã được chuẩn hóa (trim, lowercase)
+     * @param limit Số kết quả tối đa
+     * @return Danh sách kết quả kèm điểm rank và snippet
+     */
+    @Cacheable(value = "projectSearch", key = "#query + '|' + #limit")
+    @Transactional(readOnly = true)
+    public List<ProjectSearchResultDTO> searchProjects(String query, int limit) {
+        log.info("Đang tìm kiếm full-text project với query: '{}'", query);
+
+        List<ProjectSearchHit> hits = projectRepository.searchByFullText(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Project> projectsById = projectRepository.findAllById(
+                        hits.stream().map(ProjectSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> projectsById.containsKey(hit.getId()))
+                .map(hit -> ProjectSearchResultDTO.builder()
+                        .project(projectMapper.toResponseDTO(projectsById.get(hit.getId())))
+                        .rank(hit.getRank())
+                        .snippet(hit.getSnippet())
+                        .build())
+                .toList();
+    }
+
     /**
      * Tạo mới project.
-     * Kiểm tra trùng lặp tiêu đề trước khi tạo.
+     * Trùng lặp tiêu đề được phát hiện bởi unique index khi insert, không cần query kiểm tra trước.
      * Sử dụng @Transactional để đảm bảo tính toàn vẹn dữ liệu.
      *
      * @param request DTO chứa thông tin project cần tạo
      * @return DTO chứa thông tin project vừa được tạo
      * @throws DuplicateResourceException nếu tiêu đề đã tồn tại
      */
-    @CacheEvict(value = "projects", allEntries = true)
+    @CacheEvict(value = {"projects", "projectSearch"}, allEntries = true)
     @Transactional
     public ProjectResponseDTO createProject(ProjectCreateDTO request) {
         log.info("Đang tạo project mới với tiêu đề: {}", request.getTitle());
 
-        // Kiểm tra tiêu đề đã tồn tại chưa
-        if (projectRepository.existsByTitleAndIsDeletedFalse(request.getTitle())) {
-            throw new DuplicateResourceException("Project", "title", request.getTitle());
-        }
-
         Project project = projectMapper.toEntity(request);
         project.setIsDeleted(false);
 
@@ -142,40 +214,67 @@ public class ProjectService {
             project.setStatus("completed");
         }
 
-        Project savedProject = projectRepository.save(project);
+        Project savedProject;
+        try {
+            savedProject = projectRepository.saveAndFlush(project);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateTitle(e, request.getTitle());
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId()));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.projectDeltas(savedProject, 1)));
 
         log.info("Tạo project thành công với ID: {}", savedProject.getId());
         return projectMapper.toResponseDTO(savedProject);
     }
 
     /**
-     * Cập nhật thông tin project.
+     * Cập nhật thông tin project bằng một câu UPDATE có điều kiện.
+     * Nếu có expectedVersion (từ If-Match), chỉ cập nhật khi bản ghi chưa bị ai sửa sau khi client đọc.
      * Xóa cache sau khi cập nhật để đảm bảo tính nhất quán dữ liệu.
      *
-     * @param id      ID của project cần cập nhật
-     * @param request DTO chứa thông tin cập nhật
+     * @param id              ID của project cần cập nhật
+     * @param request         DTO chứa thông tin cập nhật
+     * @param expectedVersion Version client đã đọc, null = không kiểm tra
      * @return DTO chứa thông tin project sau khi cập nhật
-     * @throws ResourceNotFoundException nếu không tìm thấy project
+     * @throws ResourceNotFoundException   nếu không tìm thấy project
+     * @throws PreconditionFailedException nếu version không khớp
+     * @throws DuplicateResourceException  nếu tiêu đề mới trùng với project khác
      */
-    @CacheEvict(value = "projects", allEntries = true)
+    @CacheEvict(value = {"projects", "projectSearch"}, allEntries = true)
     @Transactional
-    public ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO request) {
+    public ProjectResponseDTO updateProject(Long id, ProjectUpdateDTO request, Long expectedVersion) {
         log.info("Đang cập nhật project với ID: {}. Xóa cache.", id);
 
-        Project project = projectRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project", id));
+        // Chỉ đọc trạng thái cũ khi thay đổi có thể làm lệch bộ đếm thống kê
+        Project previous = affectsStatCounters(request)
+                ? projectRepository.findByIdAndIsDeletedFalse(id).orElse(null)
+                : null;
+        Map<String, Long> previousCounters = previous != null ? AdminStatsCounters.projectDeltas(previous, -1) : null;
+
+        int updated;
+        try {
+            updated = projectRepository.updateIfCurrent(id, request, expectedVersion,
+                    LocalDateTime.now(), auditorProvider.getCurrentAuditor().orElse(null));
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateTitle(e, request.getTitle());
+        }
 
-        // Kiểm tra tiêu đề trùng lặp (nếu có thay đổi)
-        if (request.getTitle() != null && !request.getTitle().equals(project.getTitle())) {
-            if (projectRepository.existsByTitleAndIdNotAndIsDeletedFalse(request.getTitle(), id)) {
-                throw new DuplicateResourceException("Project", "title", request.getTitle());
+        if (updated == 0) {
+            if (!projectRepository.existsByIdAndIsDeletedFalse(id)) {
+                throw new ResourceNotFoundException("Project", id);
             }
+            throw new PreconditionFailedException("Project", id);
         }
 
-        projectMapper.updateEntityFromDTO(request, project);
-        Project savedProject = projectRepository.save(project);
+        Project savedProject = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", id));
+        eventPublisher.publishEvent(new ProjectChangedEvent(id));
+        if (previousCounters != null) {
+            eventPublisher.publishEvent(new StatCountersChangedEvent(
+                    AdminStatsCounters.merge(previousCounters, AdminStatsCounters.projectDeltas(savedProject, 1))));
+        }
 
-        log.info("Cập nhật project thành công với ID: {}", savedProject.getId());
+        log.info("Cập nhật project thành công với ID: {} (version {})", id, savedProject.getVersion());
         return projectMapper.toResponseDTO(savedProject);
     }
 
@@ -187,7 +286,7 @@ public class ProjectService {
      * @param id ID của project cần xóa
      * @throws ResourceNotFoundException nếu không tìm thấy project
      */
-    @CacheEvict(value = "projects", allEntries = true)
+    @CacheEvict(value = {"projects", "projectSearch"}, allEntries = true)
     @Transactional
     public void deleteProject(Long id) {
         log.info("Đang xóa project với ID: {}. Xóa cache.", id);
@@ -197,16 +296,77 @@ public class ProjectService {
 
         project.setIsDeleted(true);
         projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.projectDeltas(project, -1)));
 
         log.info("Xóa mềm project thành công với ID: {}", id);
     }
 
+    /**
+     * Khôi phục project đã xóa mềm, kể cả khi project đã bị chuyển sang archive.
+     *
+     * @param id ID của project cần khôi phục
+     * @return DTO chứa thông tin project sau khi khôi phục
+     * @throws ResourceNotFoundException  nếu không có project đã xóa với ID này
+     * @throws DuplicateResourceException nếu tiêu đề đã được project khác sử dụng
+     */
+    @CacheEvict(value = {"projects", "projectSearch"}, allEntries = true)
+    @Transactional
+    public ProjectResponseDTO restoreProject(Long id) {
+        log.info("Đang khôi phục project với ID: {}. Xóa cache.", id);
+
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+        try {
+            int restored = projectRepository.restoreSoftDeleted(id, now, auditor);
+            if (restored == 0) {
+                restored = projectRepository.restoreFromArchive(id, now, auditor);
+            }
+            if (restored == 0) {
+                throw new ResourceNotFoundException("Deleted project", id);
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, TITLE_UNIQUE_INDEX)) {
+                throw new DuplicateResourceException(
+                        String.format("Cannot restore project with id: %d, its title is used by another project", id));
+            }
+            throw e;
+        }
+
+        Project restoredProject = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", id));
+        eventPublisher.publishEvent(new ProjectChangedEvent(id));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.projectDeltas(restoredProject, 1)));
+
+        log.info("Khôi phục project thành công với ID: {}", id);
+        return projectMapper.toResponseDTO(restoredProject);
+    }
+
     /**
      * Xóa toàn bộ cache của projects.
      * Dùng khi cần refresh tất cả dữ liệu cache.
      */
-    @CacheEvict(value = "projects", allEntries = true)
+    @CacheEvict(value = {"projects", "projectSearch"}, allEntries = true)
     public void refreshAllProjectsCache() {
         log.info("Đang xóa toàn bộ cache của projects");
+        eventPublisher.publishEvent(new ProjectChangedEvent(null));
+    }
+
+    /**
+     * Cập nhật có thay đổi category, status hoặc cờ nổi bật hay không.
+     */
+    private static boolean affectsStatCounters(ProjectUpdateDTO request) {
+        return request.getCategory() != null || request.getStatus() != null || request.getIsFeatured() != null;
+    }
+
+    /**
+     * Chuyển lỗi vi phạm unique index tiêu đề thành DuplicateResourceException.
+     * Các lỗi toàn vẹn dữ liệu khác được ném lại nguyên vẹn.
+     */
+    private RuntimeException translateDuplicateTitle(DataIntegrityViolationException e, String title) {
+        if (ConstraintViolations.isViolationOf(e, TITLE_UNIQUE_INDEX)) {
+            return new DuplicateResourceException("Project", "title", title);
+        }
+        return e;
     }
 }
@@ -5,18 +5,27 @@ import com.linhnguyen.portfolio_api.dto.request.SkillUpdateDTO;
 import com.linhnguyen.portfolio_api.dto.response.SkillResponseDTO;
 import com.linhnguyen.portfolio_api.entity.Skill;
 import com.linhnguyen.portfolio_api.entity.SkillCategory;
+import com.linhnguyen.portfolio_api.event.SkillChangedEvent;
+import com.linhnguyen.portfolio_api.event.StatCountersChangedEvent;
 import com.linhnguyen.portfolio_api.exception.DuplicateResourceException;
+import com.linhnguyen.portfolio_api.exception.PreconditionFailedException;
 import com.linhnguyen.portfolio_api.exception.ResourceNotFoundException;
 import com.linhnguyen.portfolio_api.mapper.SkillMapper;
 import com.linhnguyen.portfolio_api.repository.SkillRepository;
+import com.linhnguyen.portfolio_api.util.ConstraintViolations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service xử lý logic nghiệp vụ cho Skill.
@@ -28,8 +37,13 @@ import java.util.List;
 @Slf4j
 public class SkillService {
 
+    /** Unique index đảm bảo tên không trùng trong các skill chưa xóa */
+    private static final String NAME_UNIQUE_INDEX = "uk_skills_name_active";
+
     private final SkillRepository skillRepository;
     private final SkillMapper skillMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditorAware<String> auditorProvider;
 
     /**
      * Lấy thông tin skill theo ID với caching.
@@ -41,6 +55,7 @@ public class SkillService {
      * @throws ResourceNotFoundException nếu không tìm thấy skill
      */
     @Cacheable(value = "skills", key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public SkillResponseDTO getSkillById(Long id) {
         log.info("Đang lấy skill từ database với ID: {}", id);
         Skill skill = skillRepository.findByIdAndIsDeletedFalse(id)
@@ -53,6 +68,7 @@ public class SkillService {
      *
      * @return Danh sách DTO chứa thông tin các skill
      */
+    @Transactional(readOnly = true)
     public List<SkillResponseDTO> getAllSkills() {
         log.info("Đang lấy danh sách tất cả skill từ database");
         return skillRepository.findAllByIsDeletedFalse()
@@ -69,6 +85,7 @@ public class SkillService {
      * @param category Danh mục cần lọc
      * @return Danh sách DTO chứa thông tin các skill thuộc danh mục đó
      */
+    @Transactional(readOnly = true)
     public List<SkillResponseDTO> getSkillsByCategory(SkillCategory category) {
         log.info("Đang lấy danh sách skill theo danh mục: {}", category);
         return skillRepository.findByCategoryAndIsDeletedFalseOrderByPriorityAsc(category)
@@ -79,7 +96,7 @@ public class SkillService {
 
     /**
      * Tạo mới skill.
-     * Kiểm tra trùng lặp tên trước khi tạo.
+     * Trùng lặp tên được phát hiện bởi unique index khi insert, không cần query kiểm tra trước.
      * Sử dụng @Transactional để đảm bảo tính toàn vẹn dữ liệu.
      *
      * @param request DTO chứa thông tin skill cần tạo
@@ -90,40 +107,69 @@ public class SkillService {
     public SkillResponseDTO createSkill(SkillCreateDTO request) {
         log.info("Đang tạo skill mới với tên: {}", request.getName());
 
-        // Kiểm tra tên skill đã tồn tại chưa
-        if (skillRepository.existsByNameAndIsDeletedFalse(request.getName())) {
-            throw new DuplicateResourceException("Skill", "name", request.getName());
-        }
-
         Skill skill = skillMapper.toEntity(request);
         skill.setIsDeleted(false);
-        Skill savedSkill = skillRepository.save(skill);
+        Skill savedSkill;
+        try {
+            savedSkill = skillRepository.saveAndFlush(skill);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateName(e, request.getName());
+        }
+        eventPublisher.publishEvent(new SkillChangedEvent(savedSkill.getId()));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.skillDeltas(savedSkill, 1)));
 
         log.info("Tạo skill thành công với ID: {}", savedSkill.getId());
         return skillMapper.toResponseDTO(savedSkill);
     }
 
     /**
-     * Cập nhật thông tin skill.
+     * Cập nhật thông tin skill bằng một câu UPDATE có điều kiện.
+     * Nếu có expectedVersion (từ If-Match), chỉ cập nhật khi bản ghi chưa bị ai sửa sau khi client đọc.
      * Xóa cache sau khi cập nhật để đảm bảo tính nhất quán dữ liệu.
      *
-     * @param id      ID của skill cần cập nhật
-     * @param request DTO chứa thông tin cập nhật
+     * @param id              ID của skill cần cập nhật
+     * @param request         DTO chứa thông tin cập nhật
+     * @param expectedVersion Version client đã đọc, null = không kiểm tra
      * @return DTO chứa thông tin skill sau khi cập nhật
-     * @throws ResourceNotFoundException nếu không tìm thấy skill
+     * @throws ResourceNotFoundException   nếu không tìm thấy skill
+     * @throws PreconditionFailedException nếu version không khớp
+     * @throws DuplicateResourceException  nếu tên mới trùng với skill khác
      */
     @CacheEvict(value = "skills", key = "#id")
     @Transactional
-    public SkillResponseDTO updateSkill(Long id, SkillUpdateDTO request) {
+    public SkillResponseDTO updateSkill(Long id, SkillUpdateDTO request, Long expectedVersion) {
         log.info("Đang cập nhật skill với ID: {}. Xóa cache.", id);
 
-        Skill skill = skillRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Skill", id));
+        // Chỉ đọc trạng thái cũ khi đổi category (làm lệch bộ đếm thống kê)
+        Skill previous = request.getCategory() != null
+                ? skillRepository.findByIdAndIsDeletedFalse(id).orElse(null)
+                : null;
+        Map<String, Long> previousCounters = previous != null ? AdminStatsCounters.skillDeltas(previous, -1) : null;
 
-        skillMapper.updateEntityFromDTO(request, skill);
-        Skill savedSkill = skillRepository.save(skill);
+        int updated;
+        try {
+            updated = skillRepository.updateIfCurrent(id, request, expectedVersion,
+                    LocalDateTime.now(), auditorProvider.getCurrentAuditor().orElse(null));
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateName(e, request.getName());
+        }
 
-        log.info("Cập nhật skill thành công với ID: {}", savedSkill.getId());
+        if (updated == 0) {
+            if (!skillRepository.existsByIdAndIsDeletedFalse(id)) {
+                throw new ResourceNotFoundException("Skill", id);
+            }
+            throw new PreconditionFailedException("Skill", id);
+        }
+
+        Skill savedSkill = skillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Skill", id));
+        eventPublisher.publishEvent(new SkillChangedEvent(id));
+        if (previousCounters != null) {
+            eventPublisher.publishEvent(new StatCountersChangedEvent(
+                    AdminStatsCounters.merge(previousCounters, AdminStatsCounters.skillDeltas(savedSkill, 1))));
+        }
+
+        log.info("Cập nhật skill thành công với ID: {} (version {})", id, savedSkill.getVersion());
         return skillMapper.toResponseDTO(savedSkill);
     }
 
@@ -145,10 +191,52 @@ public class SkillService {
 
         skill.setIsDeleted(true);
         skillRepository.save(skill);
+        eventPublisher.publishEvent(new SkillChangedEvent(id));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.skillDeltas(skill, -1)));
 
         log.info("Xóa mềm skill thành công với ID: {}", id);
     }
 
+    /**
+     * Khôi phục skill đã xóa mềm, kể cả khi skill đã bị chuyển sang archive.
+     *
+     * @param id ID của skill cần khôi phục
+     * @return DTO chứa thông tin skill sau khi khôi phục
+     * @throws ResourceNotFoundException  nếu không có skill đã xóa với ID này
+     * @throws DuplicateResourceException nếu tên đã được skill khác sử dụng
+     */
+    @CacheEvict(value = "skills", key = "#id")
+    @Transactional
+    public SkillResponseDTO restoreSkill(Long id) {
+        log.info("Đang khôi phục skill với ID: {}. Xóa cache.", id);
+
+        LocalDateTime now = LocalDateTime.now();
+        String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+        try {
+            int restored = skillRepository.restoreSoftDeleted(id, now, auditor);
+            if (restored == 0) {
+                restored = skillRepository.restoreFromArchive(id, now, auditor);
+            }
+            if (restored == 0) {
+                throw new ResourceNotFoundException("Deleted skill", id);
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, NAME_UNIQUE_INDEX)) {
+                throw new DuplicateResourceException(
+                        String.format("Cannot restore skill with id: %d, its name is used by another skill", id));
+            }
+            throw e;
+        }
+
+        Skill restoredSkill = skillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Skill", id));
+        eventPublisher.publishEvent(new SkillChangedEvent(id));
+        eventPublisher.publishEvent(new StatCountersChangedEvent(AdminStatsCounters.skillDeltas(restoredSkill, 1)));
+
+        log.info("Khôi phục skill thành công với ID: {}", id);
+        return skillMapper.toResponseDTO(restoredSkill);
+    }
+
     /**
      * Xóa toàn bộ cache của skills.
      * Dùng khi cần refresh tất cả dữ liệu cache.
@@ -156,5 +244,17 @@ public class SkillService {
     @CacheEvict(value = "skills", allEntries = true)
     public void refreshAllSkillsCache() {
         log.info("Đang xóa toàn bộ cache của skills");
+        eventPublisher.publishEvent(new SkillChangedEvent(null));
+    }
+
+    /**
+     * Chuyển lỗi vi phạm unique index tên thành DuplicateResourceException.
+     * Các lỗi toàn vẹn dữ liệu khác được ném lại nguyên vẹn.
+     */
+    private RuntimeException translateDuplicateName(DataIntegrityViolationException e, String name) {
+        if (ConstraintViolations.isViolationOf(e, NAME_UNIQUE_INDEX)) {
+            return new DuplicateResourceException("Skill", "name", name);
+        }
+        return e;
     }
 }
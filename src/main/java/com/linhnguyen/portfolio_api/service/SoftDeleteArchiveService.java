@@ -0,0 +1,52 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.repository.ContactMessageRepository;
+import com.linhnguyen.portfolio_api.repository.ProfileRepository;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import com.linhnguyen.portfolio_api.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chuyển bản ghi đã xóa mềm từ bảng chính sang bảng archive tương ứng.
+ * Mỗi lần gọi là một batch trong một transaction riêng, để lock và WAL của mỗi transaction nhỏ.
+ * Khôi phục từ archive nằm ở service của từng loại dữ liệu (ProjectService, SkillService, ProfileService).
+ */
+@Service
+@RequiredArgsConstructor
+public class SoftDeleteArchiveService {
+
+    /**
+     * Các bảng được archive.
+     */
+    public enum ArchiveTarget {
+        PROJECTS, SKILLS, PROFILE, CONTACT_MESSAGES
+    }
+
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+    private final ProfileRepository profileRepository;
+    private final ContactMessageRepository contactMessageRepository;
+
+    /**
+     * Archive một batch bản ghi đã xóa mềm trước cutoff.
+     *
+     * @param target Bảng cần archive
+     * @param cutoff Bản ghi xóa mềm trước thời điểm này được archive
+     * @param limit  Số row tối đa
+     * @return Số row đã chuyển sang archive
+     */
+    @Transactional
+    public int archiveBatch(ArchiveTarget target, LocalDateTime cutoff, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (target) {
+            case PROJECTS -> projectRepository.archiveDeletedBefore(cutoff, limit, now);
+            case SKILLS -> skillRepository.archiveDeletedBefore(cutoff, limit, now);
+            case PROFILE -> profileRepository.archiveDeletedBefore(cutoff, limit, now);
+            case CONTACT_MESSAGES -> contactMessageRepository.archiveDeletedBefore(cutoff, limit, now);
+        };
+    }
+}
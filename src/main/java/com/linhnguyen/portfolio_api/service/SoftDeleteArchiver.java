@@ -0,0 +1,65 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.config.ArchiveProperties;
+import com.linhnguyen.portfolio_api.service.SoftDeleteArchiveService.ArchiveTarget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job nền chuyển bản ghi đã xóa mềm quá thời gian ân hạn sang bảng archive.
+ *
+ * Mỗi bảng được xử lý theo batch cho tới khi hết row đủ điều kiện, mỗi batch một transaction.
+ * Nhiều node có thể chạy cùng lúc: SKIP LOCKED đảm bảo mỗi row chỉ được một node chuyển.
+ * Row đã xóa mềm vốn không hiển thị nên không cần xóa cache hay rebuild index khi archive.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SoftDeleteArchiver {
+
+    /** Số batch tối đa cho mỗi bảng trong một lượt, tránh một lượt chạy quá lâu */
+    private static final int MAX_BATCHES_PER_RUN = 100;
+
+    private final SoftDeleteArchiveService archiveService;
+    private final ArchiveProperties properties;
+
+    /**
+     * Archive định kỳ theo cron cấu hình.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getGracePeriod());
+        for (ArchiveTarget target : ArchiveTarget.values()) {
+            try {
+                int archived = archiveTarget(target, cutoff);
+                if (archived > 0) {
+                    log.info("Đã chuyển {} bản ghi đã xóa mềm của {} sang archive", archived, target);
+                }
+            } catch (Exception e) {
+                // Batch lỗi được rollback, lượt sau thử lại; các bảng khác vẫn được xử lý
+                log.error("Lỗi khi archive {}: {}", target, e.getMessage(), e);
+            }
+        }
+    }
+
+    private int archiveTarget(ArchiveTarget target, LocalDateTime cutoff) {
+        int batchSize = properties.getBatchSize();
+        int total = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            int moved = archiveService.archiveBatch(target, cutoff, batchSize);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
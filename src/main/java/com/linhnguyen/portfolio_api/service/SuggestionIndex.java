@@ -0,0 +1,370 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.dto.response.SuggestionDTO;
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.entity.Skill;
+import com.linhnguyen.portfolio_api.event.ProjectChangedEvent;
+import com.linhnguyen.portfolio_api.event.SkillChangedEvent;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import com.linhnguyen.portfolio_api.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index autocomplete in-memory cho ô tìm kiếm (search-as-you-type).
+ *
+ * Dữ liệu nguồn: title, technologies, category của Project và name của Skill.
+ * Mỗi gợi ý được chuẩn hóa (lowercase, bỏ dấu tiếng Việt) và chèn vào một trie
+ * dưới dạng cụm đầy đủ và các hậu tố bắt đầu tại mỗi từ, để "boot" vẫn gợi ý "Spring Boot".
+ *
+ * Mỗi node của trie lưu sẵn danh sách top-N gợi ý tốt nhất trong cây con,
+ * nên tra cứu prefix chỉ là đi xuống trie rồi đọc mảng có sẵn.
+ * Khớp gần đúng (gõ sai chính tả) dùng edit distance có giới hạn: duyệt trie
+ * kèm một hàng DP, cắt nhánh ngay khi mọi ô trong hàng vượt ngưỡng cho phép.
+ *
+ * Index là immutable snapshot, được build lại khi khởi động và sau mỗi lần
+ * project / skill thay đổi (sau khi transaction commit). Đọc không cần lock,
+ * không truy vấn database hay cache cho mỗi request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestionIndex {
+
+    /** Số gợi ý tối đa lưu sẵn tại mỗi node của trie */
+    static final int MAX_SUGGESTIONS_PER_NODE = 20;
+
+    /** Độ dài tối đa của từ khóa được xử lý (phần dư bị cắt bỏ) */
+    private static final int MAX_QUERY_LENGTH = 50;
+
+    /** Trọng số cơ bản theo loại gợi ý, loại quan trọng hơn được ưu tiên khi cùng distance */
+    private static final int WEIGHT_PROJECT = 400;
+    private static final int WEIGHT_TECHNOLOGY = 300;
+    private static final int WEIGHT_SKILL = 200;
+    private static final int WEIGHT_CATEGORY = 100;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}+#.]+");
+
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+
+    /** Snapshot hiện tại, được thay thế nguyên khối mỗi lần rebuild */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Build index lần đầu khi ứng dụng đã sẵn sàng.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild index sau khi transaction thay đổi project đã commit.
+     *
+     * @param event Event thay đổi project
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        log.debug("Project thay đổi (ID: {}). Rebuild suggestion index.", event.projectId());
+        rebuild();
+    }
+
+    /**
+     * Rebuild index sau khi transaction thay đổi skill đã commit.
+     *
+     * @param event Event thay đổi skill
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSkillChanged(SkillChangedEvent event) {
+        log.debug("Skill thay đổi (ID: {}). Rebuild suggestion index.", event.skillId());
+        rebuild();
+    }
+
+    /**
+     * Build lại toàn bộ index từ project và skill đang hoạt động.
+     * Synchronized để tránh 2 lần rebuild song song ghi đè lẫn nhau.
+     */
+    public synchronized void rebuild() {
+        // Gom gợi ý theo (type, text đã chuẩn hóa) để technology dùng ở nhiều project chỉ xuất hiện một lần
+        Map<String, Entry> entriesByKey = new LinkedHashMap<>();
+
+        for (Project project : projectRepository.findAllByIsDeletedFalseOrderByDisplayOrderAsc()) {
+            addEntry(entriesByKey, project.getTitle(), "PROJECT", project.getId(), WEIGHT_PROJECT);
+            if (project.getTechnologies() != null) {
+                for (String technology : project.getTechnologies()) {
+                    addEntry(entriesByKey, technology, "TECHNOLOGY", null, WEIGHT_TECHNOLOGY);
+                }
+            }
+            addEntry(entriesByKey, project.getCategory(), "CATEGORY", null, WEIGHT_CATEGORY);
+        }
+        for (Skill skill : skillRepository.findAllByIsDeletedFalse()) {
+            addEntry(entriesByKey, skill.getName(), "SKILL", null, WEIGHT_SKILL);
+        }
+
+        // Sắp xếp entry theo độ ưu tiên, sau đó id của entry chính là thứ hạng của nó
+        List<Entry> sorted = new ArrayList<>(entriesByKey.values());
+        sorted.sort(Comparator.comparingInt(Entry::weight).reversed()
+                .thenComparingInt(entry -> entry.text().length())
+                .thenComparing(Entry::text, String.CASE_INSENSITIVE_ORDER));
+        Entry[] entries = sorted.toArray(new Entry[0]);
+
+        BuilderNode root = new BuilderNode();
+        for (int rank = 0; rank < entries.length; rank++) {
+            for (String key : indexKeys(entries[rank].normalized())) {
+                root.insert(key, rank);
+            }
+        }
+
+        snapshot = new Snapshot(root.freeze(), entries);
+        log.info("Đã build suggestion index với {} gợi ý", entries.length);
+    }
+
+    /**
+     * Tìm gợi ý cho từ khóa đang gõ.
+     *
+     * Gợi ý khớp prefix chính xác (distance 0) luôn đứng trước gợi ý khớp gần đúng.
+     * Ngưỡng sai lệch tăng theo độ dài từ khóa: 0 với 1-2 ký tự, 1 với 3-5 ký tự, 2 từ 6 ký tự trở lên.
+     *
+     * @param query Từ khóa người dùng đang gõ
+     * @param limit Số gợi ý tối đa
+     * @return Danh sách gợi ý đã xếp hạng
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        Snapshot current = snapshot;
+        int maxDistance = maxDistanceFor(normalized.length());
+
+        // rank -> distance nhỏ nhất tìm được
+        Map<Integer, Integer> distances = new HashMap<>();
+        char[] target = normalized.toCharArray();
+        int[] firstRow = new int[target.length + 1];
+        for (int j = 0; j <= target.length; j++) {
+            firstRow[j] = j;
+        }
+        collect(current.root(), target, firstRow, null, '\0', maxDistance, distances);
+
+        List<Map.Entry<Integer, Integer>> hits = new ArrayList<>(distances.entrySet());
+        // Rank nhỏ hơn = ưu tiên cao hơn, nên chỉ cần sort theo (distance, rank)
+        hits.sort(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+
+        List<SuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, hits.size()));
+        for (Map.Entry<Integer, Integer> hit : hits) {
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            Entry entry = current.entries()[hit.getKey()];
+            suggestions.add(SuggestionDTO.builder()
+                    .text(entry.text())
+                    .type(entry.type())
+                    .projectId(entry.projectId())
+                    .distance(hit.getValue())
+                    .build());
+        }
+        return suggestions;
+    }
+
+    /**
+     * Duyệt trie kèm hàng DP edit distance (khoảng cách giữa từ khóa và prefix của key).
+     * Dùng biến thể optimal string alignment: đổi chỗ 2 ký tự liền kề ("jvaa" -> "java") tính là 1 thao tác.
+     *
+     * row[j] = số thao tác sửa tối thiểu để biến prefix hiện tại của key thành j ký tự đầu của từ khóa.
+     * Khi row[m] nằm trong ngưỡng, toàn bộ cây con của node đều là gợi ý hợp lệ.
+     * Chỉ đi tiếp xuống khi còn khả năng giảm distance (có ô nhỏ hơn row[m]) và còn ô nằm trong ngưỡng.
+     *
+     * @param prevRow   Hàng DP của node cha (null tại root), dùng cho phép đổi chỗ
+     * @param prevLabel Nhãn của cạnh dẫn tới node hiện tại
+     */
+    private static void collect(Node node, char[] target, int[] row, int[] prevRow, char prevLabel,
+                                int maxDistance, Map<Integer, Integer> distances) {
+        int m = target.length;
+        int distance = row[m];
+        int rowMin = Integer.MAX_VALUE;
+        for (int value : row) {
+            rowMin = Math.min(rowMin, value);
+        }
+
+        if (distance <= maxDistance) {
+            for (int rank : node.top) {
+                distances.merge(rank, distance, Math::min);
+            }
+            if (rowMin >= distance) {
+                return;
+            }
+        } else if (rowMin > maxDistance) {
+            return;
+        }
+
+        for (int i = 0; i < node.labels.length; i++) {
+            char label = node.labels[i];
+            int[] next = new int[m + 1];
+            next[0] = row[0] + 1;
+            for (int j = 1; j <= m; j++) {
+                int substitution = row[j - 1] + (target[j - 1] == label ? 0 : 1);
+                next[j] = Math.min(Math.min(row[j] + 1, next[j - 1] + 1), substitution);
+                if (prevRow != null && j > 1 && target[j - 1] == prevLabel && target[j - 2] == label) {
+                    next[j] = Math.min(next[j], prevRow[j - 2] + 1);
+                }
+            }
+            collect(node.children[i], target, next, row, label, maxDistance, distances);
+        }
+    }
+
+    private static int maxDistanceFor(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    private static void addEntry(Map<String, Entry> entriesByKey, String text, String type,
+                                 Long projectId, int weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String label = text.trim();
+        String normalized = normalize(label);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        // Technology / category càng phổ biến càng được ưu tiên
+        entriesByKey.merge(type + "|" + normalized,
+                new Entry(label, normalized, type, projectId, weight),
+                (existing, added) -> new Entry(existing.text(), existing.normalized(), existing.type(),
+                        existing.projectId(), existing.weight() + 1));
+    }
+
+    /**
+     * Sinh các key cần chèn vào trie: cụm đầy đủ và hậu tố bắt đầu tại mỗi từ.
+     */
+    private static List<String> indexKeys(String normalized) {
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Chuẩn hóa chuỗi: bỏ dấu tiếng Việt, lowercase, gộp ký tự phân cách thành một khoảng trắng.
+     * Giữ lại '+', '#', '.' để phân biệt C++, C#, Node.js.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Một gợi ý trong index.
+     */
+    private record Entry(String text, String normalized, String type, Long projectId, int weight) {
+    }
+
+    /**
+     * Node trie dạng compact: mảng nhãn đã sắp xếp và mảng con song song,
+     * kèm top-N rank tốt nhất trong cây con.
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_RANKS = new int[0];
+
+        final char[] labels;
+        final Node[] children;
+        final int[] top;
+
+        Node(char[] labels, Node[] children, int[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        static Node empty() {
+            return new Node(NO_LABELS, NO_CHILDREN, NO_RANKS);
+        }
+    }
+
+    /**
+     * Node tạm dùng khi build, được "đóng băng" thành {@link Node} sau khi chèn xong.
+     */
+    private static final class BuilderNode {
+
+        private final TreeMap<Character, BuilderNode> children = new TreeMap<>();
+        private final List<Integer> ranks = new ArrayList<>(1);
+
+        void insert(String key, int rank) {
+            BuilderNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new BuilderNode());
+            }
+            node.ranks.add(rank);
+        }
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            // Top-N của cây con = merge top-N của các con và rank tại chính node này
+            int[] merged = ranks.stream().mapToInt(Integer::intValue).toArray();
+            for (Map.Entry<Character, BuilderNode> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                frozen[i] = child.getValue().freeze();
+                merged = mergeTop(merged, frozen[i].top);
+                i++;
+            }
+            return new Node(labels, frozen, merged);
+        }
+
+        private static int[] mergeTop(int[] left, int[] right) {
+            int[] all = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, all, left.length, right.length);
+            return Arrays.stream(all).sorted().distinct().limit(MAX_SUGGESTIONS_PER_NODE).toArray();
+        }
+    }
+
+    /**
+     * Snapshot bất biến của index tại một thời điểm.
+     */
+    private record Snapshot(Node root, Entry[] entries) {
+
+        static final Snapshot EMPTY = new Snapshot(Node.empty(), new Entry[0]);
+    }
+}
@@ -0,0 +1,121 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Giới hạn số request đồng thời, limit tự điều chỉnh theo độ trễ quan sát được (thuật toán gradient).
+ *
+ * Duy trì 2 trung bình trượt của RTT:
+ * - longRtt: RTT nền khi hệ thống không bị nghẽn (cửa sổ dài)
+ * - shortRtt: RTT hiện tại (cửa sổ ngắn)
+ *
+ * gradient = tolerance * longRtt / shortRtt, kẹp trong [0.5, 1].
+ * Khi RTT hiện tại tăng vọt (request đang xếp hàng chờ connection pool), gradient &lt; 1 và limit giảm
+ * theo tỉ lệ; khi RTT ổn định, limit tăng thêm sqrt(limit) mỗi mẫu để dò dung lượng còn trống.
+ *
+ * tryAcquire lock-free (CAS trên bộ đếm in-flight); cập nhật limit synchronized nhưng chỉ vài phép tính.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double shortAlpha;
+    private final double longAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Limit hiện tại (phần nguyên của estimatedLimit), đọc không cần lock */
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing, int shortWindow, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.shortAlpha = 2.0 / (shortWindow + 1);
+        this.longAlpha = 2.0 / (longWindow + 1);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Thử chiếm một slot.
+     *
+     * @return Số request đang xử lý (bao gồm request này) nếu thành công, -1 nếu đã đạt limit
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Trả slot và ghi nhận độ trễ của request.
+     *
+     * @param rttNanos        Thời gian xử lý request
+     * @param inFlightAtStart Số request đồng thời lúc request bắt đầu (giá trị trả về của tryAcquire)
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightAtStart);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+
+        shortRtt += shortAlpha * (rttNanos - shortRtt);
+        longRtt += longAlpha * (rttNanos - longRtt);
+
+        // RTT nền lệch quá xa so với hiện tại (tải đã giảm hoặc đổi mức ổn định): kéo dần về để hồi phục nhanh
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Ít request hơn một nửa limit: hệ thống không bị giới hạn bởi limit, mẫu không mang tín hiệu
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Limit hiện tại.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Số request đang xử lý.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,83 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linhnguyen.portfolio_api.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Filter load shedding: giới hạn số request đồng thời theo từng nhóm route.
+ *
+ * Chạy ngay sau CORS filter, trước Spring Security. Khi nhóm route đã đạt limit,
+ * request bị từ chối ngay với 503 + Retry-After thay vì xếp hàng chờ thread / connection pool,
+ * nên quá tải ở một nhóm (ví dụ public read) không kéo theo admin hay login.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiterRegistry registry;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiterRegistry registry, int retryAfterSeconds) {
+        this.registry = registry;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        RouteClass routeClass = RouteClass.classify(request.getMethod(), request.getServletPath());
+        if (routeClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = registry.get(routeClass);
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            log.warn("Load shedding: từ chối {} {} - nhóm {} đã đạt limit {}",
+                    request.getMethod(), request.getRequestURI(), routeClass, limiter.getLimit());
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlight);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .errorCode("SERVICE_OVERLOADED")
+                .message("Hệ thống đang quá tải, vui lòng thử lại sau")
+                .path(request.getRequestURI())
+                .build();
+
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,52 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.linhnguyen.portfolio_api.config.LoadSheddingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Giữ một {@link AdaptiveConcurrencyLimiter} riêng cho mỗi {@link RouteClass}.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<RouteClass, AdaptiveConcurrencyLimiter> limiters;
+
+    public ConcurrencyLimiterRegistry(LoadSheddingProperties properties) {
+        Map<RouteClass, AdaptiveConcurrencyLimiter> map = new EnumMap<>(RouteClass.class);
+        map.put(RouteClass.PUBLIC_READ, create(properties, properties.getPublicRead()));
+        map.put(RouteClass.CONTACT, create(properties, properties.getContact()));
+        map.put(RouteClass.LOGIN, create(properties, properties.getLogin()));
+        map.put(RouteClass.ADMIN, create(properties, properties.getAdmin()));
+        this.limiters = Collections.unmodifiableMap(map);
+        log.info("Load shedding - limit ban đầu: public={}, contact={}, login={}, admin={}",
+                properties.getPublicRead().getInitialLimit(), properties.getContact().getInitialLimit(),
+                properties.getLogin().getInitialLimit(), properties.getAdmin().getInitialLimit());
+    }
+
+    private static AdaptiveConcurrencyLimiter create(LoadSheddingProperties properties, LoadSheddingProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimiter(
+                limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                properties.getRttTolerance(), properties.getSmoothing(),
+                properties.getShortWindow(), properties.getLongWindow());
+    }
+
+    /**
+     * Lấy limiter của một nhóm route.
+     */
+    public AdaptiveConcurrencyLimiter get(RouteClass routeClass) {
+        return limiters.get(routeClass);
+    }
+
+    /**
+     * Toàn bộ limiter theo nhóm route (read-only).
+     */
+    public Map<RouteClass, AdaptiveConcurrencyLimiter> getAll() {
+        return limiters;
+    }
+}
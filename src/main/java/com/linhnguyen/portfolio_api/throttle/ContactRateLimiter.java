@@ -0,0 +1,99 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.linhnguyen.portfolio_api.config.ContactRateLimitProperties;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter in-memory cho form liên hệ, giới hạn song song theo IP client và theo email.
+ *
+ * Được gọi trước khi mở transaction, nên request spam bị từ chối mà không tốn connection DB.
+ * Giới hạn theo IP chặn được bot đổi email liên tục từ cùng một địa chỉ.
+ *
+ * Vì trạng thái chỉ nằm trong bộ nhớ, ngay sau khi khởi động (chưa đủ một cửa sổ email)
+ * limiter chưa biết các tin nhắn gửi trước lúc restart; trong khoảng đó ContactService
+ * vẫn kiểm tra thêm bằng database (xem {@link #isWarm()}).
+ */
+@Component
+@Slf4j
+public class ContactRateLimiter {
+
+    private final ContactRateLimitProperties properties;
+    private final SlidingWindowRateLimiter emailLimiter;
+    private final SlidingWindowRateLimiter ipLimiter;
+
+    /** Thời điểm bean được khởi tạo, dùng để xác định giai đoạn cold start */
+    private final long startedAtNanos = System.nanoTime();
+
+    public ContactRateLimiter(ContactRateLimitProperties properties) {
+        this.properties = properties;
+        this.emailLimiter = new SlidingWindowRateLimiter(
+                properties.getEmailMaxRequests(), properties.getEmailWindow(), properties.getMaxTrackedKeys());
+        this.ipLimiter = new SlidingWindowRateLimiter(
+                properties.getIpMaxRequests(), properties.getIpWindow(), properties.getMaxTrackedKeys());
+    }
+
+    /**
+     * Kiểm tra và ghi nhận một lần gửi tin nhắn liên hệ.
+     * IP được kiểm tra trước: bot đổi email bị chặn mà không làm đầy bộ nhớ theo email.
+     * Nếu sau đó email bị chặn, lượt của IP được hoàn lại: người dùng gửi lại cùng email
+     * không làm cả mạng (chung IP) hết hạn mức.
+     *
+     * @param email    Email người gửi
+     * @param clientIp IP của client
+     * @throws BusinessException 429 nếu vượt giới hạn
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        boolean checkIp = clientIp != null && !clientIp.isBlank();
+        if (checkIp) {
+            long waitNanos = ipLimiter.tryAcquire(clientIp);
+            if (waitNanos > 0) {
+                log.warn("Rate limit: IP {} vượt quá {} tin nhắn / {}",
+                        clientIp, properties.getIpMaxRequests(), properties.getIpWindow());
+                throw new BusinessException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        String.format("Too many messages from your network. Please wait %d minutes before sending again.",
+                                toMinutes(waitNanos))
+                );
+            }
+        }
+
+        long waitNanos = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            if (checkIp) {
+                ipLimiter.release(clientIp);
+            }
+            log.warn("Rate limit: Email {} vượt quá {} tin nhắn / {}",
+                    email, properties.getEmailMaxRequests(), properties.getEmailWindow());
+            throw new BusinessException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    String.format("You have recently sent a message. Please wait %d minutes before sending again.",
+                            toMinutes(waitNanos))
+            );
+        }
+    }
+
+    /**
+     * Limiter đã chạy đủ lâu (một cửa sổ email) để tự nắm toàn bộ lịch sử gửi gần đây hay chưa.
+     *
+     * @return true nếu không cần kiểm tra lại bằng database
+     */
+    public boolean isWarm() {
+        return properties.isEnabled()
+                && System.nanoTime() - startedAtNanos >= properties.getEmailWindow().toNanos();
+    }
+
+    private static long toMinutes(long nanos) {
+        // Làm tròn lên để không báo "0 phút"
+        return Math.max(1, (nanos + TimeUnit.MINUTES.toNanos(1) - 1) / TimeUnit.MINUTES.toNanos(1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.linhnguyen.portfolio_api.security.PublicReadRoutes;
+
+/**
+ * Phân nhóm route để áp dụng giới hạn concurrency riêng cho từng nhóm.
+ */
+public enum RouteClass {
+
+    /** GET công khai: profile, projects, skills, suggest */
+    PUBLIC_READ,
+
+    /** Gửi tin nhắn liên hệ */
+    CONTACT,
+
+    /** Đăng nhập admin */
+    LOGIN,
+
+    /** Các API quản trị */
+    ADMIN;
+
+    /**
+     * Xác định nhóm route của request.
+     *
+     * @param method      HTTP method
+     * @param servletPath Đường dẫn (không gồm context-path)
+     * @return Nhóm route, hoặc null nếu request không bị giới hạn (health, swagger, preflight...)
+     */
+    public static RouteClass classify(String method, String servletPath) {
+        if (servletPath.startsWith("/v1/admin")) {
+            return ADMIN;
+        }
+        if ("POST".equals(method)) {
+            if (servletPath.startsWith("/v1/auth/login")) {
+                return LOGIN;
+            }
+            if (servletPath.startsWith("/v1/contact")) {
+                return CONTACT;
+            }
+            return null;
+        }
+        if (PublicReadRoutes.isPublicRead(method, servletPath)) {
+            return PUBLIC_READ;
+        }
+        return null;
+    }
+}
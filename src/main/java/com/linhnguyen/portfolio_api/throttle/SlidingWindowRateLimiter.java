@@ -0,0 +1,122 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter cửa sổ trượt (sliding window log) giữ hoàn toàn trong bộ nhớ.
+ *
+ * Mỗi key giữ một ring buffer gồm maxRequests timestamp gần nhất. Request được chấp nhận
+ * khi timestamp cũ nhất trong buffer đã ra khỏi cửa sổ, nên giới hạn là chính xác
+ * (không bị "double burst" ở ranh giới như fixed window) với bộ nhớ O(maxRequests) mỗi key.
+ *
+ * Các key được lưu trong Caffeine cache: tự hết hạn khi không có request trong một cửa sổ
+ * và bị giới hạn số lượng, nên bộ nhớ luôn bị chặn kể cả khi bị spam nhiều key khác nhau.
+ * Chỉ khóa trên từng key, các key khác nhau không tranh chấp lock.
+ */
+public class SlidingWindowRateLimiter {
+
+    private final int maxRequests;
+    private final long windowNanos;
+    private final LongSupplier nanoTime;
+    private final Cache<String, Window> windows;
+
+    /**
+     * @param maxRequests    Số request tối đa trong một cửa sổ
+     * @param window         Độ dài cửa sổ trượt
+     * @param maxTrackedKeys Số key tối đa được theo dõi đồng thời
+     */
+    public SlidingWindowRateLimiter(int maxRequests, Duration window, long maxTrackedKeys) {
+        this(maxRequests, window, maxTrackedKeys, System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime Nguồn thời gian (nano giây) cho cả cửa sổ lẫn thời hạn của key, test thay bằng đồng hồ giả
+     */
+    SlidingWindowRateLimiter(int maxRequests, Duration window, long maxTrackedKeys, LongSupplier nanoTime) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests phải >= 1");
+        }
+        this.maxRequests = maxRequests;
+        this.windowNanos = window.toNanos();
+        this.nanoTime = nanoTime;
+        this.windows = Caffeine.newBuilder()
+                .ticker(nanoTime::getAsLong)
+                .expireAfterAccess(window)
+                .maximumSize(maxTrackedKeys)
+                .build();
+    }
+
+    /**
+     * Ghi nhận một request cho key nếu còn hạn mức.
+     *
+     * @param key Key cần giới hạn (email, IP, ...)
+     * @return 0 nếu request được chấp nhận, ngược lại là số nano giây cần chờ trước khi thử lại
+     */
+    public long tryAcquire(String key) {
+        Window window = windows.get(key, k -> new Window(maxRequests));
+        return window.tryAcquire(nanoTime.getAsLong(), windowNanos);
+    }
+
+    /**
+     * Hoàn lại lần ghi nhận gần nhất của key, dùng khi request đã qua limiter này
+     * nhưng bị chặn ở bước kiểm tra sau nên thực tế không được xử lý.
+     * Nếu có request khác của cùng key xen giữa, lần mới nhất bị bỏ thay cho lần của request này:
+     * số lần còn lại trong cửa sổ vẫn đúng.
+     *
+     * @param key Key đã được {@link #tryAcquire} chấp nhận
+     */
+    public void release(String key) {
+        Window window = windows.getIfPresent(key);
+        if (window != null) {
+            window.releaseNewest();
+        }
+    }
+
+    /**
+     * Số key đang được theo dõi (ước lượng), sau khi dọn các key đã hết hạn hoặc vượt maxTrackedKeys.
+     */
+    public long trackedKeys() {
+        windows.cleanUp();
+        return windows.estimatedSize();
+    }
+
+    /**
+     * Ring buffer timestamp của một key.
+     */
+    private static final class Window {
+
+        private final long[] timestamps;
+        private int next;
+        private int count;
+
+        Window(int capacity) {
+            this.timestamps = new long[capacity];
+        }
+
+        synchronized long tryAcquire(long now, long windowNanos) {
+            if (count == timestamps.length) {
+                // Buffer đầy: next đang trỏ tới timestamp cũ nhất
+                long elapsed = now - timestamps[next];
+                if (elapsed < windowNanos) {
+                    return windowNanos - elapsed;
+                }
+            } else {
+                count++;
+            }
+            timestamps[next] = now;
+            next = (next + 1) % timestamps.length;
+            return 0;
+        }
+
+        synchronized void releaseNewest() {
+            if (count > 0) {
+                next = (next - 1 + timestamps.length) % timestamps.length;
+                count--;
+            }
+        }
+    }
+}
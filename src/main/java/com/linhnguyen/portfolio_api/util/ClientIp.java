@@ -0,0 +1,27 @@
+package com.linhnguyen.portfolio_api.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Lấy IP thực của client, dùng làm key cho rate limit liên hệ và khóa đăng nhập theo IP.
+ */
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    /**
+     * IP của client theo remote address của request.
+     *
+     * Không đọc trực tiếp X-Forwarded-For / X-Real-IP: client tự đặt được các header này, đổi giá trị mỗi request
+     * là vượt được mọi giới hạn theo IP. Khi chạy sau reverse proxy, RemoteIpValve của Tomcat
+     * (server.forward-headers-strategy=native) chỉ dùng X-Forwarded-For nếu request đến từ proxy tin cậy
+     * (server.tomcat.remoteip.internal-proxies) và khi đó đã thay remote address bằng IP client thực.
+     *
+     * @param request HttpServletRequest
+     * @return IP address của client
+     */
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,31 @@
+package com.linhnguyen.portfolio_api.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Nhận diện lỗi vi phạm constraint cụ thể của database.
+ * Dùng khi uniqueness được đảm bảo bằng unique index thay vì query kiểm tra trước khi ghi.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Kiểm tra exception có phải do vi phạm constraint / index có tên đã cho không.
+     *
+     * @param e              Exception từ Spring Data
+     * @param constraintName Tên constraint hoặc unique index
+     * @return true nếu vi phạm đúng constraint đó
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(constraintName);
+    }
+}
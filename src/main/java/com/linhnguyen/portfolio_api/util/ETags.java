@@ -0,0 +1,52 @@
+package com.linhnguyen.portfolio_api.util;
+
+import com.linhnguyen.portfolio_api.exception.PreconditionFailedException;
+
+/**
+ * Chuyển đổi giữa version của entity và ETag / If-Match header.
+ * ETag có dạng "{version}" (strong). If-Match dùng so sánh strong (RFC 9110 mục 13.1.1):
+ * ETag weak W/"{version}" không bao giờ khớp, nên bị trả 412.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Tạo ETag từ version.
+     *
+     * @param version Version của bản ghi
+     * @return Giá trị header ETag, ví dụ "3"
+     */
+    public static String fromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Đọc version mong đợi từ header If-Match.
+     *
+     * @param ifMatch Giá trị header If-Match (có thể null)
+     * @return Version mong đợi, null nếu không gửi header hoặc gửi "*" (không kiểm tra version)
+     * @throws PreconditionFailedException nếu header là ETag weak hoặc không đúng định dạng
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        if (value.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match không chấp nhận ETag weak: " + ifMatch);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match không hợp lệ: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.linhnguyen.portfolio_api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template HTML được biên dịch sẵn thành các đoạn literal và placeholder.
+ *
+ * Cú pháp:
+ * - {{name}}: giá trị được escape HTML (&amp; &lt; &gt; &quot; &#39;), dùng được cả trong text lẫn attribute
+ * - {{name|nl2br}}: như trên, thêm xuống dòng thành &lt;br&gt; (chỉ dùng cho nội dung nhiều dòng trong text)
+ * - {{{name}}}: giá trị được chèn nguyên văn (dùng cho HTML đã render sẵn)
+ *
+ * Template được parse một lần; mỗi lần render chỉ duyệt các đoạn một lượt và ghi thẳng vào
+ * một StringBuilder đã cấp phát đủ dung lượng, escape từng ký tự khi ghi (không tạo chuỗi trung gian).
+ * Instance bất biến, dùng chung giữa nhiều thread.
+ */
+public final class HtmlTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String NL2BR = "nl2br";
+
+    /** Số ký tự dự phòng cho mỗi giá trị (escape làm chuỗi dài thêm) */
+    private static final int ESCAPE_SLACK_PER_VALUE = 16;
+
+    /** literals.length = slots.length + 1, literal[i] đứng trước slot[i] */
+    private final String[] literals;
+
+    /** Chỉ số của biến (theo thứ tự khai báo) tại mỗi placeholder */
+    private final int[] slots;
+
+    /** Cách ghi giá trị tại mỗi placeholder */
+    private final Mode[] modes;
+
+    private final int variableCount;
+    private final int literalLength;
+
+    private enum Mode {
+        ESCAPED, MULTILINE, RAW
+    }
+
+    private HtmlTemplate(String[] literals, int[] slots, Mode[] modes, int variableCount) {
+        this.literals = literals;
+        this.slots = slots;
+        this.modes = modes;
+        this.variableCount = variableCount;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Biên dịch template.
+     *
+     * @param source    Nội dung template
+     * @param variables Tên các biến, theo đúng thứ tự giá trị sẽ truyền vào {@link #render(String...)}
+     * @return Template đã biên dịch
+     * @throws IllegalArgumentException nếu template dùng biến chưa khai báo, filter không hỗ trợ
+     *                                  hoặc placeholder không đóng
+     */
+    public static HtmlTemplate compile(String source, String... variables) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Mode> modes = new ArrayList<>();
+        List<String> names = List.of(variables);
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+
+            boolean raw = source.startsWith("{", open + OPEN.length());
+            int nameStart = open + OPEN.length() + (raw ? 1 : 0);
+            int close = source.indexOf(CLOSE, nameStart);
+            if (close < 0) {
+                throw new IllegalArgumentException("Placeholder không được đóng tại vị trí " + open);
+            }
+            String name = source.substring(nameStart, close).trim();
+            int end = close + CLOSE.length() + (raw ? 1 : 0);
+            if (raw && !source.startsWith("}", close + CLOSE.length())) {
+                throw new IllegalArgumentException("Placeholder {{{" + name + "}}} thiếu dấu đóng");
+            }
+            Mode mode = raw ? Mode.RAW : Mode.ESCAPED;
+            int pipe = name.indexOf('|');
+            if (pipe >= 0) {
+                String filter = name.substring(pipe + 1).trim();
+                name = name.substring(0, pipe).trim();
+                if (raw || !NL2BR.equals(filter)) {
+                    throw new IllegalArgumentException("Filter không hỗ trợ tại placeholder " + name + ": " + filter);
+                }
+                mode = Mode.MULTILINE;
+            }
+
+            int index = names.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Template dùng biến chưa khai báo: " + name);
+            }
+
+            literals.add(source.substring(position, open));
+            slots.add(index);
+            modes.add(mode);
+            position = end;
+        }
+
+        int[] slotArray = slots.stream().mapToInt(Integer::intValue).toArray();
+        return new HtmlTemplate(literals.toArray(new String[0]), slotArray, modes.toArray(new Mode[0]),
+                variables.length);
+    }
+
+    /**
+     * Render template với các giá trị theo thứ tự biến đã khai báo. Giá trị null được coi là chuỗi rỗng.
+     *
+     * @param values Giá trị các biến
+     * @return HTML đã render
+     */
+    public String render(String... values) {
+        StringBuilder out = new StringBuilder(estimateLength(values));
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    /**
+     * Render template và ghi nối vào buffer có sẵn (dùng khi ghép nhiều đoạn, ví dụ email tổng hợp).
+     *
+     * @param out    Buffer đích
+     * @param values Giá trị các biến
+     */
+    public void renderTo(StringBuilder out, String... values) {
+        if (values.length != variableCount) {
+            throw new IllegalArgumentException("Cần " + variableCount + " giá trị, nhận " + values.length);
+        }
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            if (value == null) {
+                continue;
+            }
+            switch (modes[i]) {
+                case ESCAPED -> appendEscaped(out, value, false);
+                case MULTILINE -> appendEscaped(out, value, true);
+                case RAW -> out.append(value);
+            }
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * Ước lượng độ dài kết quả để cấp phát buffer một lần.
+     */
+    public int estimateLength(String... values) {
+        int length = literalLength;
+        for (int slot : slots) {
+            String value = values[slot];
+            if (value != null) {
+                length += value.length() + ESCAPE_SLACK_PER_VALUE;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Escape HTML từng ký tự khi ghi vào buffer. Chỉ copy nguyên khối các đoạn không cần escape.
+     *
+     * @param multiline true thì xuống dòng thành &lt;br&gt;; false thì giữ nguyên (an toàn trong attribute)
+     */
+    private static void appendEscaped(StringBuilder out, String value, boolean multiline) {
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                case '\n' -> multiline ? "<br>" : null;
+                default -> null;
+            };
+            if (replacement != null) {
+                out.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, length);
+    }
+}
@@ -0,0 +1,17 @@
+-- =====================================================
+-- V10__Create_admin_stat_reconciliation.sql
+-- Snapshot MVCC của lần đếm lại bộ đếm admin gần nhất.
+-- Khi flush, delta của transaction đã nằm trong snapshot này (đã được đếm lại)
+-- bị bỏ qua, nên delta commit trong lúc đối soát không bị cộng hai lần.
+-- Cần PostgreSQL 13+ (pg_snapshot, xid8, pg_visible_in_snapshot).
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS admin_stat_reconciliation (
+    -- Luôn chỉ có một dòng
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    snapshot pg_snapshot NOT NULL,
+    reconciled_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE admin_stat_reconciliation IS 'Snapshot của lần đếm lại bộ đếm thống kê admin gần nhất';
+COMMENT ON COLUMN admin_stat_reconciliation.snapshot IS 'Snapshot MVCC mà lần đếm lại đã đọc các bảng gốc';
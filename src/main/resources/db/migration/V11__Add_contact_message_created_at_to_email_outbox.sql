@@ -0,0 +1,25 @@
+-- =====================================================
+-- V11__Add_contact_message_created_at_to_email_outbox.sql
+-- Lưu created_at của tin nhắn cùng với contact_message_id, để dispatcher đọc / cập nhật
+-- contact_messages kèm điều kiện trên cột partition (partition pruning) thay vì dò mọi partition.
+-- =====================================================
+
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS contact_message_created_at TIMESTAMP;
+
+UPDATE email_outbox o
+SET contact_message_created_at = c.created_at
+FROM contact_messages c
+WHERE c.id = o.contact_message_id
+  AND o.contact_message_created_at IS NULL;
+
+-- Tin nhắn không còn (partition đã bị drop): không còn gì để gửi
+UPDATE email_outbox
+SET status = 'DEAD',
+    last_error = 'Không tìm thấy tin nhắn liên hệ ID: ' || contact_message_id,
+    locked_at = NULL,
+    locked_by = NULL,
+    updated_at = CURRENT_TIMESTAMP
+WHERE contact_message_created_at IS NULL
+  AND status IN ('PENDING', 'PROCESSING');
+
+COMMENT ON COLUMN email_outbox.contact_message_created_at IS 'created_at của tin nhắn (khóa partition của contact_messages)';
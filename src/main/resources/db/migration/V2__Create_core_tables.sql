@@ -0,0 +1,91 @@
+-- =====================================================
+-- V2__Create_core_tables.sql
+-- Tạo các bảng cốt lõi (profile, projects, skills, admin_credentials)
+-- Trước đây các bảng này do Hibernate (ddl-auto) tạo ra, nên trên database mới
+-- các migration phía sau không có bảng để thao tác.
+-- Dùng IF NOT EXISTS để không ảnh hưởng tới database đã có sẵn (production).
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS profile (
+    id BIGSERIAL PRIMARY KEY,
+
+    full_name VARCHAR(255) NOT NULL,
+    title VARCHAR(255),
+    bio TEXT,
+    professional_summary VARCHAR(500),
+    experience_years VARCHAR(50),
+    total_projects VARCHAR(50),
+    education_summary VARCHAR(255),
+    cert_summary VARCHAR(255),
+    email VARCHAR(100),
+    phone_number VARCHAR(20),
+    github_url VARCHAR(255),
+    linkedin_url VARCHAR(255),
+    avatar_url VARCHAR(255),
+
+    -- Audit fields (từ BaseEntity)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id BIGSERIAL PRIMARY KEY,
+
+    title VARCHAR(255) NOT NULL,
+    short_description VARCHAR(500),
+    full_description JSONB,
+    image_url VARCHAR(255),
+    demo_url VARCHAR(255),
+    github_url VARCHAR(255),
+    review_url VARCHAR(500),
+    video_url VARCHAR(500),
+    gallery JSONB,
+    technologies JSONB,
+    category VARCHAR(100),
+    is_featured BOOLEAN DEFAULT FALSE,
+    display_order INTEGER DEFAULT 0,
+    status VARCHAR(50) DEFAULT 'completed',
+    project_date DATE,
+
+    -- Audit fields (từ BaseEntity)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS skills (
+    id BIGSERIAL PRIMARY KEY,
+
+    name VARCHAR(100) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    level VARCHAR(20) NOT NULL,
+    priority INTEGER,
+
+    -- Audit fields (từ BaseEntity)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS admin_credentials (
+    id BIGSERIAL PRIMARY KEY,
+
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL DEFAULT 'ADMIN',
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+
+    -- Audit fields (từ BaseEntity)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN DEFAULT FALSE
+);
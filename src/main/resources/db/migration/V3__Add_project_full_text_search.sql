@@ -0,0 +1,20 @@
+-- =====================================================
+-- V3__Add_project_full_text_search.sql
+-- Thêm cột tsvector (generated) cho full-text search trên projects
+-- =====================================================
+
+-- Cột search_vector được PostgreSQL tự tính lại mỗi khi row thay đổi.
+-- Trọng số: title (A) > short_description (B) > nội dung text trong full_description (C).
+-- Dùng cấu hình 'simple' vì nội dung trộn lẫn tiếng Việt và tiếng Anh (không stemming).
+ALTER TABLE projects
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(short_description, '')), 'B') ||
+        setweight(jsonb_to_tsvector('simple', coalesce(full_description, '{}'::jsonb), '["string"]'), 'C')
+    ) STORED;
+
+-- GIN index cho toán tử @@
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
+
+COMMENT ON COLUMN projects.search_vector IS 'tsvector tự sinh từ title, short_description và full_description (full-text search)';
@@ -0,0 +1,42 @@
+-- =====================================================
+-- V4__Create_email_outbox_table.sql
+-- Transactional outbox cho email thông báo tin nhắn liên hệ.
+-- Row được ghi cùng transaction với contact_messages, dispatcher nền
+-- claim theo batch bằng FOR UPDATE SKIP LOCKED (nhiều node chia nhau xử lý).
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+
+    -- Tin nhắn liên hệ cần gửi thông báo
+    contact_message_id BIGINT NOT NULL,
+
+    -- Trạng thái xử lý: PENDING -> PROCESSING -> SENT | PENDING (retry) | DEAD
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Node đang xử lý (phục hồi khi node chết giữa chừng)
+    locked_at TIMESTAMP,
+    locked_by VARCHAR(100),
+
+    last_error TEXT,
+    sent_at TIMESTAMP,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- Dispatcher chỉ quét các row đang chờ, sắp theo thời điểm được phép gửi
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending
+    ON email_outbox(next_attempt_at) WHERE status = 'PENDING';
+
+-- Tìm các row PROCESSING bị treo (node chết khi đang gửi)
+CREATE INDEX IF NOT EXISTS idx_email_outbox_processing
+    ON email_outbox(locked_at) WHERE status = 'PROCESSING';
+
+COMMENT ON TABLE email_outbox IS 'Outbox email thông báo tin nhắn liên hệ (gửi bởi dispatcher nền)';
+COMMENT ON COLUMN email_outbox.status IS 'PENDING, PROCESSING, SENT, DEAD';
+COMMENT ON COLUMN email_outbox.attempts IS 'Số lần đã thử gửi';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS 'Thời điểm sớm nhất được thử gửi lại (exponential backoff)';
+COMMENT ON COLUMN email_outbox.locked_by IS 'Node đang xử lý row';
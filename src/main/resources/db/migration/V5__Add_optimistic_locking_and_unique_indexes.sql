@@ -0,0 +1,21 @@
+-- =====================================================
+-- V5__Add_optimistic_locking_and_unique_indexes.sql
+-- Thêm cột version (optimistic locking) cho các bảng kế thừa BaseEntity
+-- và unique index một phần thay cho việc kiểm tra trùng lặp bằng query trước khi ghi
+-- =====================================================
+
+-- version tăng 1 mỗi lần cập nhật; client gửi lại qua If-Match để phát hiện ghi đè đồng thời
+ALTER TABLE profile            ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects           ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE skills             ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE admin_credentials  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE contact_messages   ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Tiêu đề project / tên skill là duy nhất trong số các bản ghi chưa bị xóa mềm.
+-- Bản ghi đã xóa mềm không chiếm tên, nên có thể tạo lại project / skill cùng tên.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_projects_title_active ON projects (title) WHERE is_deleted = FALSE;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_skills_name_active ON skills (name) WHERE is_deleted = FALSE;
+
+COMMENT ON COLUMN projects.version IS 'Phiên bản bản ghi (optimistic locking, dùng làm ETag)';
+COMMENT ON COLUMN skills.version IS 'Phiên bản bản ghi (optimistic locking, dùng làm ETag)';
+COMMENT ON COLUMN profile.version IS 'Phiên bản bản ghi (optimistic locking, dùng làm ETag)';
@@ -0,0 +1,103 @@
+-- =====================================================
+-- V6__Partition_contact_messages_by_month.sql
+-- Chuyển contact_messages sang range partitioning theo tháng (created_at)
+-- Partition mới được tạo trước bởi ContactMessagePartitionMaintenance,
+-- partition cũ được detach/drop theo chính sách retention
+-- =====================================================
+
+-- 1. Đổi tên bảng cũ, giữ lại sequence của cột id cho bảng mới
+ALTER TABLE contact_messages RENAME TO contact_messages_unpartitioned;
+ALTER SEQUENCE contact_messages_id_seq OWNED BY NONE;
+
+-- 2. Bảng cha partitioned. Khóa chính phải chứa cột partition (created_at);
+--    id vẫn duy nhất vì chỉ lấy từ sequence.
+CREATE TABLE contact_messages (
+    id BIGINT NOT NULL DEFAULT nextval('contact_messages_id_seq'),
+
+    -- Thông tin người gửi
+    sender_name VARCHAR(100) NOT NULL,
+    sender_email VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+
+    -- Trạng thái
+    is_read BOOLEAN DEFAULT FALSE,
+    email_sent BOOLEAN DEFAULT FALSE,
+
+    -- Tracking
+    sender_ip VARCHAR(45),
+
+    -- Audit fields (từ BaseEntity)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    is_deleted BOOLEAN DEFAULT FALSE,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_contact_messages PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE contact_messages_id_seq OWNED BY contact_messages.id;
+
+-- 3. Hàm tạo partition cho tháng chứa ngày truyền vào (idempotent).
+--    Tên partition: contact_messages_pYYYYMM, khoảng [đầu tháng, đầu tháng sau).
+CREATE OR REPLACE FUNCTION create_contact_messages_partition(p_month DATE)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::DATE;
+    v_to DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := 'contact_messages_p' || to_char(v_from, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF contact_messages FOR VALUES FROM (%L) TO (%L)',
+            v_name, v_from, v_to);
+    END IF;
+    RETURN v_name;
+END;
+$$;
+
+-- 4. Tạo partition cho toàn bộ dữ liệu hiện có và 3 tháng tới
+DO $$
+DECLARE
+    v_month DATE;
+    v_last DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+    INTO v_month
+    FROM contact_messages_unpartitioned;
+
+    WHILE v_month <= v_last LOOP
+        PERFORM create_contact_messages_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+-- 5. Chuyển dữ liệu sang bảng mới rồi xóa bảng cũ
+INSERT INTO contact_messages (id, sender_name, sender_email, subject, message, is_read, email_sent, sender_ip,
+                              created_at, updated_at, created_by, updated_by, is_deleted, version)
+SELECT id, sender_name, sender_email, subject, message, is_read, email_sent, sender_ip,
+       created_at, updated_at, created_by, updated_by, is_deleted, version
+FROM contact_messages_unpartitioned;
+
+DROP TABLE contact_messages_unpartitioned;
+
+-- 6. Index trên bảng cha, PostgreSQL tự tạo index tương ứng trên từng partition
+CREATE INDEX idx_contact_messages_email ON contact_messages (sender_email, created_at DESC);
+CREATE INDEX idx_contact_messages_is_read ON contact_messages (is_read) WHERE is_deleted = FALSE;
+CREATE INDEX idx_contact_messages_created_at ON contact_messages (created_at DESC);
+
+-- Comment mô tả bảng
+COMMENT ON TABLE contact_messages IS 'Bảng lưu trữ tin nhắn liên hệ từ nhà tuyển dụng/khách truy cập (partition theo tháng created_at)';
+COMMENT ON COLUMN contact_messages.sender_name IS 'Tên người gửi';
+COMMENT ON COLUMN contact_messages.sender_email IS 'Email người gửi để phản hồi';
+COMMENT ON COLUMN contact_messages.subject IS 'Tiêu đề tin nhắn';
+COMMENT ON COLUMN contact_messages.message IS 'Nội dung tin nhắn';
+COMMENT ON COLUMN contact_messages.is_read IS 'Đã đọc hay chưa';
+COMMENT ON COLUMN contact_messages.email_sent IS 'Email thông báo đã gửi thành công hay chưa';
+COMMENT ON COLUMN contact_messages.sender_ip IS 'IP của người gửi (tracking spam)';
+COMMENT ON COLUMN contact_messages.version IS 'Phiên bản bản ghi (optimistic locking)';
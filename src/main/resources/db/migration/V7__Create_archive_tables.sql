@@ -0,0 +1,43 @@
+-- =====================================================
+-- V7__Create_archive_tables.sql
+-- Bảng archive cho các bản ghi đã xóa mềm quá thời gian ân hạn.
+-- SoftDeleteArchiver chuyển row từ bảng chính sang đây theo batch,
+-- nên bảng chính và index của nó chỉ còn dữ liệu đang dùng.
+-- =====================================================
+
+-- Cấu trúc cột giống hệt bảng chính (không copy default / sequence),
+-- thêm archived_at để biết thời điểm chuyển sang archive.
+CREATE TABLE IF NOT EXISTS projects_archive (LIKE projects);
+-- search_vector là cột generated chỉ phục vụ tìm kiếm, không cần lưu trong archive
+ALTER TABLE projects_archive DROP COLUMN IF EXISTS search_vector;
+ALTER TABLE projects_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE projects_archive ADD CONSTRAINT pk_projects_archive PRIMARY KEY (id);
+
+CREATE TABLE IF NOT EXISTS skills_archive (LIKE skills);
+ALTER TABLE skills_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE skills_archive ADD CONSTRAINT pk_skills_archive PRIMARY KEY (id);
+
+CREATE TABLE IF NOT EXISTS profile_archive (LIKE profile);
+ALTER TABLE profile_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE profile_archive ADD CONSTRAINT pk_profile_archive PRIMARY KEY (id);
+
+-- Archive của contact_messages là bảng thường (không partition)
+CREATE TABLE IF NOT EXISTS contact_messages_archive (LIKE contact_messages);
+ALTER TABLE contact_messages_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE contact_messages_archive ADD CONSTRAINT pk_contact_messages_archive PRIMARY KEY (id);
+
+-- Index một phần cho job archive: chỉ chứa các row đã xóa mềm (rất ít), sắp theo thời điểm xóa.
+-- Thời điểm xóa = updated_at vì lần ghi cuối cùng của một row đã xóa chính là lần xóa.
+CREATE INDEX IF NOT EXISTS idx_projects_soft_deleted ON projects (updated_at) WHERE is_deleted = TRUE;
+CREATE INDEX IF NOT EXISTS idx_skills_soft_deleted ON skills (updated_at) WHERE is_deleted = TRUE;
+CREATE INDEX IF NOT EXISTS idx_profile_soft_deleted ON profile (updated_at) WHERE is_deleted = TRUE;
+CREATE INDEX IF NOT EXISTS idx_contact_messages_soft_deleted ON contact_messages (updated_at) WHERE is_deleted = TRUE;
+
+COMMENT ON TABLE projects_archive IS 'Project đã xóa mềm quá thời gian ân hạn (có thể khôi phục)';
+COMMENT ON TABLE skills_archive IS 'Skill đã xóa mềm quá thời gian ân hạn (có thể khôi phục)';
+COMMENT ON TABLE profile_archive IS 'Profile đã xóa mềm quá thời gian ân hạn (có thể khôi phục)';
+COMMENT ON TABLE contact_messages_archive IS 'Tin nhắn liên hệ đã xóa mềm quá thời gian ân hạn';
+COMMENT ON COLUMN projects_archive.archived_at IS 'Thời điểm chuyển sang archive';
+COMMENT ON COLUMN skills_archive.archived_at IS 'Thời điểm chuyển sang archive';
+COMMENT ON COLUMN profile_archive.archived_at IS 'Thời điểm chuyển sang archive';
+COMMENT ON COLUMN contact_messages_archive.archived_at IS 'Thời điểm chuyển sang archive';
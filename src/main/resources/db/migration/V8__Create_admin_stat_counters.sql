@@ -0,0 +1,16 @@
+-- =====================================================
+-- V8__Create_admin_stat_counters.sql
+-- Bộ đếm cho dashboard admin, được cộng dồn theo từng lần ghi
+-- và đối soát định kỳ bằng cách đếm lại toàn bộ.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS admin_stat_counters (
+    -- Ví dụ: contacts.unread, projects.category.Backend, skills.category.FRONTEND
+    counter_key VARCHAR(200) PRIMARY KEY,
+    counter_value BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE admin_stat_counters IS 'Bộ đếm thống kê cho dashboard admin (cập nhật theo delta, đối soát định kỳ)';
+COMMENT ON COLUMN admin_stat_counters.counter_key IS 'Tên bộ đếm';
+COMMENT ON COLUMN admin_stat_counters.counter_value IS 'Giá trị hiện tại';
@@ -0,0 +1,21 @@
+-- =====================================================
+-- V9__Create_revoked_tokens.sql
+-- Denylist token đã thu hồi (logout) trước khi hết hạn.
+-- Mỗi node nạp bảng này vào bộ nhớ (Bloom filter + tập chính xác)
+-- và đồng bộ định kỳ, nên thu hồi trên một node có hiệu lực trên mọi node.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    -- Digest SHA-256 (hex) của token, không lưu token gốc
+    token_digest VARCHAR(64) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Đồng bộ đọc token chưa hết hạn, job dọn dẹp xóa token đã hết hạn
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+COMMENT ON TABLE revoked_tokens IS 'Token JWT đã bị thu hồi trước khi hết hạn (xóa khi token hết hạn)';
+COMMENT ON COLUMN revoked_tokens.token_digest IS 'Digest SHA-256 của token';
+COMMENT ON COLUMN revoked_tokens.expires_at IS 'Thời điểm hết hạn của token';
+COMMENT ON COLUMN revoked_tokens.revoked_at IS 'Thời điểm thu hồi';
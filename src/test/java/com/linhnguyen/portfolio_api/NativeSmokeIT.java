@@ -0,0 +1,211 @@
+package com.linhnguyen.portfolio_api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke test cho native image: khởi động binary do mvn -Pnative build ra rồi gọi qua mọi controller.
+ * Mục tiêu là bắt lỗi thiếu reachability metadata (reflection, resource, proxy), vốn chỉ lộ ra lúc runtime:
+ * không endpoint nào được trả về 5xx và body phải là JSON hợp lệ.
+ *
+ * Chạy bằng mvn -Pnative verify (failsafe truyền native.binary), cần database như profile prod (DB_HOST...).
+ * Đặt thêm SMOKE_ADMIN_EMAIL / SMOKE_ADMIN_PASSWORD để chạy luôn các endpoint admin có đăng nhập.
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+@EnabledIfEnvironmentVariable(named = "DB_HOST", matches = ".+")
+class NativeSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static Process process;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startNativeBinary() throws Exception {
+        Path binary = Path.of(System.getProperty("native.binary"));
+        assertThat(Files.isExecutable(binary)).as("Không tìm thấy binary %s", binary).isTrue();
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port + "/api";
+
+        File log = Files.createTempFile("native-smoke", ".log").toFile();
+        ProcessBuilder builder = new ProcessBuilder(binary.toString(), "--server.port=" + port)
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        builder.environment().putIfAbsent("SPRING_PROFILES_ACTIVE", "prod");
+        process = builder.start();
+
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            assertThat(process.isAlive()).as("Binary đã dừng khi khởi động, xem %s", log).isTrue();
+            try {
+                if (get("/v1/health", null).statusCode() == 200) {
+                    break;
+                }
+            } catch (IOException e) {
+                // Chưa mở port
+            }
+            assertThat(System.nanoTime()).as("Quá %s chưa khởi động xong, xem %s", STARTUP_TIMEOUT, log)
+                    .isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    @AfterAll
+    static void stopNativeBinary() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    @Test
+    void publicReadEndpointsRespondWithJson() throws Exception {
+        for (String path : List.of(
+                "/v1/health",
+                "/v1/profile",
+                "/v1/projects",
+                "/v1/projects/featured",
+                "/v1/projects/filter?tech=Java&match=OR",
+                "/v1/projects/search?q=java&limit=5",
+                "/v1/projects/category/WEB",
+                "/v1/projects/status/COMPLETED",
+                "/v1/skills",
+                "/v1/skills/category/BACKEND",
+                "/v1/suggest?q=ja&limit=5")) {
+            assertJson(get(path, null), path, 200);
+        }
+
+        // Chi tiết project: đi qua cột jsonb (fullDescription, gallery, technologies) và mapper
+        JsonNode projects = assertJson(get("/v1/projects", null), "/v1/projects", 200).path("data");
+        if (!projects.isEmpty()) {
+            String path = "/v1/projects/" + projects.get(0).path("id").asText();
+            assertJson(get(path, null), path, 200);
+        }
+        JsonNode skills = assertJson(get("/v1/skills", null), "/v1/skills", 200).path("data");
+        if (!skills.isEmpty()) {
+            String path = "/v1/skills/" + skills.get(0).path("id").asText();
+            assertJson(get(path, null), path, 200);
+        }
+
+        // Lỗi nghiệp vụ đi qua GlobalExceptionHandler (ErrorResponse)
+        assertJson(get("/v1/projects/999999999", null), "/v1/projects/999999999", 404);
+        assertJson(get("/v1/projects/filter?tech=Java&match=any", null), "/v1/projects/filter?tech=Java&match=any", 400);
+    }
+
+    @Test
+    void contactSubmissionIsAcceptedOrRateLimited() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "name", "Native Smoke",
+                "email", "native-smoke@example.com",
+                "subject", "Native image smoke test",
+                "message", "Tin nhắn kiểm tra native image, có thể xóa."));
+        HttpResponse<String> response = send("POST", "/v1/contact", body, null);
+        assertJson(response, "POST /v1/contact", 201, 429);
+
+        // Validation lỗi phải trả 400 chứ không phải 500 do thiếu metadata cho Bean Validation
+        assertJson(send("POST", "/v1/contact", "{}", null), "POST /v1/contact (invalid)", 400);
+    }
+
+    @Test
+    void adminEndpointsRequireToken() throws Exception {
+        for (String path : List.of("/v1/admin/stats", "/v1/admin/monitoring/executors", "/v1/admin/profile")) {
+            assertThat(get(path, null).statusCode()).as(path).isEqualTo(401);
+        }
+    }
+
+    @Test
+    void adminFlowWithLogin() throws Exception {
+        String email = System.getenv("SMOKE_ADMIN_EMAIL");
+        String password = System.getenv("SMOKE_ADMIN_PASSWORD");
+        assumeTrue(email != null && password != null, "Chưa đặt SMOKE_ADMIN_EMAIL / SMOKE_ADMIN_PASSWORD");
+
+        String credentials = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        JsonNode login = assertJson(send("POST", "/v1/auth/login", credentials, null), "POST /v1/auth/login", 200);
+        String token = login.path("data").path("accessToken").asText();
+        assertThat(token).isNotBlank();
+
+        assertJson(get("/v1/admin/stats", token), "/v1/admin/stats", 200);
+        assertJson(get("/v1/admin/monitoring/executors", token), "/v1/admin/monitoring/executors", 200);
+        assertJson(get("/v1/admin/profile", token), "/v1/admin/profile", 200);
+
+        // Ghi: tạo, sửa, xóa mềm, khôi phục rồi xóa lại để không để lại dữ liệu
+        String skill = objectMapper.writeValueAsString(Map.of(
+                "name", "Native Smoke Skill", "category", "TOOLS", "level", "MEDIUM", "priority", 999));
+        JsonNode created = assertJson(send("POST", "/v1/admin/skills", skill, token), "POST /v1/admin/skills", 201);
+        String skillPath = "/v1/admin/skills/" + created.path("data").path("id").asText();
+        assertJson(send("PUT", skillPath, objectMapper.writeValueAsString(Map.of("priority", 998)), token),
+                "PUT " + skillPath, 200);
+        assertJson(send("DELETE", skillPath, null, token), "DELETE " + skillPath, 200);
+        assertJson(send("POST", skillPath + "/restore", null, token), "POST " + skillPath + "/restore", 200);
+        assertJson(send("DELETE", skillPath, null, token), "DELETE " + skillPath, 200);
+
+        String project = objectMapper.writeValueAsString(Map.of(
+                "title", "Native Smoke Project",
+                "technologies", List.of("Java", "GraalVM"),
+                "fullDescription", Map.of("overview", "Smoke test")));
+        JsonNode createdProject = assertJson(send("POST", "/v1/admin/projects", project, token),
+                "POST /v1/admin/projects", 201);
+        String projectPath = "/v1/admin/projects/" + createdProject.path("data").path("id").asText();
+        assertJson(send("DELETE", projectPath, null, token), "DELETE " + projectPath, 200);
+
+        assertJson(send("POST", "/v1/auth/logout", null, token), "POST /v1/auth/logout", 200);
+        assertThat(get("/v1/admin/stats", token).statusCode()).as("Token đã logout").isEqualTo(401);
+    }
+
+    private static JsonNode assertJson(HttpResponse<String> response, String description, Integer... expectedStatus)
+            throws IOException {
+        assertThat(response.statusCode()).as("%s: %s", description, response.body()).isIn((Object[]) expectedStatus);
+        return objectMapper.readTree(response.body());
+    }
+
+    private static HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send("GET", path, null, token);
+    }
+
+    private static HttpResponse<String> send(String method, String path, String body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
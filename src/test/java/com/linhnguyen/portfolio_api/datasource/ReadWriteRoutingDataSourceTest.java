@@ -0,0 +1,100 @@
+package com.linhnguyen.portfolio_api.datasource;
+
+import com.linhnguyen.portfolio_api.event.ProjectChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra định tuyến read/write: ghi của job nền không được kéo read public về primary,
+ * chỉ thay đổi dữ liệu public (write fence) và ghi của chính user (read-your-writes) mới làm vậy.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String REPLICA = "replica-1";
+
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(30), Duration.ofSeconds(5));
+        routingDataSource = new ReadWriteRoutingDataSource(mockReplicaMonitor(), tracker);
+    }
+
+    @AfterEach
+    void clearThreadState() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void backgroundWriteDoesNotPinReadsToPrimary() {
+        // Ví dụ: EmailOutboxService.releaseStaleLocks hay AdminStatsCounters.flush chạy trên thread scheduler
+        assertThat(lookupInWriteTransaction()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+        assertThat(lookupInReadOnlyTransaction()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void authenticatedWriteRoutesOnlyThatUsersReadsToPrimary() {
+        authenticateAs("admin@example.com");
+        lookupInWriteTransaction();
+
+        assertThat(lookupInReadOnlyTransaction()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.clearContext();
+        assertThat(lookupInReadOnlyTransaction()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void publicDataChangeRaisesWriteFenceForEveryone() {
+        new PublicDataWriteFence(tracker).onProjectChanged(new ProjectChangedEvent(1L));
+
+        assertThat(lookupInReadOnlyTransaction()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void writeFenceExpires() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(30), Duration.ZERO);
+        routingDataSource = new ReadWriteRoutingDataSource(mockReplicaMonitor(), tracker);
+        tracker.raiseWriteFence();
+
+        assertThat(lookupInReadOnlyTransaction()).isEqualTo(REPLICA);
+    }
+
+    private static ReplicaLagMonitor mockReplicaMonitor() {
+        ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+        when(replicaLagMonitor.selectReplica()).thenReturn(REPLICA);
+        return replicaLagMonitor;
+    }
+
+    private Object lookupInWriteTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        return routingDataSource.determineCurrentLookupKey();
+    }
+
+    private Object lookupInReadOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        return routingDataSource.determineCurrentLookupKey();
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+}
@@ -0,0 +1,50 @@
+package com.linhnguyen.portfolio_api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra Bloom filter của denylist: không bao giờ báo thiếu phần tử đã thêm,
+ * tỉ lệ dương tính giả gần với cấu hình.
+ */
+class BloomFilterTest {
+
+    @Test
+    void neverReportsFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        List<String> digests = digests("revoked-", 1_000);
+        digests.forEach(filter::put);
+
+        assertThat(digests).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearConfiguredValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        digests("revoked-", 10_000).forEach(filter::put);
+
+        long falsePositives = digests("valid-", 10_000).stream().filter(filter::mightContain).count();
+
+        // Kỳ vọng khoảng 1%, chừa biên cho dao động ngẫu nhiên
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.001);
+
+        assertThat(digests("token-", 100)).noneMatch(filter::mightContain);
+    }
+
+    private static List<String> digests(String prefix, int count) {
+        List<String> digests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            digests.add(TokenDigests.sha256Hex(prefix + i));
+        }
+        return digests;
+    }
+}
@@ -0,0 +1,95 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.linhnguyen.portfolio_api.config.LoginProtectionProperties;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra khóa đăng nhập sai: số lần sai được phép, thời gian khóa tăng gấp đôi,
+ * chặn ở max-lockout và được xóa khi đăng nhập thành công.
+ * Thời gian khóa được đọc từ thông báo lỗi (làm tròn lên theo giây).
+ */
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL = "admin@example.com";
+    private static final String IP = "203.0.113.7";
+
+    private LoginAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        LoginProtectionProperties properties = new LoginProtectionProperties();
+        properties.setEmailFreeAttempts(3);
+        properties.setIpFreeAttempts(100);
+        properties.setBaseLockout(Duration.ofSeconds(30));
+        properties.setMaxLockout(Duration.ofSeconds(100));
+        service = new LoginAttemptService(properties);
+    }
+
+    @Test
+    void allowsFreeAttemptsBeforeLocking() {
+        failTimes(3);
+        assertThatCode(() -> service.checkAllowed(EMAIL, IP)).doesNotThrowAnyException();
+
+        failTimes(1);
+        assertLockedFor(30);
+    }
+
+    @Test
+    void doublesLockoutForEachFurtherFailure() {
+        failTimes(4);
+        assertLockedFor(30);
+
+        failTimes(1);
+        assertLockedFor(60);
+    }
+
+    @Test
+    void capsLockoutAtMaximum() {
+        failTimes(6);
+        assertLockedFor(100);
+
+        // Số mũ rất lớn cũng không tràn số
+        failTimes(100);
+        assertLockedFor(100);
+    }
+
+    @Test
+    void successResetsFailures() {
+        failTimes(4);
+        service.recordSuccess(EMAIL, IP);
+
+        assertThatCode(() -> service.checkAllowed(EMAIL, IP)).doesNotThrowAnyException();
+        failTimes(3);
+        assertThatCode(() -> service.checkAllowed(EMAIL, IP)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void emailIsMatchedCaseInsensitively() {
+        failTimes(4);
+
+        assertThatThrownBy(() -> service.checkAllowed("  ADMIN@example.com ", "198.51.100.1"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            service.recordFailure(EMAIL, IP);
+        }
+    }
+
+    private void assertLockedFor(long seconds) {
+        assertThatThrownBy(() -> service.checkAllowed(EMAIL, IP))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS))
+                .hasMessageContaining("sau " + seconds + " giây");
+    }
+}
@@ -0,0 +1,66 @@
+package com.linhnguyen.portfolio_api.security;
+
+import com.linhnguyen.portfolio_api.config.JwtCacheProperties;
+import com.linhnguyen.portfolio_api.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Kiểm tra denylist token: token đã thu hồi luôn bị chặn, kể cả khi vượt dung lượng dự kiến của Bloom filter;
+ * sau khi dọn, token hết hạn bị bỏ và filter dựng lại vẫn chặn đúng các token còn lại.
+ */
+class TokenDenylistTest {
+
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        JwtCacheProperties properties = new JwtCacheProperties();
+        properties.setDenylistExpectedSize(16);
+        properties.setDenylistFalsePositiveRate(0.01);
+        denylist = new TokenDenylist(mock(RevokedTokenRepository.class), properties);
+    }
+
+    @Test
+    void revokedTokensStayBlockedBeyondExpectedSize() {
+        List<String> revoked = revoke("live-", 200, Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(revoked).allMatch(denylist::isRevoked);
+        assertThat(denylist.isRevoked(TokenDigests.sha256Hex("never-revoked"))).isFalse();
+    }
+
+    @Test
+    void pruneDropsExpiredTokensAndRebuildsFilter() {
+        List<String> expired = revoke("expired-", 100, Instant.now().minusSeconds(1));
+        List<String> live = revoke("live-", 100, Instant.now().plus(Duration.ofHours(1)));
+
+        denylist.prune();
+
+        assertThat(denylist.size()).isEqualTo(live.size());
+        assertThat(live).allMatch(denylist::isRevoked);
+        assertThat(expired).noneMatch(denylist::isRevoked);
+
+        // Filter mới vẫn nhận thêm token sau khi dựng lại
+        String late = TokenDigests.sha256Hex("revoked-after-prune");
+        denylist.revoke(late, Instant.now().plus(Duration.ofHours(1)));
+        assertThat(denylist.isRevoked(late)).isTrue();
+    }
+
+    private List<String> revoke(String prefix, int count, Instant expiresAt) {
+        List<String> digests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String digest = TokenDigests.sha256Hex(prefix + i);
+            denylist.revoke(digest, expiresAt);
+            digests.add(digest);
+        }
+        return digests;
+    }
+}
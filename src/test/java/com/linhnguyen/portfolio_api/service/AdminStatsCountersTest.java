@@ -0,0 +1,136 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.event.StatCountersChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra đối soát bộ đếm admin khi có ghi xen giữa: delta đã được lần đếm lại tính
+ * không bị cộng thêm lần nữa khi flush, delta commit sau snapshot của lần đếm lại vẫn được cộng.
+ *
+ * Store được giả lập: mỗi transaction ghi thêm một tin nhắn vào bảng gốc,
+ * lần đếm lại thấy các transaction đã commit tại thời điểm lấy snapshot.
+ */
+class AdminStatsCountersTest {
+
+    private static final Map<String, Long> NEW_CONTACT = Map.of(AdminStatsCounters.CONTACTS_TOTAL, 1L);
+
+    /** Bảng admin_stat_counters */
+    private final Map<String, Long> table = new HashMap<>();
+
+    /** Transaction đã commit, mỗi transaction là một dòng trong bảng gốc */
+    private final Set<Long> committed = new HashSet<>();
+
+    /** Transaction nằm trong snapshot của lần đếm lại gần nhất */
+    private Set<Long> recountSnapshot = Set.of();
+
+    /** Việc xảy ra trên node khác trong lúc đếm lại, sau khi đã lấy snapshot */
+    private Runnable duringRecount = () -> { };
+
+    private final AtomicLong currentTransaction = new AtomicLong();
+
+    private AdminStatsCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        AdminStatsStore store = mock(AdminStatsStore.class);
+        when(store.currentTransactionId()).thenAnswer(invocation -> currentTransaction.get());
+        when(store.loadAll()).thenAnswer(invocation -> new HashMap<>(table));
+        doAnswer(invocation -> {
+            Map<Long, Map<String, Long>> deltasByTransaction = invocation.getArgument(0);
+            deltasByTransaction.forEach((transactionId, deltas) -> {
+                if (!recountSnapshot.contains(transactionId)) {
+                    deltas.forEach((key, delta) -> table.merge(key, delta, Long::sum));
+                }
+            });
+            return null;
+        }).when(store).applyDeltas(anyMap());
+        when(store.recount()).thenAnswer(invocation -> {
+            recountSnapshot = new HashSet<>(committed);
+            duringRecount.run();
+            table.clear();
+            table.put(AdminStatsCounters.CONTACTS_TOTAL, (long) recountSnapshot.size());
+            return new HashMap<>(table);
+        });
+        counters = new AdminStatsCounters(store);
+    }
+
+    @AfterEach
+    void clearThreadState() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void deltaCommittedBeforeRecountIsNotCountedTwice() {
+        commitWrite(1L);
+        counters.flush();
+        commitWrite(2L);
+
+        counters.reconcile();
+
+        assertThat(counters.get(AdminStatsCounters.CONTACTS_TOTAL)).isEqualTo(2);
+        assertThat(table).containsEntry(AdminStatsCounters.CONTACTS_TOTAL, 2L);
+    }
+
+    @Test
+    void deltaCommittedDuringRecountIsCountedOnce() {
+        commitWrite(1L);
+        duringRecount = () -> commitWrite(2L);
+
+        counters.reconcile();
+
+        assertThat(counters.get(AdminStatsCounters.CONTACTS_TOTAL)).isEqualTo(2);
+        counters.flush();
+        assertThat(table).containsEntry(AdminStatsCounters.CONTACTS_TOTAL, 2L);
+    }
+
+    @Test
+    void deltaStillPendingAfterSeveralRecountsIsDropped() {
+        commitWrite(1L);
+        // Node khác đếm lại hai lần trong khi delta của transaction 1 chưa được flush
+        recountSnapshot = Set.of(1L);
+        table.put(AdminStatsCounters.CONTACTS_TOTAL, 1L);
+        commitWrite(2L);
+        recountSnapshot = Set.of(1L, 2L);
+        table.put(AdminStatsCounters.CONTACTS_TOTAL, 2L);
+
+        counters.flush();
+
+        assertThat(counters.get(AdminStatsCounters.CONTACTS_TOTAL)).isEqualTo(2);
+    }
+
+    /**
+     * Giả lập transaction ghi một tin nhắn: phát event trong transaction, commit, rồi chạy afterCommit.
+     */
+    private void commitWrite(long transactionId) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        currentTransaction.set(transactionId);
+        try {
+            counters.onCountersChanged(new StatCountersChangedEvent(NEW_CONTACT));
+            committed.add(transactionId);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+}
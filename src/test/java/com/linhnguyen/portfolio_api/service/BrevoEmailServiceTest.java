@@ -0,0 +1,204 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.config.BrevoConfig;
+import com.linhnguyen.portfolio_api.config.BrevoResilienceConfig;
+import com.linhnguyen.portfolio_api.config.RestTemplateConfig;
+import com.linhnguyen.portfolio_api.entity.ContactMessage;
+import com.linhnguyen.portfolio_api.service.BrevoEmailService.SendResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra BrevoEmailService với một stub server local giả lập Brevo:
+ * connection reuse, timeout khi Brevo chậm, circuit breaker khi Brevo sập và bulkhead.
+ */
+class BrevoEmailServiceTest {
+
+    private static final String API_PATH = "/v3/smtp/email";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /** Hành vi hiện tại của stub: status trả về và độ trễ */
+    private volatile int responseStatus = 201;
+    private volatile long responseDelayMs = 0;
+    private volatile CountDownLatch requestReceived = new CountDownLatch(1);
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext(API_PATH, this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getRequestBody().readAllBytes();
+        requestReceived.countDown();
+
+        if (responseDelayMs > 0) {
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        boolean hasApiKey = "test-api-key".equals(exchange.getRequestHeaders().getFirst("api-key"));
+        int status = hasApiKey ? responseStatus : 401;
+        byte[] body = "{\"messageId\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    @Test
+    void sendsAndReusesPooledConnection() {
+        BrevoEmailService service = createService(Duration.ofSeconds(2), 4, createCircuitBreaker());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(service.sendContactNotification(message(i))).isEqualTo(SendResult.SENT);
+        }
+
+        assertThat(hits.get()).isEqualTo(5);
+        // Keep-alive: cả 5 request đi trên cùng một connection
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void slowBrevoFailsFastAtReadTimeout() {
+        responseDelayMs = 2000;
+        BrevoEmailService service = createService(Duration.ofMillis(300), 4, createCircuitBreaker());
+
+        long start = System.nanoTime();
+        SendResult result = service.sendContactNotification(message(1));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(result).isEqualTo(SendResult.FAILED);
+        assertThat(elapsedMs).isLessThan(1500);
+    }
+
+    @Test
+    void outageOpensCircuitAndStopsCallingBrevo() {
+        responseStatus = 503;
+        CircuitBreaker circuitBreaker = createCircuitBreaker();
+        BrevoEmailService service = createService(Duration.ofSeconds(2), 4, circuitBreaker);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(service.sendContactNotification(message(i))).isEqualTo(SendResult.FAILED);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(hits.get()).isEqualTo(4);
+
+        // Circuit mở: trả về ngay, không gọi tới Brevo và không tính là một lần gửi thất bại
+        assertThat(service.sendContactNotification(message(5))).isEqualTo(SendResult.NOT_ATTEMPTED);
+        assertThat(hits.get()).isEqualTo(4);
+
+        assertThat(meterRegistry.get("brevo.send").tag("outcome", "error").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("brevo.send").tag("outcome", "circuit_open").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        responseStatus = 400;
+        CircuitBreaker circuitBreaker = createCircuitBreaker();
+        BrevoEmailService service = createService(Duration.ofSeconds(2), 4, circuitBreaker);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(service.sendContactNotification(message(i))).isEqualTo(SendResult.FAILED);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(hits.get()).isEqualTo(6);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimit() throws Exception {
+        responseDelayMs = 1000;
+        requestReceived = new CountDownLatch(1);
+        BrevoEmailService service = createService(Duration.ofSeconds(3), 1, createCircuitBreaker());
+
+        CompletableFuture<SendResult> first = CompletableFuture.supplyAsync(() -> service.sendContactNotification(message(1)));
+        assertThat(requestReceived.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // Slot duy nhất đang bận: call thứ hai bị từ chối ngay, không tới được Brevo
+        long start = System.nanoTime();
+        assertThat(service.sendContactNotification(message(2))).isEqualTo(SendResult.NOT_ATTEMPTED);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(SendResult.SENT);
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    private CircuitBreaker createCircuitBreaker() {
+        BrevoConfig.CircuitBreakerSettings settings = new BrevoConfig.CircuitBreakerSettings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        return BrevoResilienceConfig.createCircuitBreaker(settings);
+    }
+
+    private BrevoEmailService createService(Duration readTimeout, int maxConcurrentCalls, CircuitBreaker circuitBreaker) {
+        BrevoConfig config = new BrevoConfig();
+        config.setApiKey("test-api-key");
+        config.setApiUrl("http://127.0.0.1:" + server.getAddress().getPort() + API_PATH);
+        config.setSenderEmail("sender@example.com");
+        config.setSenderName("Portfolio");
+        config.setRecipientEmail("owner@example.com");
+        config.setRecipientName("Owner");
+        config.setConnectTimeout(Duration.ofSeconds(1));
+        config.setReadTimeout(readTimeout);
+        config.getBulkhead().setMaxConcurrentCalls(maxConcurrentCalls);
+
+        Bulkhead bulkhead = BrevoResilienceConfig.createBulkhead(config.getBulkhead());
+        BrevoEmailService service = new BrevoEmailService(
+                config, new RestTemplateConfig().restTemplate(config), circuitBreaker, bulkhead, meterRegistry);
+        service.init();
+        return service;
+    }
+
+    private static ContactMessage message(int index) {
+        return ContactMessage.builder()
+                .id((long) index)
+                .senderName("Recruiter " + index)
+                .senderEmail("recruiter" + index + "@example.com")
+                .subject("Hello " + index)
+                .message("Message <b>" + index + "</b>")
+                .build();
+    }
+}
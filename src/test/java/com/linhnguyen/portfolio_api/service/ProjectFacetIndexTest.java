@@ -0,0 +1,110 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.dto.response.ProjectFilterResponseDTO;
+import com.linhnguyen.portfolio_api.dto.response.ProjectResponseDTO;
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.mapper.ProjectMapper;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra facet index: AND / OR giữa các technology, OR trong cùng nhóm, AND giữa các nhóm,
+ * và facet counts tính trên tập kết quả sau khi lọc.
+ */
+class ProjectFacetIndexTest {
+
+    private ProjectFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        ProjectMapper projectMapper = mock(ProjectMapper.class);
+        when(projectRepository.findAllByIsDeletedFalseOrderByDisplayOrderAsc()).thenReturn(List.of(
+                project(1L, "Backend", "completed", "Java", "Spring Boot", "PostgreSQL"),
+                project(2L, "Fullstack", "in-progress", "Java", "React"),
+                project(3L, "Frontend", "completed", "React"),
+                project(4L, "Backend", "completed", "Go")));
+        when(projectMapper.toResponseDTO(any())).thenAnswer(invocation -> {
+            Project project = invocation.getArgument(0);
+            return ProjectResponseDTO.builder()
+                    .id(project.getId())
+                    .technologies(project.getTechnologies())
+                    .category(project.getCategory())
+                    .status(project.getStatus())
+                    .build();
+        });
+        index = new ProjectFacetIndex(projectRepository, projectMapper);
+        index.rebuild();
+    }
+
+    @Test
+    void matchAllRequiresEveryTechnology() {
+        ProjectFilterResponseDTO result = index.filter(List.of("Java", "React"), List.of(), List.of(), true);
+
+        assertThat(ids(result)).containsExactly(2L);
+        assertThat(result.getMatch()).isEqualTo("AND");
+        assertThat(result.getTechnologyCounts()).containsOnly(
+                entry("Java", 1), entry("Spring Boot", 0), entry("PostgreSQL", 0), entry("React", 1), entry("Go", 0));
+        assertThat(result.getCategoryCounts()).containsOnly(
+                entry("Backend", 0), entry("Fullstack", 1), entry("Frontend", 0));
+    }
+
+    @Test
+    void matchAnyAcceptsAnyTechnology() {
+        ProjectFilterResponseDTO result = index.filter(List.of("java", "REACT"), List.of(), List.of(), false);
+
+        assertThat(ids(result)).containsExactly(1L, 2L, 3L);
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getMatch()).isEqualTo("OR");
+        assertThat(result.getTechnologyCounts()).contains(entry("Java", 2), entry("React", 2), entry("Go", 0));
+        assertThat(result.getStatusCounts()).containsOnly(entry("completed", 2), entry("in-progress", 1));
+    }
+
+    @Test
+    void unknownTechnologyEmptiesMatchAllResult() {
+        ProjectFilterResponseDTO result = index.filter(List.of("Java", "Rust"), List.of(), List.of(), true);
+
+        assertThat(result.getProjects()).isEmpty();
+        assertThat(result.getTechnologyCounts().values()).containsOnly(0);
+    }
+
+    @Test
+    void combinesValuesWithinGroupByOrAndGroupsByAnd() {
+        assertThat(ids(index.filter(List.of(), List.of("Backend", "Frontend"), List.of("completed"), false)))
+                .containsExactly(1L, 3L, 4L);
+        assertThat(ids(index.filter(List.of("React"), List.of("Backend", "Frontend"), List.of("completed"), false)))
+                .containsExactly(3L);
+    }
+
+    @Test
+    void noFilterReturnsEveryProjectInDisplayOrderWithTotalCounts() {
+        ProjectFilterResponseDTO result = index.filter(null, null, null, true);
+
+        assertThat(ids(result)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.getCategoryCounts()).containsOnly(
+                entry("Backend", 2), entry("Fullstack", 1), entry("Frontend", 1));
+    }
+
+    private static Project project(Long id, String category, String status, String... technologies) {
+        return Project.builder()
+                .id(id)
+                .title("Project " + id)
+                .category(category)
+                .status(status)
+                .technologies(List.of(technologies))
+                .build();
+    }
+
+    private static List<Long> ids(ProjectFilterResponseDTO result) {
+        return result.getProjects().stream().map(ProjectResponseDTO::getId).toList();
+    }
+}
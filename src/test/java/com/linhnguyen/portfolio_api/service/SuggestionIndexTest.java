@@ -0,0 +1,96 @@
+package com.linhnguyen.portfolio_api.service;
+
+import com.linhnguyen.portfolio_api.dto.response.SuggestionDTO;
+import com.linhnguyen.portfolio_api.entity.Project;
+import com.linhnguyen.portfolio_api.entity.Skill;
+import com.linhnguyen.portfolio_api.repository.ProjectRepository;
+import com.linhnguyen.portfolio_api.repository.SkillRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Kiểm tra index autocomplete: khớp prefix và hậu tố theo từ, khớp gần đúng theo
+ * optimal string alignment (đổi chỗ 2 ký tự tính là 1), ngưỡng sai lệch theo độ dài từ khóa và top-k.
+ */
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        SkillRepository skillRepository = mock(SkillRepository.class);
+        when(projectRepository.findAllByIsDeletedFalseOrderByDisplayOrderAsc()).thenReturn(List.of(
+                Project.builder()
+                        .id(1L)
+                        .title("Portfolio API")
+                        .technologies(List.of("Java", "Spring Boot", "PostgreSQL", "Kubernetes"))
+                        .category("Backend")
+                        .build()));
+        when(skillRepository.findAllByIsDeletedFalse()).thenReturn(List.of(
+                Skill.builder().name("React").build(),
+                Skill.builder().name("Docker").build(),
+                Skill.builder().name("JavaScript").build()));
+        index = new SuggestionIndex(projectRepository, skillRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void matchesPrefixOfPhraseAndOfEachWord() {
+        assertThat(texts("spr")).containsExactly("Spring Boot");
+        assertThat(texts("boot")).containsExactly("Spring Boot");
+        assertThat(texts("api")).containsExactly("Portfolio API");
+    }
+
+    @Test
+    void countsAdjacentTranspositionAsOneEdit() {
+        assertThat(index.suggest("jvaa", 10))
+                .extracting(SuggestionDTO::getText, SuggestionDTO::getDistance)
+                .contains(tuple("Java", 1));
+        assertThat(texts("dcoker")).containsExactly("Docker");
+    }
+
+    @Test
+    void scalesEditBudgetWithQueryLength() {
+        // 1-2 ký tự: chỉ khớp chính xác
+        assertThat(texts("jv")).isEmpty();
+        // 3-5 ký tự: tối đa 1 lỗi
+        assertThat(texts("kubrn")).containsExactly("Kubernetes");
+        assertThat(texts("jvaq")).isEmpty();
+        // Từ 6 ký tự: tối đa 2 lỗi
+        assertThat(index.suggest("kubrnets", 10))
+                .extracting(SuggestionDTO::getText, SuggestionDTO::getDistance)
+                .containsExactly(tuple("Kubernetes", 2));
+        assertThat(texts("kbrnts")).isEmpty();
+    }
+
+    @Test
+    void ranksExactPrefixBeforeFuzzyMatch() {
+        // Project có trọng số cao hơn technology, nhưng chỉ khớp gần đúng
+        assertThat(texts("post")).containsExactly("PostgreSQL", "Portfolio API");
+        assertThat(texts("javas")).containsExactly("JavaScript", "Java");
+    }
+
+    @Test
+    void returnsOnlyTopKByWeight() {
+        assertThat(texts("p")).containsExactly("Portfolio API", "PostgreSQL");
+        assertThat(index.suggest("p", 1)).extracting(SuggestionDTO::getText).containsExactly("Portfolio API");
+    }
+
+    @Test
+    void ignoresCaseAndVietnameseDiacritics() {
+        assertThat(texts("SPRÍNG")).containsExactly("Spring Boot");
+        assertThat(SuggestionIndex.normalize("Đồ án  Tốt-nghiệp")).isEqualTo("do an tot nghiep");
+    }
+
+    private List<String> texts(String query) {
+        return index.suggest(query, 10).stream().map(SuggestionDTO::getText).toList();
+    }
+}
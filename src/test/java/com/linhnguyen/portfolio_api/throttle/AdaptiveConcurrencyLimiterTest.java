@@ -0,0 +1,151 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra limit gradient với chuỗi RTT tổng hợp (không phụ thuộc thời gian thật):
+ * tăng khi RTT ổn định, giảm khi RTT tăng vọt, hồi phục khi RTT trở lại, luôn nằm trong [min, max]
+ * và bỏ qua mẫu khi số request đồng thời chưa tới một nửa limit.
+ * Tham số giống mặc định của nhóm public read (LoadSheddingProperties).
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int MIN_LIMIT = 4;
+    private static final int MAX_LIMIT = 150;
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long INFLATED_RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(20, MIN_LIMIT, MAX_LIMIT, 1.5, 0.2, 10, 600);
+    }
+
+    @Test
+    void initialLimitIsClampedToBounds() {
+        assertThat(new AdaptiveConcurrencyLimiter(500, 4, 150, 1.5, 0.2, 10, 600).getLimit()).isEqualTo(150);
+        assertThat(new AdaptiveConcurrencyLimiter(1, 4, 150, 1.5, 0.2, 10, 600).getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsWhenInFlightReachesLimit() {
+        AdaptiveConcurrencyLimiter small = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5, 0.2, 10, 600);
+
+        assertThat(small.tryAcquire()).isEqualTo(1);
+        assertThat(small.tryAcquire()).isEqualTo(2);
+        assertThat(small.tryAcquire()).isEqualTo(-1);
+        assertThat(small.getInFlight()).isEqualTo(2);
+
+        small.release(0, 2);
+        assertThat(small.tryAcquire()).isEqualTo(2);
+    }
+
+    @Test
+    void firstSampleOnlySeedsRtt() {
+        sampleAtLimit(INFLATED_RTT);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void growsToMaxWhileLatencyIsStable() {
+        List<Integer> limits = sampleAtLimit(BASELINE_RTT, 100);
+
+        assertThat(limits).isSorted();
+        assertThat(limiter.getLimit()).isEqualTo(MAX_LIMIT);
+
+        sampleAtLimit(BASELINE_RTT, 100);
+        assertThat(limiter.getLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    void latencyWithinToleranceDoesNotShrinkLimit() {
+        sampleAtLimit(BASELINE_RTT, 100);
+
+        // 1.4 lần RTT nền, dưới rtt-tolerance 1.5
+        sampleAtLimit(TimeUnit.MILLISECONDS.toNanos(14), 100);
+
+        assertThat(limiter.getLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    void shrinksUnderLatencyInflationButNotBelowMin() {
+        sampleAtLimit(BASELINE_RTT, 100);
+
+        List<Integer> limits = sampleAtLimit(INFLATED_RTT, 20);
+
+        // Gradient bị kẹp ở 0.5 và làm mượt 0.2: mỗi mẫu giảm khoảng 10%, không rơi thẳng xuống min
+        assertThat(limits).isSortedAccordingTo((a, b) -> b - a);
+        assertThat(limits.get(0)).isEqualTo(140);
+        assertThat(limits.get(19)).isEqualTo(31);
+
+        assertThat(sampleAtLimit(INFLATED_RTT, 80)).allMatch(limit -> limit >= MIN_LIMIT);
+        assertThat(limiter.getLimit()).isEqualTo(MIN_LIMIT);
+    }
+
+    @Test
+    void staysWithinBoundsForErraticLatency() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long rttNanos = TimeUnit.MICROSECONDS.toNanos(1_000 + random.nextInt(1_000_000));
+            sampleAtLimit(rttNanos);
+            assertThat(limiter.getLimit()).isBetween(MIN_LIMIT, MAX_LIMIT);
+        }
+    }
+
+    @Test
+    void recoversWhenLatencyReturnsToBaseline() {
+        sampleAtLimit(BASELINE_RTT, 100);
+        sampleAtLimit(INFLATED_RTT, 100);
+        assertThat(limiter.getLimit()).isEqualTo(MIN_LIMIT);
+
+        List<Integer> limits = sampleAtLimit(BASELINE_RTT, 300);
+
+        assertThat(limits).isSorted().allMatch(limit -> limit <= MAX_LIMIT);
+        assertThat(limiter.getLimit()).isEqualTo(MAX_LIMIT);
+    }
+
+    @Test
+    void ignoresSamplesWhileUnderutilized() {
+        sampleAtLimit(BASELINE_RTT);
+
+        // 5 request đồng thời < limit 20 / 2: RTT cao không phải do limit, không giảm
+        for (int i = 0; i < 50; i++) {
+            sample(TimeUnit.MILLISECONDS.toNanos(500), 5);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    private void sampleAtLimit(long rttNanos) {
+        sample(rttNanos, limiter.getLimit());
+    }
+
+    /**
+     * Gửi các mẫu với số request đồng thời bằng limit hiện tại (hệ thống đang chạy hết limit).
+     *
+     * @return Limit sau từng mẫu
+     */
+    private List<Integer> sampleAtLimit(long rttNanos, int samples) {
+        List<Integer> limits = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            sampleAtLimit(rttNanos);
+            limits.add(limiter.getLimit());
+        }
+        return limits;
+    }
+
+    private void sample(long rttNanos, int inFlightAtStart) {
+        assertThat(limiter.tryAcquire()).isPositive();
+        limiter.release(rttNanos, inFlightAtStart);
+    }
+}
@@ -0,0 +1,98 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linhnguyen.portfolio_api.config.LoadSheddingProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra filter load shedding: từ chối bằng 503 + Retry-After + body SERVICE_OVERLOADED khi nhóm route
+ * đã đạt limit, và luôn trả slot sau khi request xử lý xong.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimiterRegistry registry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setPublicRead(new LoadSheddingProperties.Limit(1, 1, 1));
+        registry = new ConcurrencyLimiterRegistry(properties);
+        filter = new ConcurrencyLimitFilter(registry, 7);
+    }
+
+    @Test
+    void rejectsWith503WhenRouteClassIsAtLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = registry.get(RouteClass.PUBLIC_READ);
+        assertThat(limiter.tryAcquire()).isEqualTo(1);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(publicRead(), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.path("status").asInt()).isEqualTo(503);
+        assertThat(body.path("errorCode").asText()).isEqualTo("SERVICE_OVERLOADED");
+        assertThat(body.path("path").asText()).isEqualTo("/api/v1/projects");
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void otherRouteClassesAreNotAffected() throws Exception {
+        registry.get(RouteClass.PUBLIC_READ).tryAcquire();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/contact");
+        request.setServletPath("/v1/contact");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void releasesSlotAfterRequest() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(publicRead(), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(registry.get(RouteClass.PUBLIC_READ).getInFlight()).isZero();
+    }
+
+    @Test
+    void releasesSlotWhenRequestFails() {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException {
+                throw new ServletException("lỗi giả lập");
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(publicRead(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(ServletException.class);
+        assertThat(registry.get(RouteClass.PUBLIC_READ).getInFlight()).isZero();
+    }
+
+    private static MockHttpServletRequest publicRead() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/projects");
+        request.setServletPath("/v1/projects");
+        return request;
+    }
+}
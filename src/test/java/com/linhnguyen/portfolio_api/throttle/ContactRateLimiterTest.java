@@ -0,0 +1,103 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import com.linhnguyen.portfolio_api.config.ContactRateLimitProperties;
+import com.linhnguyen.portfolio_api.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra thứ tự giới hạn của form liên hệ: IP trước, email sau,
+ * và lượt của IP được hoàn lại khi email bị chặn.
+ */
+class ContactRateLimiterTest {
+
+    private static final String IP = "203.0.113.7";
+    private static final String OTHER_IP = "198.51.100.20";
+
+    private ContactRateLimitProperties properties;
+    private ContactRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ContactRateLimitProperties();
+        properties.setEmailMaxRequests(1);
+        properties.setEmailWindow(Duration.ofMinutes(5));
+        properties.setIpMaxRequests(2);
+        properties.setIpWindow(Duration.ofMinutes(15));
+        limiter = new ContactRateLimiter(properties);
+    }
+
+    @Test
+    void rejectedEmailDoesNotUseUpIpSlot() {
+        assertAllowed("a@example.com", IP);
+        assertRejected("a@example.com", IP, "recently sent a message");
+        assertRejected("a@example.com", IP, "recently sent a message");
+
+        // IP vẫn còn lượt thứ hai
+        assertAllowed("b@example.com", IP);
+        assertRejected("c@example.com", IP, "from your network");
+    }
+
+    @Test
+    void ipIsCheckedBeforeEmail() {
+        assertAllowed("a@example.com", IP);
+        assertAllowed("b@example.com", IP);
+        assertRejected("c@example.com", IP, "from your network");
+
+        // Lần bị chặn theo IP không ghi nhận email
+        assertAllowed("c@example.com", OTHER_IP);
+    }
+
+    @Test
+    void emailIsNormalized() {
+        assertAllowed("Recruiter@Example.com", IP);
+
+        assertRejected("  recruiter@example.COM ", OTHER_IP, "recently sent a message");
+    }
+
+    @Test
+    void missingIpOnlyChecksEmail() {
+        assertAllowed("a@example.com", null);
+        assertAllowed("b@example.com", "");
+        assertAllowed("c@example.com", null);
+
+        assertRejected("a@example.com", null, "recently sent a message");
+    }
+
+    @Test
+    void disabledLimiterAllowsEverythingAndIsNeverWarm() {
+        properties.setEnabled(false);
+        limiter = new ContactRateLimiter(properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertAllowed("a@example.com", IP);
+        }
+        assertThat(limiter.isWarm()).isFalse();
+    }
+
+    @Test
+    void isNotWarmBeforeOneEmailWindow() {
+        assertThat(limiter.isWarm()).isFalse();
+
+        properties.setEmailWindow(Duration.ZERO);
+        assertThat(limiter.isWarm()).isTrue();
+    }
+
+    private void assertAllowed(String email, String ip) {
+        assertThatCode(() -> limiter.checkAllowed(email, ip)).doesNotThrowAnyException();
+    }
+
+    private void assertRejected(String email, String ip, String reason) {
+        assertThatThrownBy(() -> limiter.checkAllowed(email, ip))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS))
+                .hasMessageContaining(reason);
+    }
+}
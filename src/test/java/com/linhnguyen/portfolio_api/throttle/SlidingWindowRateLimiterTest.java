@@ -0,0 +1,122 @@
+package com.linhnguyen.portfolio_api.throttle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kiểm tra cửa sổ trượt: ranh giới cửa sổ của ring buffer, thời gian chờ trả về,
+ * hoàn lại lượt và dọn key (hết hạn, vượt số key tối đa). Thời gian do test điều khiển.
+ */
+class SlidingWindowRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private SlidingWindowRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new SlidingWindowRateLimiter(3, WINDOW, 100, now::get);
+    }
+
+    @Test
+    void acceptsUpToMaxRequestsInWindow() {
+        assertThat(acquireAt(0, "a")).isZero();
+        assertThat(acquireAt(10, "a")).isZero();
+        assertThat(acquireAt(20, "a")).isZero();
+
+        // Chờ tới khi request đầu tiên (giây 0) ra khỏi cửa sổ
+        assertThat(acquireAt(30, "a")).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void oldestRequestLeavesWindowExactlyAtWindowLength() {
+        acquireAt(0, "a");
+        acquireAt(10, "a");
+        acquireAt(20, "a");
+
+        now.set(WINDOW.toNanos() - 1);
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+
+        now.set(WINDOW.toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        // Request cũ nhất giờ là giây 10
+        assertThat(limiter.tryAcquire("a")).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void rejectedRequestIsNotRecorded() {
+        acquireAt(0, "a");
+        acquireAt(0, "a");
+        acquireAt(0, "a");
+        for (int second = 1; second < 60; second++) {
+            assertThat(acquireAt(second, "a")).isPositive();
+        }
+
+        assertThat(acquireAt(60, "a")).isZero();
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        acquireAt(0, "a");
+        acquireAt(0, "a");
+        acquireAt(0, "a");
+
+        assertThat(acquireAt(0, "a")).isPositive();
+        assertThat(acquireAt(0, "b")).isZero();
+    }
+
+    @Test
+    void releaseGivesBackOneSlot() {
+        acquireAt(0, "a");
+        acquireAt(10, "a");
+        acquireAt(20, "a");
+
+        limiter.release("a");
+
+        assertThat(acquireAt(30, "a")).isZero();
+        assertThat(acquireAt(30, "a")).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    void releaseOfUnknownKeyIsIgnored() {
+        limiter.release("unknown");
+
+        assertThat(acquireAt(0, "unknown")).isZero();
+    }
+
+    @Test
+    void idleKeyIsEvictedAfterWindow() {
+        acquireAt(0, "a");
+        acquireAt(0, "b");
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+
+        acquireAt(30, "b");
+        now.set(TimeUnit.SECONDS.toNanos(61));
+
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void trackedKeysAreBoundedByMaxTrackedKeys() {
+        SlidingWindowRateLimiter bounded = new SlidingWindowRateLimiter(1, WINDOW, 10, now::get);
+        for (int i = 0; i < 1_000; i++) {
+            bounded.tryAcquire("key-" + i);
+        }
+
+        assertThat(bounded.trackedKeys()).isLessThanOrEqualTo(10);
+    }
+
+    private long acquireAt(long second, String key) {
+        now.set(TimeUnit.SECONDS.toNanos(second));
+        return limiter.tryAcquire(key);
+    }
+}
@@ -0,0 +1,22 @@
+package com.linhnguyen.portfolio_api.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Header do client tự đặt không được làm thay đổi IP dùng cho rate limit / khóa đăng nhập.
+ */
+class ClientIpTest {
+
+    @Test
+    void ignoresClientSuppliedForwardingHeaders() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 203.0.113.7");
+        request.addHeader("X-Real-IP", "198.51.100.2");
+
+        assertThat(ClientIp.resolve(request)).isEqualTo("203.0.113.7");
+    }
+}